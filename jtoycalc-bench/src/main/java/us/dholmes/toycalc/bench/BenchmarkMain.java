@@ -0,0 +1,57 @@
+/**
+ * Copyright (C) 2026 David A Holmes Jr
+ * 
+ * This file is part of JToyCalc.
+ * 
+ * JToyCalc is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * JToyCalc is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with JToyCalc.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package us.dholmes.toycalc.bench;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Entry point for the benchmark jar.  Accepts the usual JMH command-line
+ * options and always enables the GC profiler so that allocation rates are
+ * reported alongside timings.
+ */
+public final class BenchmarkMain {
+
+    /**
+     * Private constructor to prevent instantiation.
+     */
+    private BenchmarkMain() {
+
+    }
+
+    /**
+     * @param args JMH command-line options.
+     * @throws CommandLineOptionException when the options can't be parsed.
+     * @throws RunnerException when a benchmark fails.
+     */
+    public static void main(String[] args)
+            throws CommandLineOptionException, RunnerException {
+
+        Options options = new OptionsBuilder()
+                .parent(new CommandLineOptions(args))
+                .addProfiler(GCProfiler.class)
+                .build();
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,95 @@
+/**
+ * Copyright (C) 2026 David A Holmes Jr
+ * 
+ * This file is part of JToyCalc.
+ * 
+ * JToyCalc is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * JToyCalc is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with JToyCalc.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package us.dholmes.toycalc.bench;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import us.dholmes.toycalc.BigCalculator;
+import us.dholmes.toycalc.Calculator;
+
+/**
+ * Compares the arbitrary-precision {@link BigCalculator} with the plain
+ * {@code long} {@link Calculator}, both on ordinary numbers (where
+ * BigCalculator should stay on its long fast path) and on results that
+ * overflow a long.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class BigCalculatorBenchmark {
+
+    private static final String TYPICAL_TAPE = "12+34*5=";
+    private static final String OVERFLOW_TAPE = "99999999*99999999*99999999=";
+
+    private final Calculator calculator = new Calculator();
+    private final BigCalculator bigCalculator = new BigCalculator();
+
+    /**
+     * @return The calculator, to defeat dead-code elimination.
+     */
+    @Benchmark
+    public Calculator longTypical() {
+
+        calculator.pressAll(TYPICAL_TAPE);
+        return calculator;
+    }
+
+    /**
+     * @return The calculator, to defeat dead-code elimination.
+     */
+    @Benchmark
+    public BigCalculator bigTypical() {
+
+        bigCalculator.pressAll(TYPICAL_TAPE);
+        return bigCalculator;
+    }
+
+    /**
+     * @return The calculator, to defeat dead-code elimination.
+     */
+    @Benchmark
+    public Calculator longOverflow() {
+
+        calculator.pressAll(OVERFLOW_TAPE);
+        return calculator;
+    }
+
+    /**
+     * @return The calculator, to defeat dead-code elimination.
+     */
+    @Benchmark
+    public BigCalculator bigOverflow() {
+
+        bigCalculator.pressAll(OVERFLOW_TAPE);
+        return bigCalculator;
+    }
+}
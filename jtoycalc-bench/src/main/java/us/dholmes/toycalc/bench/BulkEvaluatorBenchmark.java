@@ -0,0 +1,117 @@
+/**
+ * Copyright (C) 2026 David A Holmes Jr
+ * 
+ * This file is part of JToyCalc.
+ * 
+ * JToyCalc is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * JToyCalc is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with JToyCalc.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package us.dholmes.toycalc.bench;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import us.dholmes.toycalc.BulkEvaluator;
+import us.dholmes.toycalc.Calculator.Operation;
+
+/**
+ * Benchmarks for {@link BulkEvaluator}, compared with applying each
+ * operation in a plain scalar loop.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class BulkEvaluatorBenchmark {
+
+    @Param({ "4096", "1048576" })
+    private int length;
+
+    private long[] a;
+    private long[] b;
+    private long[] result;
+    private long[] errors;
+    private Operation[] randomOperations;
+
+    /**
+     * Fills the operand arrays with random numbers and the operation array
+     * with random operations.
+     */
+    @Setup
+    public void setUp() {
+
+        Random random = new Random(1);
+        Operation[] operations = Operation.values();
+        a = new long[length];
+        b = new long[length];
+        randomOperations = new Operation[length];
+        for (int i = 0; i < length; i++) {
+            a[i] = random.nextInt();
+            b[i] = random.nextInt(1000);
+            randomOperations[i] = operations[random.nextInt(operations.length)];
+        }
+        result = new long[length];
+        errors = BulkEvaluator.newErrorBitmap(length);
+    }
+
+    /**
+     * @return The results, to defeat dead-code elimination.
+     */
+    @Benchmark
+    public long[] bulkAdd() {
+
+        BulkEvaluator.evaluate(Operation.Add, a, b, result, errors);
+        return result;
+    }
+
+    /**
+     * @return The results, to defeat dead-code elimination.
+     */
+    @Benchmark
+    public long[] bulkMixed() {
+
+        BulkEvaluator.evaluate(a, b, randomOperations, result, errors);
+        return result;
+    }
+
+    /**
+     * @return The results, to defeat dead-code elimination.
+     */
+    @Benchmark
+    public long[] scalarMixed() {
+
+        for (int i = 0; i < length; i++) {
+            Operation operation = randomOperations[i];
+            if (operation == Operation.Divide && b[i] == 0) {
+                result[i] = a[i];
+            } else {
+                result[i] = operation.apply(a[i], b[i]);
+            }
+        }
+        return result;
+    }
+}
@@ -0,0 +1,179 @@
+/**
+ * Copyright (C) 2026 David A Holmes Jr
+ * 
+ * This file is part of JToyCalc.
+ * 
+ * JToyCalc is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * JToyCalc is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with JToyCalc.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package us.dholmes.toycalc.bench;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import us.dholmes.toycalc.Calculator;
+import us.dholmes.toycalc.Calculator.Operation;
+
+/**
+ * Benchmarks for the {@link Calculator} key-press hot path.  Each benchmark
+ * is run with zero, one and many display listeners registered, of both the
+ * String and numeric kinds, so the cost of display notification can be
+ * separated from the cost of the state machine.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class CalculatorBenchmark {
+
+    private static final String TYPICAL_TAPE = "12+34*5=";
+
+    @Param({ "0", "1", "8" })
+    private int listeners;
+
+    @Param({ "string", "numeric" })
+    private String listenerType;
+
+    private Calculator calculator;
+    private String lastDisplay;
+    private long lastValue;
+    private int nextDigit;
+
+    /**
+     * Creates a calculator with the configured number of display listeners.
+     * The calculator is left displaying the result of "1 + 1 =" so that
+     * repeated equals presses have an operation to repeat.
+     */
+    @Setup
+    public void setUp() {
+
+        calculator = new Calculator();
+        for (int i = 0; i < listeners; i++) {
+            if (listenerType.equals("numeric")) {
+                calculator.addNumericDisplayListener(
+                        (long value, boolean error) -> lastValue = value);
+            } else {
+                calculator.addDisplayListener((String s) -> lastDisplay = s);
+            }
+        }
+        calculator.pressDigit(1);
+        calculator.pressOperation(Operation.Add);
+        calculator.pressDigit(1);
+        calculator.pressEquals();
+    }
+
+    /**
+     * Presses digits continuously.  After the first few presses the input
+     * is full, so this mostly measures the digit-limit check.
+     * 
+     * @return The calculator, to defeat dead-code elimination.
+     */
+    @Benchmark
+    public Calculator pressDigit() {
+
+        calculator.pressDigit(nextDigit);
+        nextDigit = (nextDigit + 1) % 10;
+        return calculator;
+    }
+
+    /**
+     * Presses the same operation button repeatedly.
+     * 
+     * @return The calculator, to defeat dead-code elimination.
+     */
+    @Benchmark
+    public Calculator pressOperation() {
+
+        calculator.pressOperation(Operation.Add);
+        return calculator;
+    }
+
+    /**
+     * Presses the equals button repeatedly, repeating the stored addition.
+     * 
+     * @return The calculator, to defeat dead-code elimination.
+     */
+    @Benchmark
+    public Calculator pressEquals() {
+
+        calculator.pressEquals();
+        return calculator;
+    }
+
+    /**
+     * Formats the current display.
+     * 
+     * @return The display string.
+     */
+    @Benchmark
+    public String getDisplayString() {
+
+        return calculator.getDisplayString();
+    }
+
+    /**
+     * Formats the current display into the calculator's reusable buffer.
+     * 
+     * @return The display buffer.
+     */
+    @Benchmark
+    public CharSequence getDisplayChars() {
+
+        return calculator.getDisplayChars();
+    }
+
+    /**
+     * Presses a short, typical sequence of keys: "12 + 34 * 5 =".
+     * 
+     * @return The calculator, to defeat dead-code elimination.
+     */
+    @Benchmark
+    public Calculator typicalSequence() {
+
+        calculator.pressDigit(1);
+        calculator.pressDigit(2);
+        calculator.pressOperation(Operation.Add);
+        calculator.pressDigit(3);
+        calculator.pressDigit(4);
+        calculator.pressOperation(Operation.Multiply);
+        calculator.pressDigit(5);
+        calculator.pressEquals();
+        return calculator;
+    }
+
+    /**
+     * Presses the same sequence as {@link #typicalSequence()} as a single
+     * key tape, with one display notification at the end.
+     * 
+     * @return The calculator, to defeat dead-code elimination.
+     */
+    @Benchmark
+    public Calculator typicalSequenceTape() {
+
+        calculator.pressAll(TYPICAL_TAPE);
+        return calculator;
+    }
+}
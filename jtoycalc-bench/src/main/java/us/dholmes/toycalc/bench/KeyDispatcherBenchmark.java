@@ -0,0 +1,96 @@
+/**
+ * Copyright (C) 2026 David A Holmes Jr
+ * 
+ * This file is part of JToyCalc.
+ * 
+ * JToyCalc is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * JToyCalc is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with JToyCalc.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package us.dholmes.toycalc.bench;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import us.dholmes.toycalc.Calculator;
+import us.dholmes.toycalc.KeyDispatcher;
+
+/**
+ * Measures the cost of front-end input through {@link KeyDispatcher},
+ * compared with pressing the same keys on the {@link Calculator} directly.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class KeyDispatcherBenchmark {
+
+    private static final String TAPE = "12+34*5=";
+
+    private final Calculator calculator = new Calculator();
+    private final KeyDispatcher dispatcher = new KeyDispatcher(calculator);
+
+    /**
+     * @return The calculator, to defeat dead-code elimination.
+     */
+    @Benchmark
+    public Calculator pressKeys() {
+
+        for (int i = 0; i < TAPE.length(); i++) {
+            calculator.pressKey(TAPE.charAt(i));
+        }
+        return calculator;
+    }
+
+    /**
+     * @return The calculator, to defeat dead-code elimination.
+     */
+    @Benchmark
+    public Calculator dispatchKeys() {
+
+        for (int i = 0; i < TAPE.length(); i++) {
+            dispatcher.dispatch(TAPE.charAt(i));
+        }
+        return calculator;
+    }
+
+    /**
+     * @return The calculator, to defeat dead-code elimination.
+     */
+    @Benchmark
+    public Calculator pressTape() {
+
+        calculator.pressAll(TAPE);
+        return calculator;
+    }
+
+    /**
+     * @return The calculator, to defeat dead-code elimination.
+     */
+    @Benchmark
+    public Calculator dispatchTape() {
+
+        dispatcher.dispatchAll(TAPE);
+        return calculator;
+    }
+}
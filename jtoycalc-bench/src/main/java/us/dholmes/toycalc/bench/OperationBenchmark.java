@@ -0,0 +1,146 @@
+/**
+ * Copyright (C) 2026 David A Holmes Jr
+ * 
+ * This file is part of JToyCalc.
+ * 
+ * JToyCalc is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * JToyCalc is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with JToyCalc.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package us.dholmes.toycalc.bench;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import us.dholmes.toycalc.BinaryOperation;
+import us.dholmes.toycalc.Calculator;
+import us.dholmes.toycalc.Calculator.Operation;
+
+/**
+ * Benchmarks for built-in and custom {@link BinaryOperation}s.  With
+ * {@code custom} set, several different custom operations are pressed
+ * before measurement starts, so the call site that applies them is
+ * megamorphic; the built-in benchmarks should be unaffected.  Like the
+ * front ends, each benchmark presses one or two keys at a time rather than
+ * a whole sequence of constant keys, which the JIT could otherwise fold
+ * into straight-line code.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class OperationBenchmark {
+
+    private static final BinaryOperation[] CUSTOM_OPERATIONS = {
+            (long a, long b) -> (b == 0) ? a : a % b, Math::max, Math::min,
+            (long a, long b) -> a & b, (long a, long b) -> a | b,
+            (long a, long b) -> a ^ b };
+
+    private static final Operation[] BUILT_IN_OPERATIONS = {
+            Operation.Add, Operation.Subtract, Operation.Multiply,
+            Operation.Divide };
+
+    @Param({ "false", "true" })
+    private boolean custom;
+
+    private Calculator calculator;
+    private int nextOperation;
+
+    /**
+     * Creates a calculator, first pressing every custom operation many times
+     * if requested.  The calculator is left displaying the result of
+     * "1 + 1 =" so that repeated equals presses have an operation to repeat.
+     */
+    @Setup
+    public void setUp() {
+
+        calculator = new Calculator();
+        if (custom) {
+            for (int i = 0; i < 100_000; i++) {
+                calculator.pressDigit(i % 9 + 1);
+                calculator.pressOperation(
+                        CUSTOM_OPERATIONS[i % CUSTOM_OPERATIONS.length]);
+            }
+        }
+        calculator.pressDigit(1);
+        calculator.pressOperation(Operation.Add);
+        calculator.pressDigit(1);
+        calculator.pressEquals();
+    }
+
+    /**
+     * Presses a digit and then an operation, cycling through the built-in
+     * operations.
+     * 
+     * @return The calculator, to defeat dead-code elimination.
+     */
+    @Benchmark
+    public Calculator builtInOperation() {
+
+        calculator.pressDigit(7);
+        calculator.pressOperation(BUILT_IN_OPERATIONS[nextOperation]);
+        nextOperation = (nextOperation + 1) % BUILT_IN_OPERATIONS.length;
+        return calculator;
+    }
+
+    /**
+     * Presses the equals button repeatedly, repeating a built-in operation.
+     * 
+     * @return The calculator, to defeat dead-code elimination.
+     */
+    @Benchmark
+    public Calculator builtInEquals() {
+
+        calculator.pressEquals();
+        return calculator;
+    }
+
+    /**
+     * Presses "12 + 34 * 5 =" as a key tape.
+     * 
+     * @return The calculator, to defeat dead-code elimination.
+     */
+    @Benchmark
+    public Calculator builtInTape() {
+
+        calculator.pressAll("12+34*5=");
+        return calculator;
+    }
+
+    /**
+     * Presses a digit and a custom operation, cycling through the custom
+     * operations.
+     * 
+     * @return The calculator, to defeat dead-code elimination.
+     */
+    @Benchmark
+    public Calculator customOperation() {
+
+        calculator.pressDigit(7);
+        calculator.pressOperation(CUSTOM_OPERATIONS[nextOperation]);
+        nextOperation = (nextOperation + 1) % CUSTOM_OPERATIONS.length;
+        return calculator;
+    }
+}
@@ -0,0 +1,162 @@
+/**
+ * Copyright (C) 2026 David A Holmes Jr
+ * 
+ * This file is part of JToyCalc.
+ * 
+ * JToyCalc is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * JToyCalc is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with JToyCalc.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package us.dholmes.toycalc.bench;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import us.dholmes.toycalc.Launcher;
+
+/**
+ * Measures cold start: the time from launching a new JVM running
+ * {@link Launcher} until the front end reports that its first display is
+ * shown, with and without an AppCDS archive.  The GUI modes need a display,
+ * so only headless mode is measured by default.
+ * <p>
+ * Class data sharing only works with a class path of jar files, such as the
+ * benchmark jar.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 20)
+@Fork(1)
+@State(Scope.Benchmark)
+public class StartupBenchmark {
+
+    @Param({ "headless" })
+    private String mode;
+
+    @Param({ "false", "true" })
+    private boolean cds;
+
+    private String java;
+    private String classPath;
+    private Path archive;
+    private Process process;
+
+    /**
+     * Creates the AppCDS archive, if needed.
+     * 
+     * @throws Exception when the archive can't be created.
+     */
+    @Setup(Level.Trial)
+    public void createArchive() throws Exception {
+
+        java = ProcessHandle.current().info().command().orElse("java");
+        classPath = System.getProperty("java.class.path");
+        if (!cds) {
+            return;
+        }
+        archive = Files.createTempFile("jtoycalc", ".jsa");
+        Files.delete(archive);
+        Process dump = new ProcessBuilder(java, "-cp", classPath,
+                Launcher.class.getName(), "--create-cds-archive",
+                archive.toString(), mode)
+                        .redirectOutput(ProcessBuilder.Redirect.DISCARD)
+                        .redirectError(ProcessBuilder.Redirect.INHERIT)
+                        .start();
+        dump.getOutputStream().close();
+        if (dump.waitFor() != 0 || !Files.exists(archive)) {
+            throw new IllegalStateException(
+                    "Could not create the AppCDS archive " + archive);
+        }
+    }
+
+    /**
+     * Deletes the AppCDS archive, if created.
+     * 
+     * @throws IOException when the archive can't be deleted.
+     */
+    @TearDown(Level.Trial)
+    public void deleteArchive() throws IOException {
+
+        if (archive != null) {
+            Files.deleteIfExists(archive);
+        }
+    }
+
+    /**
+     * Stops the launched JVM, outside the measured time.
+     * 
+     * @throws InterruptedException if interrupted while waiting.
+     */
+    @TearDown(Level.Invocation)
+    public void stopProcess() throws InterruptedException {
+
+        if (process != null) {
+            process.destroy();
+            process.waitFor();
+            process = null;
+        }
+    }
+
+    /**
+     * @return The launched process, to defeat dead-code elimination.
+     * @throws IOException when the process can't be started.
+     */
+    @Benchmark
+    public Process launch() throws IOException {
+
+        List<String> command = new ArrayList<>();
+        command.add(java);
+        if (cds) {
+            command.add("-XX:SharedArchiveFile=" + archive);
+        }
+        command.add("-D" + Launcher.STARTUP_PROPERTY + "=report");
+        command.add("-cp");
+        command.add(classPath);
+        command.add(Launcher.class.getName());
+        command.add(mode);
+        process = new ProcessBuilder(command)
+                .redirectOutput(ProcessBuilder.Redirect.DISCARD).start();
+
+        BufferedReader err = new BufferedReader(new InputStreamReader(
+                process.getErrorStream(), StandardCharsets.UTF_8));
+        String line;
+        while ((line = err.readLine()) != null) {
+            if (line.equals(Launcher.STARTUP_MARKER)) {
+                return process;
+            }
+        }
+        throw new IllegalStateException("The front end exited without a "
+                + "display, status " + process.exitValue());
+    }
+}
@@ -0,0 +1,119 @@
+/**
+ * Copyright (C) 2026 David A Holmes Jr
+ * 
+ * This file is part of JToyCalc.
+ * 
+ * JToyCalc is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * JToyCalc is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with JToyCalc.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package us.dholmes.toycalc.bench;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import us.dholmes.toycalc.Calculator;
+import us.dholmes.toycalc.CalculatorState;
+import us.dholmes.toycalc.TapeCache;
+
+/**
+ * Compares replaying template-driven tapes from the initial state with
+ * resuming them from a {@link TapeCache}.  Each tape is one of 16 shared
+ * setup prefixes followed by a short random ending.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class TapeCacheBenchmark {
+
+    private static final String KEYS = "0123456789+-*/=";
+
+    @Param({ "64" })
+    private int prefixLength;
+
+    @Param({ "4" })
+    private int endingLength;
+
+    private final Calculator calculator = new Calculator();
+    private final TapeCache cache = new TapeCache();
+    private String[] tapes;
+    private int next = 0;
+
+    /**
+     * Generates the tapes.
+     */
+    @Setup
+    public void generateTapes() {
+
+        Random random = new Random(1);
+        String[] prefixes = new String[16];
+        for (int i = 0; i < prefixes.length; i++) {
+            prefixes[i] = randomKeys(random, prefixLength);
+        }
+        tapes = new String[1024];
+        for (int i = 0; i < tapes.length; i++) {
+            tapes[i] = prefixes[random.nextInt(prefixes.length)]
+                    + randomKeys(random, endingLength);
+        }
+    }
+
+    /**
+     * @return The calculator, to defeat dead-code elimination.
+     */
+    @Benchmark
+    public Calculator replay() {
+
+        calculator.setState(CalculatorState.INITIAL);
+        calculator.pressAll(nextTape());
+        return calculator;
+    }
+
+    /**
+     * @return The final state, to defeat dead-code elimination.
+     */
+    @Benchmark
+    public CalculatorState cached() {
+
+        return cache.evaluate(nextTape());
+    }
+
+    private String nextTape() {
+
+        String tape = tapes[next];
+        next = (next + 1) & (tapes.length - 1);
+        return tape;
+    }
+
+    private static String randomKeys(Random random, int length) {
+
+        StringBuilder keys = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            keys.append(KEYS.charAt(random.nextInt(KEYS.length())));
+        }
+        return keys.toString();
+    }
+}
@@ -0,0 +1,253 @@
+/**
+ * Copyright (C) 2026 David A Holmes Jr
+ * 
+ * This file is part of JToyCalc.
+ * 
+ * JToyCalc is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * JToyCalc is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with JToyCalc.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package us.dholmes.toycalc;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+import us.dholmes.toycalc.Calculator.Display;
+import us.dholmes.toycalc.Calculator.Operation;
+
+/**
+ * The key handling and state machine shared by the calculators, independent
+ * of how they represent numbers.  This class decides what each key does to
+ * the calculator's state (which register is displayed, the pending and
+ * stored operations, and repeated "equals"), and subclasses supply the
+ * number registers and the arithmetic on them.
+ * <p>
+ * Subclasses are final and call the transitions from their own public
+ * methods, so that once the transitions are inlined into those methods the
+ * calls back into the subclass are bound to its exact type.
+ */
+abstract class AbstractCalculator {
+
+    final List<Consumer<String>> displayListeners = new ArrayList<>();
+
+    BinaryOperation currentOperation = Operation.None;
+    BinaryOperation storedOperation = Operation.None;
+    Display currentDisplay = Display.Input;
+    boolean equalsPressed = false;
+    boolean error = false;
+
+    /**
+     * Returns the currently-displayed number as a String.
+     * 
+     * @return The currently-displayed number as a String.
+     */
+    public abstract String getDisplayString();
+
+    /**
+     * Returns whether the calculator is displaying an error.
+     * 
+     * @return true if the calculator is displaying an error.
+     */
+    public boolean isError() {
+
+        return error;
+    }
+
+    /**
+     * Registers a listener for display update events.  The listeners are
+     * called with the new number to display after key presses.
+     * {@link Calculator} skips key presses that leave its display unchanged.
+     * 
+     * @param listener The listener to add.
+     */
+    public void addDisplayListener(Consumer<String> listener) {
+
+        displayListeners.add(listener);
+    }
+
+    /**
+     * Calls the display listeners with the current display.
+     */
+    final void notifyDisplayListeners() {
+
+        if (!displayListeners.isEmpty()) {
+            String display = getDisplayString();
+            // Indexed loops avoid allocating an iterator per key press.
+            for (int i = 0; i < displayListeners.size(); i++) {
+                displayListeners.get(i).accept(display);
+            }
+        }
+    }
+
+    /**
+     * @throws IllegalArgumentException if the key is not recognized by
+     *             {@link Calculator#isKey(char)}.
+     */
+    static void checkKey(char key) {
+
+        if (!Calculator.isKey(key)) {
+            throw new IllegalArgumentException("Unrecognized key: '" + key
+                    + "'");
+        }
+    }
+
+    /**
+     * Enters a key recognized by {@link Calculator#isKey(char)}.
+     * builtInOnly is a constant true in the key sequence loops, where no
+     * custom operation can be pending, so that the JIT drops the custom
+     * operation path from them entirely; a call there, even one never made,
+     * would keep the calculator's fields out of registers.
+     * 
+     * @param builtInOnly Whether no custom operation can be current or
+     *            stored; see {@link #performOperation(boolean)}.
+     */
+    final void enterKey(char key, boolean builtInOnly) {
+
+        switch (key) {
+        case '+':
+            enterOperation(Operation.Add, builtInOnly);
+            break;
+        case '-':
+            enterOperation(Operation.Subtract, builtInOnly);
+            break;
+        case '*':
+            enterOperation(Operation.Multiply, builtInOnly);
+            break;
+        case '/':
+            enterOperation(Operation.Divide, builtInOnly);
+            break;
+        case '=':
+            enterEquals(builtInOnly);
+            break;
+        default:
+            enterDigit(key - '0');
+            break;
+        }
+    }
+
+    final void enterDigit(int digit) {
+
+        beforeDigit();
+        startInput();
+        appendDigit(digit);
+    }
+
+    final void enterOperation(BinaryOperation operation,
+            boolean builtInOnly) {
+
+        beforeOperation(operation);
+        if (!equalsPressed) {
+            performOperation(builtInOnly);
+            clearInput();
+        }
+
+        currentDisplay = Display.Accumulator;
+        currentOperation = operation;
+        equalsPressed = false;
+    }
+
+    final void enterEquals(boolean builtInOnly) {
+
+        beforeEquals();
+        if (equalsPressed) {
+            recallStoredOperand();
+            currentOperation = storedOperation;
+        }
+        performOperation(builtInOnly);
+        storedOperation = currentOperation;
+        currentOperation = Operation.None;
+        storeOperand();
+        equalsPressed = true;
+        currentDisplay = Display.Accumulator;
+        clearInput();
+    }
+
+    /**
+     * Prepares to enter a number: a new calculation starts after "equals"
+     * or an error, and the input register is displayed.
+     */
+    final void startInput() {
+
+        if (equalsPressed || error) {
+            reset();
+        }
+        currentDisplay = Display.Input;
+    }
+
+    final void reset() {
+
+        clearNumbers();
+        currentOperation = Operation.None;
+        storedOperation = Operation.None;
+        currentDisplay = Display.Input;
+        equalsPressed = false;
+        error = false;
+    }
+
+    /**
+     * Called before a digit is entered.
+     */
+    void beforeDigit() {
+
+    }
+
+    /**
+     * Called before an operation is entered.
+     */
+    void beforeOperation(BinaryOperation operation) {
+
+    }
+
+    /**
+     * Called before "equals" is entered.
+     */
+    void beforeEquals() {
+
+    }
+
+    /**
+     * Appends a digit to the input register.
+     */
+    abstract void appendDigit(int digit);
+
+    /**
+     * Applies the current operation to the accumulator and the input,
+     * leaving the result in the accumulator or setting the error flag.
+     * 
+     * @param builtInOnly Whether the current operation is known to be one of
+     *            the built-in {@link Operation}s.  Key sequence loops pass a
+     *            constant true once no custom operation can be pending, so
+     *            that the JIT can drop the custom operation path from them.
+     */
+    abstract void performOperation(boolean builtInOnly);
+
+    /**
+     * Clears the input register.
+     */
+    abstract void clearInput();
+
+    /**
+     * Copies the stored operand to the input register, to repeat "equals".
+     */
+    abstract void recallStoredOperand();
+
+    /**
+     * Copies the input register to the stored operand.
+     */
+    abstract void storeOperand();
+
+    /**
+     * Clears the accumulator, input and stored operand.
+     */
+    abstract void clearNumbers();
+}
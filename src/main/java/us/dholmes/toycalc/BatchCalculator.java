@@ -0,0 +1,279 @@
+/**
+ * Copyright (C) 2026 David A Holmes Jr
+ * 
+ * This file is part of JToyCalc.
+ * 
+ * JToyCalc is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * JToyCalc is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with JToyCalc.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package us.dholmes.toycalc;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Headless JToyCalc application that evaluates a file of key tapes, one per
+ * line, and writes the final display of each tape to an output file, one per
+ * line and in the same order.  Each tape is run on a fresh
+ * {@link Calculator}; lines containing unrecognized keys produce
+ * "invalid".
+ * <p>
+ * The input file is memory-mapped and split at line boundaries into chunks
+ * that are evaluated in parallel on all cores.  Each chunk's output is
+ * collected in a buffer and written with a single channel write once all
+ * earlier chunks have been written.
+ */
+public final class BatchCalculator {
+
+    /** The nominal size of the chunks the input is split into. */
+    static final long CHUNK_SIZE = 32 * 1024 * 1024;
+
+    private static final byte[] INVALID = { 'i', 'n', 'v', 'a', 'l', 'i',
+            'd' };
+
+    /**
+     * Private constructor to prevent instantiation.
+     */
+    private BatchCalculator() {
+
+    }
+
+    /**
+     * Evaluates every tape in a file.
+     * 
+     * @param inputPath The file of key tapes.
+     * @param outputPath The file to write the displays to.
+     * @param threads The number of threads to evaluate chunks on.
+     * @return The number of lines with unrecognized keys.
+     * @throws IOException when a file can't be read or written.
+     * @throws InterruptedException if interrupted while waiting for a chunk.
+     */
+    public static long run(Path inputPath, Path outputPath, int threads)
+            throws IOException, InterruptedException {
+
+        return run(inputPath, outputPath, threads, CHUNK_SIZE);
+    }
+
+    /**
+     * Evaluates every tape in a file, splitting it into chunks of a given
+     * nominal size.
+     * 
+     * @param inputPath The file of key tapes.
+     * @param outputPath The file to write the displays to.
+     * @param threads The number of threads to evaluate chunks on.
+     * @param chunkSize The nominal size of the chunks, in bytes.
+     * @return The number of lines with unrecognized keys.
+     * @throws IOException when a file can't be read or written.
+     * @throws InterruptedException if interrupted while waiting for a chunk.
+     */
+    static long run(Path inputPath, Path outputPath, int threads,
+            long chunkSize) throws IOException, InterruptedException {
+
+        if (chunkSize < 1) {
+            throw new IllegalArgumentException("Invalid chunk size: "
+                    + chunkSize);
+        }
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try (FileChannel input = FileChannel.open(inputPath,
+                StandardOpenOption.READ);
+                FileChannel output = FileChannel.open(outputPath,
+                        StandardOpenOption.WRITE, StandardOpenOption.CREATE,
+                        StandardOpenOption.TRUNCATE_EXISTING)) {
+
+            // Keep a bounded number of chunks in flight so that finished
+            // output doesn't pile up behind a slow chunk.
+            int window = threads * 2;
+            Deque<Future<Chunk>> pending = new ArrayDeque<>();
+            long invalid = 0;
+            for (long[] bounds : split(input, chunkSize)) {
+                long start = bounds[0];
+                long end = bounds[1];
+                pending.add(executor.submit(() -> evaluate(input, start, end)));
+                if (pending.size() >= window) {
+                    invalid += write(pending.removeFirst(), output);
+                }
+            }
+            while (!pending.isEmpty()) {
+                invalid += write(pending.removeFirst(), output);
+            }
+            return invalid;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Splits the input into chunks of about {@code chunkSize} bytes, each
+     * ending just after a newline (or at the end of the file).
+     */
+    private static List<long[]> split(FileChannel input, long chunkSize)
+            throws IOException {
+
+        long size = input.size();
+        List<long[]> chunks = new ArrayList<>();
+        ByteBuffer probe = ByteBuffer.allocate(4096);
+        long start = 0;
+        while (start < size) {
+            long end = Math.min(start + chunkSize, size);
+            while (end < size) {
+                probe.clear();
+                int n = input.read(probe, end);
+                int newline = -1;
+                for (int i = 0; i < n; i++) {
+                    if (probe.get(i) == '\n') {
+                        newline = i;
+                        break;
+                    }
+                }
+                if (newline >= 0) {
+                    end += newline + 1;
+                    break;
+                }
+                end = Math.min(end + n, size);
+            }
+            chunks.add(new long[] { start, end });
+            start = end;
+        }
+        return chunks;
+    }
+
+    private static Chunk evaluate(FileChannel input, long start, long end)
+            throws IOException {
+
+        MappedByteBuffer mapped = input.map(FileChannel.MapMode.READ_ONLY,
+                start, end - start);
+        Chunk chunk = new Chunk((int) Math.min(end - start, 1 << 20));
+        byte[] line = new byte[256];
+        int lineLength = 0;
+        while (mapped.hasRemaining()) {
+            byte b = mapped.get();
+            if (b == '\n') {
+                chunk.evaluate(line, lineLength);
+                lineLength = 0;
+            } else {
+                if (lineLength == line.length) {
+                    line = Arrays.copyOf(line, line.length * 2);
+                }
+                line[lineLength++] = b;
+            }
+        }
+        if (lineLength > 0) {
+            chunk.evaluate(line, lineLength);
+        }
+        return chunk;
+    }
+
+    private static long write(Future<Chunk> future, FileChannel output)
+            throws IOException, InterruptedException {
+
+        Chunk chunk;
+        try {
+            chunk = future.get();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException) {
+                throw (IOException) e.getCause();
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(chunk.output, 0, chunk.length);
+        while (buffer.hasRemaining()) {
+            output.write(buffer);
+        }
+        return chunk.invalid;
+    }
+
+    /**
+     * The output of one chunk of the input.
+     */
+    private static final class Chunk {
+
+        private byte[] output;
+        private int length = 0;
+        private long invalid = 0;
+
+        Chunk(int capacity) {
+
+            output = new byte[Math.max(capacity, 64)];
+        }
+
+        /**
+         * Runs one tape on a fresh calculator and appends its display.
+         */
+        void evaluate(byte[] line, int lineLength) {
+
+            if (lineLength > 0 && line[lineLength - 1] == '\r') {
+                lineLength--;
+            }
+            ensureCapacity(24);
+
+            Calculator calculator = new Calculator();
+            try {
+                calculator.pressAll(line, 0, lineLength);
+            } catch (IllegalArgumentException e) {
+                System.arraycopy(INVALID, 0, output, length, INVALID.length);
+                length += INVALID.length;
+                output[length++] = '\n';
+                invalid++;
+                return;
+            }
+
+            CharSequence display = calculator.getDisplayChars();
+            for (int i = 0; i < display.length(); i++) {
+                output[length++] = (byte) display.charAt(i);
+            }
+            output[length++] = '\n';
+        }
+
+        private void ensureCapacity(int extra) {
+
+            if (length + extra > output.length) {
+                output = Arrays.copyOf(output, output.length * 2);
+            }
+        }
+    }
+
+    /**
+     * @param args Command-line arguments: the input file and the output file.
+     * @throws Exception when the files can't be processed.
+     */
+    public static void main(String[] args) throws Exception {
+
+        if (args.length != 2) {
+            System.err.println("Usage: BatchCalculator <input> <output>");
+            System.exit(2);
+        }
+
+        long start = System.nanoTime();
+        long invalid = run(Paths.get(args[0]), Paths.get(args[1]),
+                Runtime.getRuntime().availableProcessors());
+        System.out.printf("Done in %.1f s%n",
+                (System.nanoTime() - start) / 1e9);
+        if (invalid > 0) {
+            System.err.println(invalid + " lines had unrecognized keys");
+        }
+    }
+}
@@ -0,0 +1,353 @@
+/**
+ * Copyright (C) 2026 David A Holmes Jr
+ * 
+ * This file is part of JToyCalc.
+ * 
+ * JToyCalc is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * JToyCalc is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with JToyCalc.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package us.dholmes.toycalc;
+
+import java.math.BigInteger;
+
+import us.dholmes.toycalc.Calculator.Display;
+import us.dholmes.toycalc.Calculator.Operation;
+
+/**
+ * A calculator with arbitrary-precision arithmetic and a configurable number
+ * of input digits.  It otherwise behaves like {@link Calculator}, except that
+ * results which would overflow a {@code long} are computed exactly instead of
+ * wrapping.
+ * <p>
+ * Each number is held as a {@code long}, with a {@link BigInteger} alongside
+ * it that is only used once the number no longer fits.  Arithmetic is tried
+ * first with overflow-checked {@code long} operations, and only falls back to
+ * {@code BigInteger} when a result actually overflows, so calculations on
+ * ordinary numbers cost about the same as in {@link Calculator}.  Results are
+ * moved back to the {@code long} path as soon as they fit again.
+ */
+public final class BigCalculator extends AbstractCalculator {
+
+    private final int maxDigits;
+
+    // Each number is a long plus a BigInteger that is non-null only when the
+    // number doesn't fit in the long.
+    private long accumulator = 0;
+    private BigInteger bigAccumulator = null;
+    private long input = 0;
+    private BigInteger bigInput = null;
+    private int inputDigits = 0;
+    private long storedOperand = 0;
+    private BigInteger bigStoredOperand = null;
+
+    /**
+     * Constructor.  Accepts up to {@link Calculator#MAX_DIGITS} input digits,
+     * like {@link Calculator}.
+     */
+    public BigCalculator() {
+
+        this(Calculator.MAX_DIGITS);
+    }
+
+    /**
+     * Constructor.
+     * 
+     * @param maxDigits The maximum number of digits that can be entered.
+     */
+    public BigCalculator(int maxDigits) {
+
+        if (maxDigits < 1) {
+            throw new IllegalArgumentException("Invalid digit limit: "
+                    + maxDigits);
+        }
+        this.maxDigits = maxDigits;
+    }
+
+    /**
+     * Press a digit button on the calculator.
+     * 
+     * @param digit The digit to press.
+     */
+    public void pressDigit(int digit) {
+
+        enterDigit(digit);
+        notifyDisplayListeners();
+    }
+
+    /**
+     * Press an operation button on the calculator (+-/*).
+     * 
+     * @param operation The operation to perform.
+     */
+    public void pressOperation(Operation operation) {
+
+        enterOperation(operation, true);
+        notifyDisplayListeners();
+    }
+
+    /**
+     * Press the "equals" button on the calculator.
+     */
+    public void pressEquals() {
+
+        enterEquals(true);
+        notifyDisplayListeners();
+    }
+
+    /**
+     * Press the button corresponding to a key character.
+     * 
+     * @param key The key to press.
+     * @throws IllegalArgumentException if the key is not recognized.
+     * @see Calculator#pressKey(char)
+     */
+    public void pressKey(char key) {
+
+        checkKey(key);
+        enterKey(key, true);
+        notifyDisplayListeners();
+    }
+
+    /**
+     * Press a sequence of keys, notifying the display listeners once at the
+     * end.
+     * 
+     * @param keys The keys to press.
+     * @throws IllegalArgumentException if any key is not recognized.  In that
+     *             case no keys are pressed.
+     * @see Calculator#pressAll(CharSequence)
+     */
+    public void pressAll(CharSequence keys) {
+
+        int length = keys.length();
+        for (int i = 0; i < length; i++) {
+            checkKey(keys.charAt(i));
+        }
+        if (length == 0) {
+            return;
+        }
+        for (int i = 0; i < length; i++) {
+            enterKey(keys.charAt(i), true);
+        }
+        notifyDisplayListeners();
+    }
+
+    /**
+     * Returns the currently-displayed number as a String.
+     * 
+     * @return The currently-displayed number as a String.
+     */
+    public String getDisplayString() {
+
+        if (error) {
+            return "error";
+        }
+        if (currentDisplay == Display.Input) {
+            return (bigInput != null) ? bigInput.toString()
+                    : Long.toString(input);
+        }
+        return (bigAccumulator != null) ? bigAccumulator.toString()
+                : Long.toString(accumulator);
+    }
+
+    /**
+     * Returns the currently-displayed number.
+     * 
+     * @return The currently-displayed number.  Meaningless if
+     *         {@link #isError()} is true.
+     */
+    public BigInteger getDisplayValue() {
+
+        return (currentDisplay == Display.Input) ? toBig(input, bigInput)
+                : toBig(accumulator, bigAccumulator);
+    }
+
+    /**
+     * Returns the maximum number of digits that can be entered.
+     * 
+     * @return The maximum number of digits that can be entered.
+     */
+    public int getMaxDigits() {
+
+        return maxDigits;
+    }
+
+    /* (non-Javadoc)
+     * @see java.lang.Object#toString()
+     */
+    @Override
+    public String toString() {
+
+        return "BigCalculator [current display: " + getDisplayString() + "]";
+    }
+
+    /**
+     * Returns whether the input register has outgrown its {@code long}.
+     */
+    boolean isInputBig() {
+
+        return bigInput != null;
+    }
+
+    /* (non-Javadoc)
+     * @see us.dholmes.toycalc.AbstractCalculator#appendDigit(int)
+     */
+    @Override
+    void appendDigit(int digit) {
+
+        if (inputDigits == 0) {
+            input = digit;
+            inputDigits = (digit == 0) ? 0 : 1;
+        } else if (inputDigits < maxDigits) {
+            if (bigInput == null && input <= (Long.MAX_VALUE - digit) / 10) {
+                input = input * 10 + digit;
+            } else {
+                bigInput = toBig(input, bigInput).multiply(BigInteger.TEN)
+                        .add(BigInteger.valueOf(digit));
+            }
+            inputDigits++;
+        }
+    }
+
+    /* (non-Javadoc)
+     * @see us.dholmes.toycalc.AbstractCalculator#performOperation(boolean)
+     */
+    @Override
+    void performOperation(boolean builtInOnly) {
+
+        if (bigAccumulator == null && bigInput == null) {
+            // Overflow is detected with bit tests rather than the *Exact
+            // methods, whose exceptions make the slow path far slower.
+            long result;
+            switch ((Operation) currentOperation) {
+            case None:
+                accumulator = input;
+                return;
+            case Add:
+                result = accumulator + input;
+                if (((accumulator ^ result) & (input ^ result)) >= 0) {
+                    accumulator = result;
+                    return;
+                }
+                break;
+            case Subtract:
+                result = accumulator - input;
+                if (((accumulator ^ input) & (accumulator ^ result)) >= 0) {
+                    accumulator = result;
+                    return;
+                }
+                break;
+            case Multiply:
+                result = accumulator * input;
+                if (Math.multiplyHigh(accumulator, input) == (result >> 63)) {
+                    accumulator = result;
+                    return;
+                }
+                break;
+            case Divide:
+                if (input == 0) {
+                    error = true;
+                    return;
+                }
+                if (accumulator != Long.MIN_VALUE || input != -1) {
+                    accumulator /= input;
+                    return;
+                }
+                break;
+            }
+        }
+
+        BigInteger left = toBig(accumulator, bigAccumulator);
+        BigInteger right = toBig(input, bigInput);
+        switch ((Operation) currentOperation) {
+        case None:
+            setAccumulator(right);
+            break;
+        case Add:
+            setAccumulator(left.add(right));
+            break;
+        case Subtract:
+            setAccumulator(left.subtract(right));
+            break;
+        case Multiply:
+            setAccumulator(left.multiply(right));
+            break;
+        case Divide:
+            if (right.signum() == 0) {
+                error = true;
+            } else {
+                setAccumulator(left.divide(right));
+            }
+            break;
+        }
+    }
+
+    private void setAccumulator(BigInteger value) {
+
+        if (value.bitLength() < Long.SIZE) {
+            accumulator = value.longValue();
+            bigAccumulator = null;
+        } else {
+            bigAccumulator = value;
+        }
+    }
+
+    private static BigInteger toBig(long value, BigInteger big) {
+
+        return (big != null) ? big : BigInteger.valueOf(value);
+    }
+
+    /* (non-Javadoc)
+     * @see us.dholmes.toycalc.AbstractCalculator#clearInput()
+     */
+    @Override
+    void clearInput() {
+
+        input = 0;
+        bigInput = null;
+        inputDigits = 0;
+    }
+
+    /* (non-Javadoc)
+     * @see us.dholmes.toycalc.AbstractCalculator#recallStoredOperand()
+     */
+    @Override
+    void recallStoredOperand() {
+
+        input = storedOperand;
+        bigInput = bigStoredOperand;
+    }
+
+    /* (non-Javadoc)
+     * @see us.dholmes.toycalc.AbstractCalculator#storeOperand()
+     */
+    @Override
+    void storeOperand() {
+
+        storedOperand = input;
+        bigStoredOperand = bigInput;
+    }
+
+    /* (non-Javadoc)
+     * @see us.dholmes.toycalc.AbstractCalculator#clearNumbers()
+     */
+    @Override
+    void clearNumbers() {
+
+        accumulator = 0;
+        bigAccumulator = null;
+        clearInput();
+        storedOperand = 0;
+        bigStoredOperand = null;
+    }
+}
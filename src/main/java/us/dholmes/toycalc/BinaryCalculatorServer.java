@@ -0,0 +1,428 @@
+/**
+ * Copyright (C) 2026 David A Holmes Jr
+ * 
+ * This file is part of JToyCalc.
+ * 
+ * JToyCalc is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * JToyCalc is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with JToyCalc.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package us.dholmes.toycalc;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Headless JToyCalc application that serves calculator sessions over a
+ * compact binary protocol, for callers that can't afford to format and
+ * parse HTTP.
+ * <p>
+ * Each request frame is a {@value #REQUEST_HEADER_SIZE}-byte header, an
+ * unsigned 16-bit key count followed by a 64-bit session ID, and then that
+ * many ASCII keys, such as {@code 12+34*5=}.  Each response is
+ * {@value #RESPONSE_SIZE} bytes: the display value as a 64-bit integer and
+ * a flags byte, {@link #FLAG_ERROR} if the calculator displays an error or
+ * {@link #FLAG_REJECTED} if a key wasn't recognized (in which case no keys
+ * are pressed and the value is 0).  All integers are big-endian.
+ * <p>
+ * A session is opened by the first request that names it, and closed once
+ * it has been idle for a while; a request with no keys just reads the
+ * display.  Clients may pipeline requests: many can be sent on a connection
+ * without waiting, and the responses come back in request order.  Sessions
+ * are hosted by a {@link SessionEngine}, so requests for different sessions
+ * run in parallel even on the same connection.
+ * <p>
+ * All connections are served by a single thread with a non-blocking
+ * selector.  The shard threads hand completed requests back to it through a
+ * queue, waking it at most once per batch of completions.
+ */
+public final class BinaryCalculatorServer implements AutoCloseable {
+
+    /** The size of a request header: key count and session ID. */
+    public static final int REQUEST_HEADER_SIZE = 2 + 8;
+    /** The size of a response: display value and flags. */
+    public static final int RESPONSE_SIZE = 8 + 1;
+    /** The largest number of keys in one request. */
+    public static final int MAX_KEYS = 0xffff;
+    /** Response flag set when the calculator displays an error. */
+    public static final int FLAG_ERROR = 1;
+    /** Response flag set when a request's keys weren't recognized. */
+    public static final int FLAG_REJECTED = 2;
+
+    /** Requests in flight per connection before reading is paused. */
+    private static final int MAX_PIPELINED = 1024;
+    private static final int BUFFER_SIZE = 4096;
+    private static final int ACCEPT_BACKLOG = 4096;
+
+    private final SessionEngine engine = new SessionEngine();
+    private final Selector selector;
+    private final ServerSocketChannel serverChannel;
+    private final Queue<Connection> completed = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean wakeupPending = new AtomicBoolean();
+    private final ScheduledExecutorService evictionExecutor;
+    private final Thread thread;
+    private volatile boolean running = true;
+
+    /**
+     * Constructor.  Starts serving immediately.
+     * 
+     * @param port The port to listen on, or 0 for any free port.
+     * @param idleTimeout The time after which idle sessions are closed.
+     * @param unit The unit of the idle timeout.
+     * @throws IOException when the server socket can't be opened.
+     */
+    public BinaryCalculatorServer(int port, long idleTimeout, TimeUnit unit)
+            throws IOException {
+
+        selector = Selector.open();
+        serverChannel = ServerSocketChannel.open();
+        serverChannel.bind(new InetSocketAddress(port), ACCEPT_BACKLOG);
+        serverChannel.configureBlocking(false);
+        serverChannel.register(selector, SelectionKey.OP_ACCEPT);
+
+        evictionExecutor = Executors.newSingleThreadScheduledExecutor(
+                (Runnable r) -> {
+                    Thread thread = new Thread(r, "session-eviction");
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        long period = Math.max(1, unit.toMillis(idleTimeout) / 2);
+        evictionExecutor.scheduleAtFixedRate(
+                () -> engine.evictIdle(idleTimeout, unit), period, period,
+                TimeUnit.MILLISECONDS);
+
+        thread = new Thread(this::run, "binary-calculator-selector");
+        thread.start();
+    }
+
+    /**
+     * Returns the port the server is listening on.
+     * 
+     * @return The port the server is listening on.
+     * @throws IOException when the server socket has been closed.
+     */
+    public int getPort() throws IOException {
+
+        return ((InetSocketAddress) serverChannel.getLocalAddress())
+                .getPort();
+    }
+
+    /**
+     * Stops the server, closing all connections and sessions.  Requests
+     * still in flight are dropped.
+     */
+    @Override
+    public void close() {
+
+        running = false;
+        selector.wakeup();
+        try {
+            thread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        evictionExecutor.shutdownNow();
+        engine.close();
+    }
+
+    private void run() {
+
+        try {
+            while (running) {
+                selector.select();
+                // Clear the flag before draining, so a completion queued
+                // after this point wakes the next select.
+                wakeupPending.set(false);
+                Connection connection;
+                while ((connection = completed.poll()) != null) {
+                    connection.queued.set(false);
+                    connection.flush();
+                }
+
+                Iterator<SelectionKey> keys =
+                        selector.selectedKeys().iterator();
+                while (keys.hasNext()) {
+                    SelectionKey key = keys.next();
+                    keys.remove();
+                    if (!key.isValid()) {
+                        continue;
+                    }
+                    if (key.isAcceptable()) {
+                        accept();
+                        continue;
+                    }
+                    connection = (Connection) key.attachment();
+                    if (key.isReadable()) {
+                        connection.read();
+                    }
+                    if (key.isValid() && key.isWritable()) {
+                        connection.flush();
+                    }
+                }
+            }
+        } catch (IOException e) {
+            // The selector itself failed; nothing more can be served.
+            System.err.println("Binary calculator server stopped: " + e);
+        } finally {
+            for (SelectionKey key : selector.keys()) {
+                closeQuietly(key);
+            }
+            try {
+                selector.close();
+            } catch (IOException e) {
+                // Ignore
+            }
+        }
+    }
+
+    /**
+     * Accepts every pending connection.  A failure affects only the
+     * connection concerned: one that fails to be set up is closed, and a
+     * failure to accept, such as running out of file descriptors, leaves
+     * the rest pending until the next select.
+     */
+    private void accept() {
+
+        while (true) {
+            SocketChannel channel;
+            try {
+                channel = serverChannel.accept();
+            } catch (IOException e) {
+                return;
+            }
+            if (channel == null) {
+                return;
+            }
+            try {
+                channel.configureBlocking(false);
+                channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+                Connection connection = new Connection(channel);
+                connection.key = channel.register(selector,
+                        SelectionKey.OP_READ, connection);
+            } catch (IOException e) {
+                // The client may have reset the connection already.
+                try {
+                    channel.close();
+                } catch (IOException closeFailure) {
+                    // Ignore
+                }
+            }
+        }
+    }
+
+    /**
+     * Called on a shard thread when a request completes.
+     */
+    private void completed(Connection connection) {
+
+        if (connection.queued.compareAndSet(false, true)) {
+            completed.offer(connection);
+            if (wakeupPending.compareAndSet(false, true)) {
+                selector.wakeup();
+            }
+        }
+    }
+
+    private static void closeQuietly(SelectionKey key) {
+
+        key.cancel();
+        try {
+            key.channel().close();
+        } catch (IOException e) {
+            // Ignore
+        }
+    }
+
+    /**
+     * A request's response, filled in on a shard thread.
+     */
+    private static final class Response {
+
+        private long value;
+        private byte flags;
+        /** Written last, so the other fields are visible once it's set. */
+        private volatile boolean done;
+    }
+
+    /**
+     * A client connection.  Everything but {@link #queued} and the
+     * responses' fields is only used on the selector thread.
+     */
+    private final class Connection {
+
+        private final SocketChannel channel;
+        private final ArrayDeque<Response> pending = new ArrayDeque<>();
+        private final AtomicBoolean queued = new AtomicBoolean();
+        private ByteBuffer in = ByteBuffer.allocate(BUFFER_SIZE);
+        private final ByteBuffer out = ByteBuffer.allocate(BUFFER_SIZE);
+        private SelectionKey key;
+
+        Connection(SocketChannel channel) {
+
+            this.channel = channel;
+        }
+
+        void read() {
+
+            try {
+                if (channel.read(in) < 0) {
+                    closeQuietly(key);
+                    return;
+                }
+            } catch (IOException e) {
+                closeQuietly(key);
+                return;
+            }
+            parseRequests();
+            updateInterest();
+        }
+
+        /**
+         * Submits every complete request in the input buffer, until too many
+         * are in flight.
+         */
+        private void parseRequests() {
+
+            in.flip();
+            while (pending.size() < MAX_PIPELINED
+                    && in.remaining() >= REQUEST_HEADER_SIZE) {
+                int position = in.position();
+                int keyCount = in.getShort(position) & 0xffff;
+                int frameSize = REQUEST_HEADER_SIZE + keyCount;
+                if (in.remaining() < frameSize) {
+                    if (frameSize > in.capacity()) {
+                        // Grow to hold the whole frame.
+                        ByteBuffer larger = ByteBuffer.allocate(frameSize);
+                        larger.put(in);
+                        in = larger;
+                        return;
+                    }
+                    break;
+                }
+                long sessionId = in.getLong(position + 2);
+                byte[] keys = new byte[keyCount];
+                in.position(position + REQUEST_HEADER_SIZE);
+                in.get(keys);
+                submit(sessionId, keys);
+            }
+            in.compact();
+        }
+
+        private void submit(long sessionId, byte[] keys) {
+
+            Response response = new Response();
+            pending.add(response);
+            engine.executeOrOpen(sessionId, (Calculator calculator) -> {
+                calculator.pressAll(keys);
+                response.value = calculator.getDisplayValue();
+                response.flags = (byte) (calculator.isError() ? FLAG_ERROR
+                        : 0);
+                return response;
+            }).whenComplete((Response r, Throwable t) -> {
+                if (t != null) {
+                    response.value = 0;
+                    response.flags = FLAG_REJECTED;
+                }
+                response.done = true;
+                completed(this);
+            });
+        }
+
+        /**
+         * Writes the responses that are ready, in request order.
+         */
+        void flush() {
+
+            if (!key.isValid()) {
+                return;
+            }
+            try {
+                while (true) {
+                    Response response;
+                    while (out.remaining() >= RESPONSE_SIZE
+                            && (response = pending.peek()) != null
+                            && response.done) {
+                        pending.poll();
+                        out.putLong(response.value);
+                        out.put(response.flags);
+                    }
+                    if (out.position() == 0) {
+                        break;
+                    }
+                    out.flip();
+                    channel.write(out);
+                    boolean full = out.hasRemaining();
+                    out.compact();
+                    if (full) {
+                        break;
+                    }
+                }
+            } catch (IOException e) {
+                closeQuietly(key);
+                return;
+            }
+            if (in.position() > 0 && pending.size() < MAX_PIPELINED) {
+                // Reading was paused with requests still buffered.
+                parseRequests();
+            }
+            updateInterest();
+        }
+
+        private void updateInterest() {
+
+            if (!key.isValid()) {
+                return;
+            }
+            int ops = 0;
+            if (pending.size() < MAX_PIPELINED) {
+                ops |= SelectionKey.OP_READ;
+            }
+            if (out.position() > 0) {
+                ops |= SelectionKey.OP_WRITE;
+            }
+            if (key.interestOps() != ops) {
+                key.interestOps(ops);
+            }
+        }
+    }
+
+    /**
+     * @param args Command-line arguments: the port to listen on (default
+     *            9090) and the session idle timeout in seconds (default 300).
+     * @throws IOException when the server socket can't be opened.
+     */
+    public static void main(String[] args) throws IOException {
+
+        int port = (args.length > 0) ? Integer.parseInt(args[0]) : 9090;
+        long idleSeconds = (args.length > 1) ? Long.parseLong(args[1]) : 300;
+
+        BinaryCalculatorServer server = new BinaryCalculatorServer(port,
+                idleSeconds, TimeUnit.SECONDS);
+        System.out.println("JToyCalc binary protocol listening on port "
+                + server.getPort());
+        Launcher.displayShown();
+    }
+}
@@ -0,0 +1,225 @@
+/**
+ * Copyright (C) 2026 David A Holmes Jr
+ * 
+ * This file is part of JToyCalc.
+ * 
+ * JToyCalc is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * JToyCalc is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with JToyCalc.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package us.dholmes.toycalc;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Load generator for {@link BinaryCalculatorServer}.  Opens many
+ * connections from a single non-blocking selector thread, gives each its own
+ * session, and keeps a fixed number of requests pipelined on every
+ * connection for a fixed time, recording the latency of every request.
+ * Prints the overall request rate and latency percentiles.
+ */
+public final class BinaryLoadGenerator {
+
+    private final Selector selector;
+    private final long deadline;
+    private long[] latencies = new long[1 << 16];
+    private int count = 0;
+    private int rejected = 0;
+    private int open = 0;
+
+    private BinaryLoadGenerator(Selector selector, long deadline) {
+
+        this.selector = selector;
+        this.deadline = deadline;
+    }
+
+    private void record(long latency) {
+
+        if (count == latencies.length) {
+            latencies = Arrays.copyOf(latencies, count * 2);
+        }
+        latencies[count++] = latency;
+    }
+
+    private void run() throws IOException {
+
+        while (open > 0) {
+            selector.select(100);
+            Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+            while (keys.hasNext()) {
+                SelectionKey key = keys.next();
+                keys.remove();
+                Client client = (Client) key.attachment();
+                if (key.isConnectable()) {
+                    // Stay registered for OP_CONNECT until it completes.
+                    if (client.channel.finishConnect()) {
+                        client.send();
+                    }
+                } else {
+                    if (key.isReadable()) {
+                        client.receive();
+                    }
+                    if (key.isValid() && key.isWritable()) {
+                        client.send();
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * One connection, with its own session, keeping up to a fixed number of
+     * requests in flight.
+     */
+    private final class Client {
+
+        private final SocketChannel channel;
+        private final byte[] request;
+        private final long[] sendTimes;
+        private final ByteBuffer in = ByteBuffer.allocate(4096);
+        private final ByteBuffer out;
+        private SelectionKey key;
+        private int sent = 0;
+        private int received = 0;
+
+        Client(SocketChannel channel, long sessionId, byte[] keys,
+                int depth) {
+
+            this.channel = channel;
+            ByteBuffer frame = ByteBuffer.allocate(
+                    BinaryCalculatorServer.REQUEST_HEADER_SIZE + keys.length);
+            frame.putShort((short) keys.length).putLong(sessionId).put(keys);
+            request = frame.array();
+            sendTimes = new long[depth];
+            out = ByteBuffer.allocate(request.length * depth);
+        }
+
+        /**
+         * Tops up the requests in flight, or closes the connection once the
+         * run is over and every response has arrived.
+         */
+        void send() throws IOException {
+
+            long now = System.nanoTime();
+            if (now >= deadline && sent == received) {
+                key.cancel();
+                channel.close();
+                open--;
+                return;
+            }
+            while (now < deadline && sent - received < sendTimes.length
+                    && out.remaining() >= request.length) {
+                sendTimes[sent % sendTimes.length] = now;
+                out.put(request);
+                sent++;
+            }
+            out.flip();
+            channel.write(out);
+            out.compact();
+            key.interestOps(SelectionKey.OP_READ
+                    | ((out.position() > 0) ? SelectionKey.OP_WRITE : 0));
+        }
+
+        void receive() throws IOException {
+
+            if (channel.read(in) < 0) {
+                throw new IOException("Server closed the connection");
+            }
+            in.flip();
+            long now = System.nanoTime();
+            while (in.remaining() >= BinaryCalculatorServer.RESPONSE_SIZE) {
+                in.getLong();
+                if ((in.get() & BinaryCalculatorServer.FLAG_REJECTED) != 0) {
+                    rejected++;
+                }
+                record(now - sendTimes[received % sendTimes.length]);
+                received++;
+            }
+            in.compact();
+            send();
+        }
+    }
+
+    private static double millis(long nanos) {
+
+        return nanos / 1_000_000.0;
+    }
+
+    /**
+     * @param args Command-line arguments: the server host (default
+     *            localhost), port (default 9090), the number of connections
+     *            (default 1000), the number of requests pipelined on each
+     *            (default 16), the run time in seconds (default 10) and the
+     *            key tape to send (default "12+34*5=").
+     * @throws Exception when a connection fails.
+     */
+    public static void main(String[] args) throws Exception {
+
+        String host = (args.length > 0) ? args[0] : "localhost";
+        int port = (args.length > 1) ? Integer.parseInt(args[1]) : 9090;
+        int connections = (args.length > 2) ? Integer.parseInt(args[2])
+                : 1000;
+        int depth = (args.length > 3) ? Integer.parseInt(args[3]) : 16;
+        long seconds = (args.length > 4) ? Long.parseLong(args[4]) : 10;
+        byte[] keys = ((args.length > 5) ? args[5] : "12+34*5=")
+                .getBytes(StandardCharsets.US_ASCII);
+
+        InetSocketAddress address = new InetSocketAddress(host, port);
+        long start = System.nanoTime();
+        BinaryLoadGenerator generator = new BinaryLoadGenerator(
+                Selector.open(), start + TimeUnit.SECONDS.toNanos(seconds));
+        for (int i = 0; i < connections; i++) {
+            SocketChannel channel = SocketChannel.open();
+            channel.configureBlocking(false);
+            channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+            Client client = generator.new Client(channel, i + 1, keys, depth);
+            if (channel.connect(address)) {
+                client.key = channel.register(generator.selector,
+                        SelectionKey.OP_READ, client);
+                client.send();
+            } else {
+                client.key = channel.register(generator.selector,
+                        SelectionKey.OP_CONNECT, client);
+            }
+            generator.open++;
+        }
+        generator.run();
+        long elapsed = System.nanoTime() - start;
+
+        int total = generator.count;
+        long[] all = Arrays.copyOf(generator.latencies, total);
+        Arrays.sort(all);
+
+        System.out.printf("%d requests on %d connections (%d pipelined)"
+                + " in %.1f s%n", total, connections, depth, elapsed / 1e9);
+        if (generator.rejected > 0) {
+            System.out.printf("%d requests rejected%n", generator.rejected);
+        }
+        if (total > 0) {
+            System.out.printf("%.0f requests/s%n", total / (elapsed / 1e9));
+            System.out.printf("latency p50 %.3f ms, p99 %.3f ms, max %.3f ms%n",
+                    millis(all[(int) (total * 0.50)]),
+                    millis(all[(int) (total * 0.99)]),
+                    millis(all[total - 1]));
+        }
+    }
+}
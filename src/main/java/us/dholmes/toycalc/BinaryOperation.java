@@ -0,0 +1,46 @@
+/**
+ * Copyright (C) 2026 David A Holmes Jr
+ * 
+ * This file is part of JToyCalc.
+ * 
+ * JToyCalc is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * JToyCalc is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with JToyCalc.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package us.dholmes.toycalc;
+
+/**
+ * A binary operation that a {@link Calculator} can perform, such as modulo,
+ * power or a bitwise operation.  The built-in operations are the constants
+ * of {@link Calculator.Operation}; other implementations can be pressed with
+ * {@link Calculator#pressOperation(BinaryOperation)} and behave just like
+ * the built-in ones, including when "equals" is pressed repeatedly.
+ * <p>
+ * The calculator recognizes the built-in operations and performs them
+ * inline, so registering other operations doesn't slow them down.
+ * Implementations should be stateless, since a
+ * {@link CalculatorState} may apply them from any thread.
+ */
+@FunctionalInterface
+public interface BinaryOperation {
+
+    /**
+     * Applies the operation.
+     * 
+     * @param accumulator The left operand.
+     * @param input The right operand.
+     * @return The result.
+     * @throws ArithmeticException when the operation is undefined for the
+     *             operands, which the calculator displays as an error.
+     */
+    long apply(long accumulator, long input);
+}
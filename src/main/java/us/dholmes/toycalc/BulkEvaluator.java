@@ -0,0 +1,348 @@
+/**
+ * Copyright (C) 2026 David A Holmes Jr
+ * 
+ * This file is part of JToyCalc.
+ * 
+ * JToyCalc is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * JToyCalc is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with JToyCalc.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package us.dholmes.toycalc;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+import us.dholmes.toycalc.Calculator.Operation;
+
+/**
+ * Applies calculator operations to large arrays of operand pairs.  Each
+ * pair {@code (a[i], b[i])} is combined as if {@code a[i]} were in the
+ * calculator's accumulator and {@code b[i]} had just been entered, so results
+ * match {@link Calculator} exactly: arithmetic wraps on overflow,
+ * {@link Operation#None} yields {@code b[i]}, and dividing by zero sets the
+ * pair's bit in an error bitmap and leaves {@code a[i]} as the result.
+ * <p>
+ * The work is done in tight loops over primitive arrays, one operation at a
+ * time, so that the JIT can unroll and vectorize them.  Large inputs are
+ * split across the common fork-join pool.
+ */
+public final class BulkEvaluator {
+
+    /** Inputs at least this long are split across the fork-join pool. */
+    public static final int PARALLEL_THRESHOLD = 1 << 16;
+
+    /** Mixed-operation inputs are grouped by operation in blocks this long. */
+    private static final int BLOCK_SIZE = 1024;
+
+    private static final Operation[] OPERATIONS = Operation.values();
+
+    /**
+     * Private constructor to prevent instantiation.
+     */
+    private BulkEvaluator() {
+
+    }
+
+    /**
+     * Creates an error bitmap large enough for the given number of pairs.
+     * 
+     * @param length The number of pairs.
+     * @return The new bitmap.
+     */
+    public static long[] newErrorBitmap(int length) {
+
+        return new long[(length + 63) >>> 6];
+    }
+
+    /**
+     * Returns whether a pair's bit is set in an error bitmap.
+     * 
+     * @param errors The error bitmap.
+     * @param index The index of the pair.
+     * @return true if the pair divided by zero.
+     */
+    public static boolean isError(long[] errors, int index) {
+
+        return (errors[index >>> 6] & (1L << index)) != 0;
+    }
+
+    /**
+     * Applies the same operation to every pair.
+     * 
+     * @param operation The operation to apply.
+     * @param a The accumulator operands.
+     * @param b The input operands.
+     * @param result The array to store the results in.  May be {@code a} or
+     *            {@code b}.
+     * @param errors The error bitmap, from {@link #newErrorBitmap(int)}.  Bits
+     *            are set for pairs that divide by zero and cleared for the
+     *            others.
+     */
+    public static void evaluate(Operation operation, long[] a, long[] b,
+            long[] result, long[] errors) {
+
+        checkLengths(a, b, result, errors);
+        if (operation == null) {
+            throw new NullPointerException("operation");
+        }
+        run(new Task(operation, null, a, b, result, errors, 0, a.length));
+    }
+
+    /**
+     * Applies a separate operation to each pair.
+     * 
+     * @param a The accumulator operands.
+     * @param b The input operands.
+     * @param operations The operation for each pair.
+     * @param result The array to store the results in.  May be {@code a} or
+     *            {@code b}.
+     * @param errors The error bitmap, from {@link #newErrorBitmap(int)}.  Bits
+     *            are set for pairs that divide by zero and cleared for the
+     *            others.
+     */
+    public static void evaluate(long[] a, long[] b, Operation[] operations,
+            long[] result, long[] errors) {
+
+        checkLengths(a, b, result, errors);
+        if (operations.length != a.length) {
+            throw new IllegalArgumentException("Expected " + a.length
+                    + " operations but got " + operations.length);
+        }
+        run(new Task(null, operations, a, b, result, errors, 0, a.length));
+    }
+
+    private static void checkLengths(long[] a, long[] b, long[] result,
+            long[] errors) {
+
+        if (b.length != a.length || result.length != a.length) {
+            throw new IllegalArgumentException("Array lengths differ: "
+                    + a.length + ", " + b.length + ", " + result.length);
+        }
+        if (errors.length < (a.length + 63) >>> 6) {
+            throw new IllegalArgumentException("Error bitmap too small for "
+                    + a.length + " pairs");
+        }
+    }
+
+    private static void run(Task task) {
+
+        if (task.to - task.from >= PARALLEL_THRESHOLD) {
+            ForkJoinPool.commonPool().invoke(task);
+        } else {
+            task.compute();
+        }
+    }
+
+    /**
+     * Evaluates the pairs in {@code [from, to)} with mixed operations.  The
+     * range is split into blocks; a block with a single operation is handed
+     * straight to {@link #applyRange}, otherwise its indices are sorted by
+     * operation and each group is processed in its own loop.
+     */
+    private static void evaluateMixed(long[] a, long[] b,
+            Operation[] operations, long[] result, long[] errors, int from,
+            int to) {
+
+        int[] counts = new int[OPERATIONS.length];
+        int[] starts = new int[OPERATIONS.length];
+        int[] indices = new int[Math.min(BLOCK_SIZE, to - from)];
+
+        for (int blockStart = from; blockStart < to; blockStart += BLOCK_SIZE) {
+            int blockEnd = Math.min(blockStart + BLOCK_SIZE, to);
+
+            Arrays.fill(counts, 0);
+            for (int i = blockStart; i < blockEnd; i++) {
+                counts[operations[i].ordinal()]++;
+            }
+
+            Operation single = null;
+            for (int op = 0; op < counts.length; op++) {
+                if (counts[op] == blockEnd - blockStart) {
+                    single = OPERATIONS[op];
+                }
+            }
+            if (single != null) {
+                applyRange(single, a, b, result, errors, blockStart, blockEnd);
+                continue;
+            }
+
+            // Counting sort of the block's indices by operation.
+            int offset = 0;
+            for (int op = 0; op < counts.length; op++) {
+                starts[op] = offset;
+                offset += counts[op];
+            }
+            for (int i = blockStart; i < blockEnd; i++) {
+                indices[starts[operations[i].ordinal()]++] = i;
+            }
+
+            clearErrors(errors, blockStart, blockEnd);
+            int groupStart = 0;
+            for (int op = 0; op < counts.length; op++) {
+                int groupEnd = groupStart + counts[op];
+                applyIndexed(OPERATIONS[op], a, b, result, errors, indices,
+                        groupStart, groupEnd);
+                groupStart = groupEnd;
+            }
+        }
+    }
+
+    /**
+     * Applies one operation to the contiguous pairs in {@code [from, to)}.
+     * {@code from} must be a multiple of 64 so that the range owns its error
+     * bitmap words.
+     */
+    private static void applyRange(Operation operation, long[] a, long[] b,
+            long[] result, long[] errors, int from, int to) {
+
+        clearErrors(errors, from, to);
+        switch (operation) {
+        case None:
+            System.arraycopy(b, from, result, from, to - from);
+            break;
+        case Add:
+            for (int i = from; i < to; i++) {
+                result[i] = a[i] + b[i];
+            }
+            break;
+        case Subtract:
+            for (int i = from; i < to; i++) {
+                result[i] = a[i] - b[i];
+            }
+            break;
+        case Multiply:
+            for (int i = from; i < to; i++) {
+                result[i] = a[i] * b[i];
+            }
+            break;
+        case Divide:
+            for (int i = from; i < to; i++) {
+                long divisor = b[i];
+                if (divisor == 0) {
+                    result[i] = a[i];
+                    errors[i >>> 6] |= 1L << i;
+                } else {
+                    result[i] = a[i] / divisor;
+                }
+            }
+            break;
+        }
+    }
+
+    /**
+     * Applies one operation to the pairs whose indices are listed in
+     * {@code indices[from, to)}.  The error bits must already be cleared.
+     */
+    private static void applyIndexed(Operation operation, long[] a, long[] b,
+            long[] result, long[] errors, int[] indices, int from, int to) {
+
+        switch (operation) {
+        case None:
+            for (int j = from; j < to; j++) {
+                int i = indices[j];
+                result[i] = b[i];
+            }
+            break;
+        case Add:
+            for (int j = from; j < to; j++) {
+                int i = indices[j];
+                result[i] = a[i] + b[i];
+            }
+            break;
+        case Subtract:
+            for (int j = from; j < to; j++) {
+                int i = indices[j];
+                result[i] = a[i] - b[i];
+            }
+            break;
+        case Multiply:
+            for (int j = from; j < to; j++) {
+                int i = indices[j];
+                result[i] = a[i] * b[i];
+            }
+            break;
+        case Divide:
+            for (int j = from; j < to; j++) {
+                int i = indices[j];
+                long divisor = b[i];
+                if (divisor == 0) {
+                    result[i] = a[i];
+                    errors[i >>> 6] |= 1L << i;
+                } else {
+                    result[i] = a[i] / divisor;
+                }
+            }
+            break;
+        }
+    }
+
+    private static void clearErrors(long[] errors, int from, int to) {
+
+        for (int word = from >>> 6; word <= (to - 1) >>> 6; word++) {
+            errors[word] = 0;
+        }
+    }
+
+    /**
+     * Evaluates a range of pairs, splitting it in half until it is small
+     * enough to process directly.  Split points are multiples of
+     * {@link #BLOCK_SIZE}, so no two tasks share an error bitmap word.
+     */
+    private static final class Task extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+
+        private final Operation operation;
+        private final Operation[] operations;
+        private final long[] a;
+        private final long[] b;
+        private final long[] result;
+        private final long[] errors;
+        private final int from;
+        private final int to;
+
+        Task(Operation operation, Operation[] operations, long[] a, long[] b,
+                long[] result, long[] errors, int from, int to) {
+
+            this.operation = operation;
+            this.operations = operations;
+            this.a = a;
+            this.b = b;
+            this.result = result;
+            this.errors = errors;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+
+            if (to - from >= PARALLEL_THRESHOLD) {
+                int middle = from + ((to - from) / 2 / BLOCK_SIZE) * BLOCK_SIZE;
+                invokeAll(split(from, middle), split(middle, to));
+            } else if (to > from) {
+                if (operation != null) {
+                    applyRange(operation, a, b, result, errors, from, to);
+                } else {
+                    evaluateMixed(a, b, operations, result, errors, from, to);
+                }
+            }
+        }
+
+        private Task split(int newFrom, int newTo) {
+
+            return new Task(operation, operations, a, b, result, errors,
+                    newFrom, newTo);
+        }
+    }
+}
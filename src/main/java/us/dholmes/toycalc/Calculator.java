@@ -20,32 +20,93 @@ package us.dholmes.toycalc;
 
 import java.util.ArrayList;
 import java.util.List;
-import java.util.function.Consumer;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 
 /**
  * A simple calculator.  The public interface and behavior of this class are
  * modeled after a classic pocket calculator.
  */
-public final class Calculator {
+public final class Calculator extends AbstractCalculator {
 
     static final int MAX_DIGITS = 8;
+
+    private static final Operation[] OPERATIONS = Operation.values();
+    private static final byte CUSTOM_OPERATION = -1;
+
+    /** Inputs below this value have room for another digit. */
+    static final long INPUT_SHIFT_LIMIT = powerOfTen(MAX_DIGITS - 1);
     
-    private final List<Consumer<String>> displayListeners = new ArrayList<>();
+    private final List<NumericDisplayListener> numericDisplayListeners =
+            new ArrayList<>();
+    private final DisplayBuffer displayBuffer = new DisplayBuffer();
+    private final CalculatorMetrics metrics;
 
     private long accumulator = 0;
     private long input = 0;
     private long storedOperand = 0;
-    private Operation currentOperation = Operation.None;
-    private Operation storedOperation = Operation.None;
-    private Display currentDisplay = Display.Input;
-    private boolean equalsPressed = false;
-    private boolean error = false;
+
+    private long publishedValue = 0;
+    private boolean publishedError = false;
+    private boolean displayPending = false;
+    private long notificationIntervalNanos = 0;
+    private long lastNotificationNanos = 0;
+    private Executor notificationExecutor;
+    private boolean flushScheduled = false;
+    private int batchDepth = 0;
+
+    // Undo history: a ring of saved states with one slot more than the
+    // history depth, stored as parallel primitive arrays.  Operations other
+    // than the built-in ones are saved as CUSTOM_OPERATION, with the
+    // operations themselves in a separate array (current, then stored, for
+    // each slot) allocated the first time one is saved.
+    private int historySlots = 0;
+    private long[] historyAccumulator;
+    private long[] historyInput;
+    private long[] historyStoredOperand;
+    private byte[] historyCurrentOperation;
+    private byte[] historyStoredOperation;
+    private byte[] historyFlags;
+    private BinaryOperation[] historyCustomOperations;
+    private int historyCursor = 0;
+    private int undoCount = 0;
+    private int redoCount = 0;
 
     /**
      * The operations the calculator can perform.
      */
-    public enum Operation {
+    public enum Operation implements BinaryOperation {
         None, Add, Subtract, Multiply, Divide;
+
+        /**
+         * Applies this operation the same way the calculator does, with
+         * {@code long} arithmetic that wraps on overflow.  {@code None}
+         * returns the input unchanged.
+         * 
+         * @param accumulator The left operand.
+         * @param input The right operand.
+         * @return The result.
+         * @throws ArithmeticException when dividing by zero, which the
+         *             calculator displays as an error.
+         */
+        @Override
+        public long apply(long accumulator, long input) {
+
+            switch (this) {
+            case Add:
+                return accumulator + input;
+            case Subtract:
+                return accumulator - input;
+            case Multiply:
+                return accumulator * input;
+            case Divide:
+                return accumulator / input;
+            default:
+                return input;
+            }
+        }
     }
 
     /**
@@ -53,7 +114,7 @@ public final class Calculator {
      * accumulator field.  Only one of these numbers is displayed on the screen
      * at any given time.
      */
-    private enum Display {
+    enum Display {
         Input, Accumulator;
     }
 
@@ -61,8 +122,21 @@ public final class Calculator {
      * Constructor.
      */
     public Calculator() {
-        
+
+        this(null);
     }
+
+    /**
+     * Constructor for an instrumented calculator.
+     * 
+     * @param metrics The metrics to record key presses, operations and
+     *            latencies into, or null for an uninstrumented calculator.
+     */
+    public Calculator(CalculatorMetrics metrics) {
+
+        this.metrics = metrics;
+    }
+
     /**
      * Press a digit button on the calculator.
      * 
@@ -70,21 +144,12 @@ public final class Calculator {
      */
     public void pressDigit(int digit) {
 
-        if (equalsPressed || error) {
-            reset();
-        }
-        
-        if (currentDisplay == Display.Accumulator) {
-            currentDisplay = Display.Input;
-        }
-
-        if (input == 0) {
-            input = digit;
-        } else if (input < (Math.pow(10, MAX_DIGITS - 1))) {
-            input = input * 10 + digit;
-        }
-
+        long start = (metrics != null) ? System.nanoTime() : 0;
+        enterDigit(digit);
         updateDisplay();
+        if (metrics != null) {
+            metrics.recordKeyPresses(1, start);
+        }
     }
 
     /**
@@ -94,16 +159,23 @@ public final class Calculator {
      */
     public void pressOperation(Operation operation) {
 
-        if (!equalsPressed) {
-            performOperation();
-            input = 0;
-        }
+        pressOperation((BinaryOperation) operation);
+    }
 
-        currentDisplay = Display.Accumulator;
-        currentOperation = operation;
-        equalsPressed = false;
+    /**
+     * Press an operation button on the calculator (+-/*), or a button for a
+     * custom {@link BinaryOperation}.
+     * 
+     * @param operation The operation to perform.
+     */
+    public void pressOperation(BinaryOperation operation) {
 
+        long start = (metrics != null) ? System.nanoTime() : 0;
+        enterOperation(operation, false);
         updateDisplay();
+        if (metrics != null) {
+            metrics.recordKeyPresses(1, start);
+        }
     }
 
     /**
@@ -111,18 +183,136 @@ public final class Calculator {
      */
     public void pressEquals() {
 
-        if (equalsPressed) {
-            input = storedOperand;
-            currentOperation = storedOperation;
+        long start = (metrics != null) ? System.nanoTime() : 0;
+        enterEquals(false);
+        updateDisplay();
+        if (metrics != null) {
+            metrics.recordKeyPresses(1, start);
         }
-        performOperation();
-        storedOperation = currentOperation;
-        currentOperation = Operation.None;
-        storedOperand = input;
-        equalsPressed = true;
-        currentDisplay = Display.Accumulator;
-        input = 0;
+    }
+
+    /**
+     * Press the button corresponding to a key character.  The recognized keys
+     * are the digits 0-9, the operations '+', '-', '*' and '/', and '='.
+     * 
+     * @param key The key to press.
+     * @throws IllegalArgumentException if the key is not recognized.
+     */
+    public void pressKey(char key) {
+
+        checkKey(key);
+        long start = (metrics != null) ? System.nanoTime() : 0;
+        enterKey(key, false);
         updateDisplay();
+        if (metrics != null) {
+            metrics.recordKeyPresses(1, start);
+        }
+    }
+
+    /**
+     * Press a sequence of keys, such as "12+34*5==".  The keys are processed
+     * exactly as if they had been pressed one at a time with
+     * {@link #pressKey(char)}, but the display listeners are only notified
+     * once, after the last key.
+     * 
+     * @param keys The keys to press.
+     * @throws IllegalArgumentException if any key is not recognized.  In that
+     *             case no keys are pressed.
+     */
+    public void pressAll(CharSequence keys) {
+
+        int length = keys.length();
+        for (int i = 0; i < length; i++) {
+            checkKey(keys.charAt(i));
+        }
+        if (length == 0) {
+            return;
+        }
+        long start = (metrics != null) ? System.nanoTime() : 0;
+        int i = 0;
+        while (i < length && hasCustomOperation()) {
+            enterKey(keys.charAt(i++), false);
+        }
+        for (; i < length; i++) {
+            enterKey(keys.charAt(i), true);
+        }
+        updateDisplay();
+        if (metrics != null) {
+            metrics.recordKeyPresses(length, start);
+        }
+    }
+
+    /**
+     * Press a sequence of keys given as ASCII bytes.
+     * 
+     * @param keys The keys to press.
+     * @throws IllegalArgumentException if any key is not recognized.  In that
+     *             case no keys are pressed.
+     * @see #pressAll(CharSequence)
+     */
+    public void pressAll(byte[] keys) {
+
+        pressAll(keys, 0, keys.length);
+    }
+
+    /**
+     * Press a sequence of keys given as a range of ASCII bytes.
+     * 
+     * @param keys The array containing the keys to press.
+     * @param offset The index of the first key to press.
+     * @param length The number of keys to press.
+     * @throws IllegalArgumentException if any key is not recognized.  In that
+     *             case no keys are pressed.
+     * @throws IndexOutOfBoundsException if the range is outside the array.
+     * @see #pressAll(CharSequence)
+     */
+    public void pressAll(byte[] keys, int offset, int length) {
+
+        if (offset < 0 || length < 0 || offset > keys.length - length) {
+            throw new IndexOutOfBoundsException(
+                    "offset " + offset + ", length " + length
+                            + ", array length " + keys.length);
+        }
+        int end = offset + length;
+        for (int i = offset; i < end; i++) {
+            checkKey((char) (keys[i] & 0xff));
+        }
+        if (length == 0) {
+            return;
+        }
+        long start = (metrics != null) ? System.nanoTime() : 0;
+        int i = offset;
+        while (i < end && hasCustomOperation()) {
+            enterKey((char) (keys[i++] & 0xff), false);
+        }
+        for (; i < end; i++) {
+            enterKey((char) (keys[i] & 0xff), true);
+        }
+        updateDisplay();
+        if (metrics != null) {
+            metrics.recordKeyPresses(length, start);
+        }
+    }
+
+    /**
+     * Returns whether a character is a key recognized by
+     * {@link #pressKey(char)}.
+     * 
+     * @param key The character to check.
+     * @return true if the character is a recognized key.
+     */
+    public static boolean isKey(char key) {
+
+        switch (key) {
+        case '+':
+        case '-':
+        case '*':
+        case '/':
+        case '=':
+            return true;
+        default:
+            return key >= '0' && key <= '9';
+        }
     }
 
     /**
@@ -135,21 +325,242 @@ public final class Calculator {
         if (error) {
             return "error";
         }
-        return "" + getDisplayValue();
+        return Long.toString(getDisplayValue());
     }
 
     /**
-     * Registers a listener for display update events. Every time the calculator
-     * display is updated, the listeners will be called with the new number to
-     * display.
+     * Returns the currently-displayed number as a reusable character
+     * sequence.  No String is allocated; the returned buffer is owned by the
+     * calculator and is overwritten by the next call to this method.
+     * 
+     * @return The currently-displayed number as a character sequence.
+     */
+    public CharSequence getDisplayChars() {
+
+        displayBuffer.set(getDisplayValue(), error);
+        return displayBuffer;
+    }
+
+    /**
+     * Returns the currently-displayed number.
+     * 
+     * @return The currently-displayed number.  Meaningless if
+     *         {@link #isError()} is true.
+     */
+    public long getDisplayValue() {
+
+        return (currentDisplay == Display.Input) ? input : accumulator;
+    }
+
+    /**
+     * Registers a listener for display update events that receives the
+     * displayed number as a primitive value.  Notifying these listeners does
+     * not allocate.
      * 
      * @param listener The listener to add.
      */
-    public void addDisplayListener(Consumer<String> listener) {
+    public void addNumericDisplayListener(NumericDisplayListener listener) {
+
+        numericDisplayListeners.add(listener);
+    }
+
+    /**
+     * Limits how often display listeners are notified.  A display change
+     * that happens less than the given interval after the previous
+     * notification is held back until the interval ends, when the latest
+     * display is delivered by a task passed to the given executor.  The
+     * executor must run tasks on the thread that uses this calculator, for
+     * example {@code SwingUtilities::invokeLater}.  {@link #flushDisplay()}
+     * delivers a held-back display sooner.
+     * 
+     * @param interval The minimum time between notifications, or 0 to
+     *            notify on every change (the default).
+     * @param unit The unit of the interval.
+     * @param executor Runs held-back notifications on this calculator's
+     *            thread.  May be null when the interval is 0.
+     */
+    public void setNotificationInterval(long interval, TimeUnit unit,
+            Executor executor) {
+
+        if (interval < 0) {
+            throw new IllegalArgumentException("Negative interval: "
+                    + interval);
+        }
+        if (interval > 0 && executor == null) {
+            throw new NullPointerException("executor");
+        }
+        notificationIntervalNanos = unit.toNanos(interval);
+        notificationExecutor = executor;
+        lastNotificationNanos = System.nanoTime() - notificationIntervalNanos;
+    }
+
+    /**
+     * Starts a batch of key presses.  Display listeners are not notified
+     * until the matching call to {@link #endBatch()}, which notifies them at
+     * most once.  Batches may be nested; only the outermost batch notifies.
+     */
+    public void beginBatch() {
+
+        batchDepth++;
+    }
+
+    /**
+     * Ends a batch of key presses started with {@link #beginBatch()}.
+     * 
+     * @throws IllegalStateException if no batch is in progress.
+     */
+    public void endBatch() {
 
-        displayListeners.add(listener);
+        if (batchDepth == 0) {
+            throw new IllegalStateException("No batch in progress");
+        }
+        batchDepth--;
+        if (batchDepth == 0 && displayPending) {
+            publishDisplay();
+        }
+    }
+
+    /**
+     * Immediately notifies the display listeners of any display change that
+     * is being held back by the notification interval.
+     */
+    public void flushDisplay() {
+
+        if (displayPending) {
+            publishDisplay();
+        }
     }
     
+    /**
+     * Sets how many key presses can be undone, and clears the undo history.
+     * The history is preallocated, so recording key presses doesn't
+     * allocate.
+     * 
+     * @param depth The number of key presses that can be undone, or 0 to
+     *            disable undo (the default).
+     */
+    public void setHistoryDepth(int depth) {
+
+        if (depth < 0) {
+            throw new IllegalArgumentException("Negative history depth: "
+                    + depth);
+        }
+        historySlots = (depth == 0) ? 0 : depth + 1;
+        historyAccumulator = new long[historySlots];
+        historyInput = new long[historySlots];
+        historyStoredOperand = new long[historySlots];
+        historyCurrentOperation = new byte[historySlots];
+        historyStoredOperation = new byte[historySlots];
+        historyFlags = new byte[historySlots];
+        historyCustomOperations = null;
+        historyCursor = 0;
+        undoCount = 0;
+        redoCount = 0;
+    }
+
+    /**
+     * Returns how many key presses can be undone.
+     * 
+     * @return The history depth set by {@link #setHistoryDepth(int)}.
+     */
+    public int getHistoryDepth() {
+
+        return (historySlots == 0) ? 0 : historySlots - 1;
+    }
+
+    /**
+     * Undoes the most recent key press.
+     * 
+     * @return true if a key press was undone, false if there was nothing to
+     *         undo.
+     */
+    public boolean undo() {
+
+        if (undoCount == 0) {
+            return false;
+        }
+        saveHistory(historyCursor);
+        historyCursor = (historyCursor == 0) ? historySlots - 1
+                : historyCursor - 1;
+        undoCount--;
+        redoCount++;
+        loadHistory(historyCursor);
+        updateDisplay();
+        return true;
+    }
+
+    /**
+     * Redoes the most recently undone key press.
+     * 
+     * @return true if a key press was redone, false if there was nothing to
+     *         redo.
+     */
+    public boolean redo() {
+
+        if (redoCount == 0) {
+            return false;
+        }
+        historyCursor = (historyCursor == historySlots - 1) ? 0
+                : historyCursor + 1;
+        redoCount--;
+        undoCount++;
+        loadHistory(historyCursor);
+        updateDisplay();
+        return true;
+    }
+
+    /**
+     * Returns whether there is a key press to undo.
+     * 
+     * @return true if {@link #undo()} would undo a key press.
+     */
+    public boolean canUndo() {
+
+        return undoCount > 0;
+    }
+
+    /**
+     * Returns whether there is an undone key press to redo.
+     * 
+     * @return true if {@link #redo()} would redo a key press.
+     */
+    public boolean canRedo() {
+
+        return redoCount > 0;
+    }
+
+    /**
+     * Returns a snapshot of the calculator's internal state.
+     * 
+     * @return The current state.
+     */
+    public CalculatorState getState() {
+
+        return new CalculatorState(accumulator, input, storedOperand,
+                currentOperation, storedOperation, currentDisplay,
+                equalsPressed, error);
+    }
+
+    /**
+     * Replaces the calculator's internal state, for example to restore a
+     * snapshot taken with {@link #getState()}.  The display listeners are
+     * notified if the display changes.
+     * 
+     * @param state The state to restore.
+     */
+    public void setState(CalculatorState state) {
+
+        accumulator = state.getAccumulator();
+        input = state.getInput();
+        storedOperand = state.getStoredOperand();
+        currentOperation = state.getCurrentBinaryOperation();
+        storedOperation = state.getStoredBinaryOperation();
+        currentDisplay = state.getCurrentDisplay();
+        equalsPressed = state.isEqualsPressed();
+        error = state.isError();
+        updateDisplay();
+    }
+
     /* (non-Javadoc)
      * @see java.lang.Object#toString()
      */
@@ -159,9 +570,180 @@ public final class Calculator {
         return "Calculator [current display: " + getDisplayString() + "]";
     }
 
-    private void performOperation() {
+    /**
+     * Returns whether a custom operation could be applied by the next key.
+     * Keys only select built-in operations, so once this is false it stays
+     * false for the rest of a key sequence.
+     */
+    private boolean hasCustomOperation() {
+
+        return !(currentOperation instanceof Operation)
+                || !(storedOperation instanceof Operation);
+    }
+
+    /* (non-Javadoc)
+     * @see us.dholmes.toycalc.AbstractCalculator#beforeDigit()
+     */
+    @Override
+    void beforeDigit() {
+
+        recordHistory();
+    }
+
+    /* (non-Javadoc)
+     * @see AbstractCalculator#beforeOperation(BinaryOperation)
+     */
+    @Override
+    void beforeOperation(BinaryOperation operation) {
+
+        recordHistory();
+        if (metrics != null && operation instanceof Operation) {
+            metrics.recordOperation((Operation) operation);
+        }
+    }
+
+    /* (non-Javadoc)
+     * @see us.dholmes.toycalc.AbstractCalculator#beforeEquals()
+     */
+    @Override
+    void beforeEquals() {
+
+        recordHistory();
+        if (metrics != null) {
+            metrics.recordEquals();
+        }
+    }
+
+    /* (non-Javadoc)
+     * @see us.dholmes.toycalc.AbstractCalculator#appendDigit(int)
+     */
+    @Override
+    void appendDigit(int digit) {
+
+        if (input == 0) {
+            input = digit;
+        } else if (input < INPUT_SHIFT_LIMIT) {
+            input = input * 10 + digit;
+        }
+    }
+
+    /* (non-Javadoc)
+     * @see us.dholmes.toycalc.AbstractCalculator#clearInput()
+     */
+    @Override
+    void clearInput() {
+
+        input = 0;
+    }
+
+    /* (non-Javadoc)
+     * @see us.dholmes.toycalc.AbstractCalculator#recallStoredOperand()
+     */
+    @Override
+    void recallStoredOperand() {
+
+        input = storedOperand;
+    }
+
+    /* (non-Javadoc)
+     * @see us.dholmes.toycalc.AbstractCalculator#storeOperand()
+     */
+    @Override
+    void storeOperand() {
+
+        storedOperand = input;
+    }
+
+    /* (non-Javadoc)
+     * @see us.dholmes.toycalc.AbstractCalculator#clearNumbers()
+     */
+    @Override
+    void clearNumbers() {
+
+        accumulator = 0;
+        input = 0;
+        storedOperand = 0;
+    }
+
+    /**
+     * Saves the state before a key press and discards anything that could
+     * have been redone.
+     */
+    private void recordHistory() {
+
+        if (historySlots == 0) {
+            return;
+        }
+        saveHistory(historyCursor);
+        historyCursor = (historyCursor == historySlots - 1) ? 0
+                : historyCursor + 1;
+        if (undoCount < historySlots - 1) {
+            undoCount++;
+        }
+        redoCount = 0;
+    }
+
+    private void saveHistory(int slot) {
+
+        historyAccumulator[slot] = accumulator;
+        historyInput[slot] = input;
+        historyStoredOperand[slot] = storedOperand;
+        historyCurrentOperation[slot] = saveOperation(slot * 2,
+                currentOperation);
+        historyStoredOperation[slot] = saveOperation(slot * 2 + 1,
+                storedOperation);
+        historyFlags[slot] = (byte) (((currentDisplay == Display.Input) ? 1 : 0)
+                | (equalsPressed ? 2 : 0) | (error ? 4 : 0));
+    }
+
+    private void loadHistory(int slot) {
+
+        accumulator = historyAccumulator[slot];
+        input = historyInput[slot];
+        storedOperand = historyStoredOperand[slot];
+        currentOperation = loadOperation(slot * 2,
+                historyCurrentOperation[slot]);
+        storedOperation = loadOperation(slot * 2 + 1,
+                historyStoredOperation[slot]);
+        int flags = historyFlags[slot];
+        currentDisplay = ((flags & 1) != 0) ? Display.Input
+                : Display.Accumulator;
+        equalsPressed = (flags & 2) != 0;
+        error = (flags & 4) != 0;
+    }
+
+    private byte saveOperation(int index, BinaryOperation operation) {
+
+        if (operation instanceof Operation) {
+            return (byte) ((Operation) operation).ordinal();
+        }
+        if (historyCustomOperations == null) {
+            historyCustomOperations = new BinaryOperation[historySlots * 2];
+        }
+        historyCustomOperations[index] = operation;
+        return CUSTOM_OPERATION;
+    }
+
+    private BinaryOperation loadOperation(int index, byte code) {
+
+        return (code == CUSTOM_OPERATION) ? historyCustomOperations[index]
+                : OPERATIONS[code];
+    }
+
+    /* (non-Javadoc)
+     * @see us.dholmes.toycalc.AbstractCalculator#performOperation(boolean)
+     */
+    @Override
+    void performOperation(boolean builtInOnly) {
 
-        switch (currentOperation) {
+        // Built-in operations take the switch, so they stay inlined no matter
+        // how many other operations are pressed; only those reach the
+        // interface call in performCustomOperation().
+        if (!builtInOnly && !(currentOperation instanceof Operation)) {
+            performCustomOperation();
+            return;
+        }
+        switch ((Operation) currentOperation) {
         case None:
             accumulator = input;
             break;
@@ -177,34 +759,116 @@ public final class Calculator {
         case Divide:
             if (input == 0) {
                 error = true;
+                if (metrics != null) {
+                    metrics.recordDivideByZero();
+                }
             } else {
                 accumulator /= input;
             }
             break;
         }
     }
+
+    private void performCustomOperation() {
+
+        try {
+            accumulator = currentOperation.apply(accumulator, input);
+        } catch (ArithmeticException e) {
+            error = true;
+        }
+    }
     
-    private long getDisplayValue() {
+    private void updateDisplay() {
 
-        return (currentDisplay == Display.Input) ? input : accumulator;
+        if (error ? publishedError
+                : !publishedError && getDisplayValue() == publishedValue) {
+            displayPending = false;
+            return;
+        }
+        if (batchDepth > 0) {
+            displayPending = true;
+            return;
+        }
+        if (notificationIntervalNanos > 0) {
+            long remaining = lastNotificationNanos + notificationIntervalNanos
+                    - System.nanoTime();
+            if (remaining > 0) {
+                displayPending = true;
+                scheduleFlush(remaining);
+                return;
+            }
+        }
+        publishDisplay();
     }
 
-    private void updateDisplay() {
+    /**
+     * Arranges for a held-back display to be delivered once the notification
+     * interval ends.  The timer thread only hands the flush to the
+     * notification executor, so listeners still run on this calculator's
+     * thread.
+     */
+    private void scheduleFlush(long delayNanos) {
 
-        for (Consumer<String> listener : displayListeners) {
-            listener.accept(getDisplayString());
+        if (flushScheduled) {
+            return;
         }
+        flushScheduled = true;
+        Executor executor = notificationExecutor;
+        NotificationTimer.INSTANCE.schedule(
+                () -> executor.execute(this::scheduledFlush), delayNanos,
+                TimeUnit.NANOSECONDS);
     }
 
-    private void reset() {
-        
-        accumulator = 0;
-        input = 0;
-        storedOperand = 0;
-        currentOperation = Operation.None;
-        storedOperation = Operation.None;
-        currentDisplay = Display.Input;
-        equalsPressed = false;
-        error = false;
+    private void scheduledFlush() {
+
+        flushScheduled = false;
+        if (batchDepth == 0) {
+            flushDisplay();
+        }
+    }
+
+    private void publishDisplay() {
+
+        long value = getDisplayValue();
+        publishedValue = value;
+        publishedError = error;
+        displayPending = false;
+        if (notificationIntervalNanos > 0) {
+            lastNotificationNanos = System.nanoTime();
+        }
+
+        long start = (metrics != null) ? System.nanoTime() : 0;
+        // Indexed loops avoid allocating an iterator per key press.
+        for (int i = 0; i < numericDisplayListeners.size(); i++) {
+            numericDisplayListeners.get(i).displayUpdated(value, error);
+        }
+        notifyDisplayListeners();
+        if (metrics != null) {
+            metrics.recordListenerDispatch(System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * The timer for held-back notifications, started the first time one is
+     * needed.
+     */
+    private static final class NotificationTimer {
+
+        static final ScheduledExecutorService INSTANCE =
+                Executors.newSingleThreadScheduledExecutor((Runnable r) -> {
+                    Thread thread = new Thread(r,
+                            "Calculator-notification-timer");
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+
+    private static long powerOfTen(int exponent) {
+
+        long result = 1;
+        for (int i = 0; i < exponent; i++) {
+            result *= 10;
+        }
+        return result;
     }
 }
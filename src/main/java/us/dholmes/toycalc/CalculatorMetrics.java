@@ -0,0 +1,346 @@
+/**
+ * Copyright (C) 2026 David A Holmes Jr
+ * 
+ * This file is part of JToyCalc.
+ * 
+ * JToyCalc is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * JToyCalc is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with JToyCalc.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package us.dholmes.toycalc;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+import javax.management.JMException;
+import javax.management.ObjectName;
+
+import us.dholmes.toycalc.Calculator.Operation;
+
+/**
+ * Usage counters and latency statistics for one or more
+ * {@link Calculator}s, published as a JMX MBean.  Pass an instance to
+ * {@link Calculator#Calculator(CalculatorMetrics)} to instrument a
+ * calculator; any number of calculators on any number of threads may share
+ * one instance.
+ * <p>
+ * Latency is measured per call to a calculator's press methods, from the
+ * start of the call until its display listeners have returned; a key tape
+ * passed to {@code pressAll} counts as one call.  Latencies are recorded in
+ * a histogram with power-of-two buckets, so recording is a couple of
+ * uncontended additions.
+ * <p>
+ * Key presses are also counted in a ring of one-second slots, from which the
+ * key press rate is averaged over a fixed window of recent seconds.  Reading
+ * the rate doesn't change it, so any number of clients may poll it.
+ */
+public final class CalculatorMetrics implements CalculatorMetricsMBean {
+
+    private static final String DOMAIN = "us.dholmes.toycalc";
+
+    private final LongAdder keyPresses = new LongAdder();
+    private final LongAdder[] operationCounts =
+            new LongAdder[Operation.values().length];
+    private final LongAdder equalsCount = new LongAdder();
+    private final LongAdder divideByZeroErrors = new LongAdder();
+    private final LongAdder listenerDispatches = new LongAdder();
+    private final LongAdder listenerDispatchNanos = new LongAdder();
+    private final LongAdder[] latencyHistogram = new LongAdder[Long.SIZE];
+
+    /** The number of complete seconds the key press rate is averaged over. */
+    static final int RATE_WINDOW_SECONDS = 5;
+    /**
+     * The number of one-second slots: a power of two, with room for the
+     * window and the current second.
+     */
+    private static final int RATE_SLOTS = 8;
+    private static final long NANOS_PER_SECOND = 1_000_000_000L;
+
+    private final LongSupplier clock;
+    private final long originNanos;
+    /** Key presses in each slot's second. */
+    private final LongAdder[] rateSlotCounts = new LongAdder[RATE_SLOTS];
+    /** The second, counted from originNanos, each slot is counting. */
+    private final AtomicLongArray rateSlotSeconds =
+            new AtomicLongArray(RATE_SLOTS);
+
+    private ObjectName objectName;
+
+    /**
+     * Constructor.
+     */
+    public CalculatorMetrics() {
+
+        this(System::nanoTime);
+    }
+
+    /**
+     * Constructor for tests that control the passage of time.
+     * 
+     * @param clock The source of timestamps, in nanoseconds.  Key press
+     *            start times must come from the same source.
+     */
+    CalculatorMetrics(LongSupplier clock) {
+
+        this.clock = clock;
+        originNanos = clock.getAsLong();
+        for (int i = 0; i < RATE_SLOTS; i++) {
+            rateSlotCounts[i] = new LongAdder();
+            rateSlotSeconds.set(i, -1);
+        }
+        for (int i = 0; i < operationCounts.length; i++) {
+            operationCounts[i] = new LongAdder();
+        }
+        for (int i = 0; i < latencyHistogram.length; i++) {
+            latencyHistogram[i] = new LongAdder();
+        }
+    }
+
+    /**
+     * Registers these metrics with the platform MBean server as
+     * {@code us.dholmes.toycalc:type=Calculator,name=<name>}.
+     * 
+     * @param name The name to register under.
+     * @throws JMException when the MBean can't be registered.
+     */
+    public synchronized void register(String name) throws JMException {
+
+        ObjectName newName = new ObjectName(DOMAIN + ":type=Calculator,name="
+                + ObjectName.quote(name));
+        ManagementFactory.getPlatformMBeanServer().registerMBean(this,
+                newName);
+        objectName = newName;
+    }
+
+    /**
+     * Removes these metrics from the platform MBean server, if registered.
+     * 
+     * @throws JMException when the MBean can't be unregistered.
+     */
+    public synchronized void unregister() throws JMException {
+
+        if (objectName != null) {
+            ManagementFactory.getPlatformMBeanServer()
+                    .unregisterMBean(objectName);
+            objectName = null;
+        }
+    }
+
+    /**
+     * Records a call that pressed some keys.
+     * 
+     * @param keys The number of keys pressed.
+     * @param startNanos The clock's time at the start of the call.
+     */
+    void recordKeyPresses(int keys, long startNanos) {
+
+        long now = clock.getAsLong();
+        keyPresses.add(keys);
+        latencyHistogram[bucket(now - startNanos)].increment();
+
+        long second = (now - originNanos) / NANOS_PER_SECOND;
+        int slot = (int) second & (RATE_SLOTS - 1);
+        long slotSecond = rateSlotSeconds.get(slot);
+        if (slotSecond != second) {
+            // The first press of a new second reclaims the slot.  Presses
+            // racing with this may be miscounted, which a rate can afford.
+            if (slotSecond < second
+                    && rateSlotSeconds.compareAndSet(slot, slotSecond,
+                            second)) {
+                rateSlotCounts[slot].reset();
+            } else if (rateSlotSeconds.get(slot) != second) {
+                return;
+            }
+        }
+        rateSlotCounts[slot].add(keys);
+    }
+
+    void recordOperation(Operation operation) {
+
+        operationCounts[operation.ordinal()].increment();
+    }
+
+    void recordEquals() {
+
+        equalsCount.increment();
+    }
+
+    void recordDivideByZero() {
+
+        divideByZeroErrors.increment();
+    }
+
+    void recordListenerDispatch(long nanos) {
+
+        listenerDispatches.increment();
+        listenerDispatchNanos.add(nanos);
+    }
+
+    @Override
+    public long getKeyPresses() {
+
+        return keyPresses.sum();
+    }
+
+    @Override
+    public double getKeyPressesPerSecond() {
+
+        long current = (clock.getAsLong() - originNanos) / NANOS_PER_SECOND;
+        long count = 0;
+        for (long second = current - RATE_WINDOW_SECONDS; second < current;
+                second++) {
+            int slot = (int) second & (RATE_SLOTS - 1);
+            if (second >= 0 && rateSlotSeconds.get(slot) == second) {
+                count += rateSlotCounts[slot].sum();
+            }
+        }
+        return (double) count / RATE_WINDOW_SECONDS;
+    }
+
+    @Override
+    public long getAddCount() {
+
+        return operationCounts[Operation.Add.ordinal()].sum();
+    }
+
+    @Override
+    public long getSubtractCount() {
+
+        return operationCounts[Operation.Subtract.ordinal()].sum();
+    }
+
+    @Override
+    public long getMultiplyCount() {
+
+        return operationCounts[Operation.Multiply.ordinal()].sum();
+    }
+
+    @Override
+    public long getDivideCount() {
+
+        return operationCounts[Operation.Divide.ordinal()].sum();
+    }
+
+    @Override
+    public long getEqualsCount() {
+
+        return equalsCount.sum();
+    }
+
+    @Override
+    public long getDivideByZeroErrors() {
+
+        return divideByZeroErrors.sum();
+    }
+
+    @Override
+    public long getListenerDispatches() {
+
+        return listenerDispatches.sum();
+    }
+
+    @Override
+    public long getListenerDispatchNanos() {
+
+        return listenerDispatchNanos.sum();
+    }
+
+    @Override
+    public long[] getLatencyHistogram() {
+
+        long[] counts = new long[latencyHistogram.length];
+        for (int i = 0; i < counts.length; i++) {
+            counts[i] = latencyHistogram[i].sum();
+        }
+        return counts;
+    }
+
+    @Override
+    public long getLatencyP50Nanos() {
+
+        return percentile(0.5);
+    }
+
+    @Override
+    public long getLatencyP99Nanos() {
+
+        return percentile(0.99);
+    }
+
+    @Override
+    public long getLatencyP999Nanos() {
+
+        return percentile(0.999);
+    }
+
+    @Override
+    public void reset() {
+
+        keyPresses.reset();
+        for (LongAdder count : operationCounts) {
+            count.reset();
+        }
+        equalsCount.reset();
+        divideByZeroErrors.reset();
+        listenerDispatches.reset();
+        listenerDispatchNanos.reset();
+        for (LongAdder count : latencyHistogram) {
+            count.reset();
+        }
+        for (int i = 0; i < RATE_SLOTS; i++) {
+            rateSlotSeconds.set(i, -1);
+            rateSlotCounts[i].reset();
+        }
+    }
+
+    /* (non-Javadoc)
+     * @see java.lang.Object#toString()
+     */
+    @Override
+    public String toString() {
+
+        return "CalculatorMetrics [key presses: " + getKeyPresses()
+                + ", p99: " + getLatencyP99Nanos() + " ns]";
+    }
+
+    /**
+     * Returns the upper bound of the histogram bucket containing the given
+     * percentile, or 0 if nothing has been recorded.
+     */
+    private long percentile(double fraction) {
+
+        long[] counts = getLatencyHistogram();
+        long total = 0;
+        for (long count : counts) {
+            total += count;
+        }
+        if (total == 0) {
+            return 0;
+        }
+        long target = (long) Math.ceil(total * fraction);
+        long seen = 0;
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen >= target) {
+                return (i >= Long.SIZE - 2) ? Long.MAX_VALUE : 2L << i;
+            }
+        }
+        return Long.MAX_VALUE;
+    }
+
+    private static int bucket(long nanos) {
+
+        return (nanos <= 0) ? 0 : Long.SIZE - 1 - Long.numberOfLeadingZeros(nanos);
+    }
+}
@@ -0,0 +1,108 @@
+/**
+ * Copyright (C) 2026 David A Holmes Jr
+ * 
+ * This file is part of JToyCalc.
+ * 
+ * JToyCalc is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * JToyCalc is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with JToyCalc.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package us.dholmes.toycalc;
+
+/**
+ * JMX management interface for {@link CalculatorMetrics}.
+ */
+public interface CalculatorMetricsMBean {
+
+    /**
+     * @return The total number of keys pressed.
+     */
+    long getKeyPresses();
+
+    /**
+     * @return The average rate of key presses per second over the last five
+     *         complete seconds.  Reading this attribute doesn't change it.
+     */
+    double getKeyPressesPerSecond();
+
+    /**
+     * @return The number of times the add button was pressed.
+     */
+    long getAddCount();
+
+    /**
+     * @return The number of times the subtract button was pressed.
+     */
+    long getSubtractCount();
+
+    /**
+     * @return The number of times the multiply button was pressed.
+     */
+    long getMultiplyCount();
+
+    /**
+     * @return The number of times the divide button was pressed.
+     */
+    long getDivideCount();
+
+    /**
+     * @return The number of times the "equals" button was pressed.
+     */
+    long getEqualsCount();
+
+    /**
+     * @return The number of divisions by zero.
+     */
+    long getDivideByZeroErrors();
+
+    /**
+     * @return The number of times display listeners were notified.
+     */
+    long getListenerDispatches();
+
+    /**
+     * @return The total time spent notifying display listeners, in
+     *         nanoseconds.
+     */
+    long getListenerDispatchNanos();
+
+    /**
+     * @return The counts of the key press latency histogram.  Bucket
+     *         {@code i} counts calls that took less than {@code 2^(i+1)}
+     *         nanoseconds but at least {@code 2^i} (bucket 0 also counts
+     *         calls measured as 0 ns).
+     */
+    long[] getLatencyHistogram();
+
+    /**
+     * @return The median key press latency, in nanoseconds, rounded up to a
+     *         histogram bucket boundary.
+     */
+    long getLatencyP50Nanos();
+
+    /**
+     * @return The 99th percentile key press latency, in nanoseconds, rounded
+     *         up to a histogram bucket boundary.
+     */
+    long getLatencyP99Nanos();
+
+    /**
+     * @return The 99.9th percentile key press latency, in nanoseconds,
+     *         rounded up to a histogram bucket boundary.
+     */
+    long getLatencyP999Nanos();
+
+    /**
+     * Resets all counters and the histogram to zero.
+     */
+    void reset();
+}
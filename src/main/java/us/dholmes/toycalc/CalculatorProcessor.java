@@ -0,0 +1,293 @@
+/**
+ * Copyright (C) 2026 David A Holmes Jr
+ * 
+ * This file is part of JToyCalc.
+ * 
+ * JToyCalc is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * JToyCalc is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with JToyCalc.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package us.dholmes.toycalc;
+
+import java.util.Objects;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * A {@link Flow.Processor} that presses each key it receives on a
+ * {@link Calculator} and publishes the calculator's display.
+ * <p>
+ * Keys are requested from upstream in batches and pressed as soon as they
+ * arrive, whatever the downstream demand.  Displays are only sent while the
+ * subscriber has outstanding demand; in between, each new display replaces
+ * the one waiting to be sent, so a slow subscriber sees the latest display
+ * rather than a growing backlog, and never holds up key processing.  The
+ * first display sent is the one shown when the subscriber subscribes.
+ * <p>
+ * Only one subscriber is supported; later ones receive an
+ * {@link IllegalStateException}.  Cancelling the subscription cancels the
+ * upstream subscription too.  When upstream completes, the last display is
+ * sent (once there is demand for it) before completing; upstream errors are
+ * passed on immediately.  An unrecognized key cancels upstream and fails
+ * the subscriber with an {@link IllegalArgumentException}.
+ */
+public final class CalculatorProcessor
+        implements Flow.Processor<Character, String> {
+
+    /** The number of keys requested from upstream at a time. */
+    public static final int KEY_BATCH = 64;
+
+    /** Keys are requested again once this many of a batch are pressed. */
+    private static final int KEY_REPLENISH = KEY_BATCH - KEY_BATCH / 4;
+
+    private final Calculator calculator;
+
+    /** The display waiting to be sent, or null if it has been sent. */
+    private final AtomicReference<String> latest;
+    private final AtomicLong requested = new AtomicLong();
+    /** Serializes drain(): the number of times it was called while busy. */
+    private final AtomicInteger wip = new AtomicInteger();
+    private final AtomicReference<Flow.Subscriber<? super String>> subscriber =
+            new AtomicReference<>();
+
+    private volatile Flow.Subscription upstream;
+    /** Set once upstream has terminated; error is written first. */
+    private volatile boolean done;
+    private Throwable error;
+    /** Set once the subscriber has cancelled or been terminated. */
+    private volatile boolean cancelled;
+    /** Set if the subscriber requested a non-positive number of items. */
+    private volatile boolean invalidRequest;
+
+    /** Keys pressed since upstream was last asked for more. */
+    private int consumed;
+
+    /**
+     * Constructor.  Presses keys on a new calculator.
+     */
+    public CalculatorProcessor() {
+
+        this(new Calculator());
+    }
+
+    /**
+     * Constructor.
+     * 
+     * @param calculator The calculator to press keys on.  It must not be
+     *            used other than through this processor.
+     */
+    public CalculatorProcessor(Calculator calculator) {
+
+        this.calculator = calculator;
+        latest = new AtomicReference<>(calculator.getDisplayString());
+        calculator.addDisplayListener((String display) -> {
+            latest.set(display);
+            drain();
+        });
+    }
+
+    /* (non-Javadoc)
+     * @see java.util.concurrent.Flow.Subscriber#onSubscribe(Subscription)
+     */
+    @Override
+    public void onSubscribe(Flow.Subscription subscription) {
+
+        Objects.requireNonNull(subscription);
+        if (upstream != null) {
+            subscription.cancel();
+            return;
+        }
+        upstream = subscription;
+        if (cancelled) {
+            subscription.cancel();
+        } else {
+            subscription.request(KEY_BATCH);
+        }
+    }
+
+    /* (non-Javadoc)
+     * @see java.util.concurrent.Flow.Subscriber#onNext(java.lang.Object)
+     */
+    @Override
+    public void onNext(Character key) {
+
+        Objects.requireNonNull(key);
+        if (done || cancelled) {
+            return;
+        }
+        try {
+            calculator.pressKey(key);
+        } catch (IllegalArgumentException e) {
+            upstream.cancel();
+            onError(e);
+            return;
+        }
+        if (++consumed == KEY_REPLENISH) {
+            consumed = 0;
+            upstream.request(KEY_REPLENISH);
+        }
+    }
+
+    /* (non-Javadoc)
+     * @see java.util.concurrent.Flow.Subscriber#onError(java.lang.Throwable)
+     */
+    @Override
+    public void onError(Throwable throwable) {
+
+        Objects.requireNonNull(throwable);
+        if (done) {
+            return;
+        }
+        error = throwable;
+        done = true;
+        drain();
+    }
+
+    /* (non-Javadoc)
+     * @see java.util.concurrent.Flow.Subscriber#onComplete()
+     */
+    @Override
+    public void onComplete() {
+
+        if (done) {
+            return;
+        }
+        done = true;
+        drain();
+    }
+
+    /* (non-Javadoc)
+     * @see java.util.concurrent.Flow.Publisher#subscribe(Subscriber)
+     */
+    @Override
+    public void subscribe(Flow.Subscriber<? super String> subscriber) {
+
+        Objects.requireNonNull(subscriber);
+        if (!this.subscriber.compareAndSet(null, subscriber)) {
+            subscriber.onSubscribe(new Flow.Subscription() {
+
+                @Override
+                public void request(long n) {
+
+                    // Already failed
+                }
+
+                @Override
+                public void cancel() {
+
+                    // Already failed
+                }
+            });
+            subscriber.onError(new IllegalStateException(
+                    "CalculatorProcessor allows only one subscriber"));
+            return;
+        }
+        subscriber.onSubscribe(new Flow.Subscription() {
+
+            @Override
+            public void request(long n) {
+
+                if (n <= 0) {
+                    invalidRequest = true;
+                } else {
+                    addRequested(n);
+                }
+                drain();
+            }
+
+            @Override
+            public void cancel() {
+
+                cancelUpstream();
+            }
+        });
+        drain();
+    }
+
+    private void addRequested(long n) {
+
+        long current;
+        long next;
+        do {
+            current = requested.get();
+            if (current == Long.MAX_VALUE) {
+                return;
+            }
+            next = current + n;
+            if (next < 0) {
+                next = Long.MAX_VALUE;
+            }
+        } while (!requested.compareAndSet(current, next));
+    }
+
+    private void cancelUpstream() {
+
+        cancelled = true;
+        Flow.Subscription subscription = upstream;
+        if (subscription != null) {
+            subscription.cancel();
+        }
+    }
+
+    /**
+     * Sends the waiting display and any terminal signal, if the subscriber
+     * is ready for them.  Only one thread drains at a time; a call made
+     * while another thread is draining makes that thread loop again instead.
+     */
+    private void drain() {
+
+        if (wip.getAndIncrement() != 0) {
+            return;
+        }
+        int missed = 1;
+        do {
+            Flow.Subscriber<? super String> s = subscriber.get();
+            if (s != null && !cancelled) {
+                drainTo(s);
+            }
+            missed = wip.addAndGet(-missed);
+        } while (missed != 0);
+    }
+
+    private void drainTo(Flow.Subscriber<? super String> s) {
+
+        if (invalidRequest) {
+            cancelUpstream();
+            s.onError(new IllegalArgumentException(
+                    "Subscription requests must be positive"));
+            return;
+        }
+        // Read done before the display, so a display set before upstream
+        // terminated is always sent first.
+        boolean terminated = done;
+        if (terminated && error != null) {
+            cancelled = true;
+            s.onError(error);
+            return;
+        }
+        if (requested.get() > 0) {
+            String display = latest.getAndSet(null);
+            if (display != null) {
+                if (requested.get() != Long.MAX_VALUE) {
+                    requested.decrementAndGet();
+                }
+                s.onNext(display);
+            }
+        }
+        if (terminated && latest.get() == null && !cancelled) {
+            cancelled = true;
+            s.onComplete();
+        }
+    }
+}
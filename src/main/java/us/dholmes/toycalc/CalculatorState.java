@@ -0,0 +1,406 @@
+/**
+ * Copyright (C) 2026 David A Holmes Jr
+ * 
+ * This file is part of JToyCalc.
+ * 
+ * JToyCalc is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * JToyCalc is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with JToyCalc.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package us.dholmes.toycalc;
+
+import java.util.Objects;
+
+import us.dholmes.toycalc.Calculator.Display;
+import us.dholmes.toycalc.Calculator.Operation;
+
+/**
+ * An immutable snapshot of a calculator's internal state, with pure
+ * transition functions for each button.  Pressing a button returns a new
+ * state and leaves the original unchanged, so states can be freely shared
+ * between threads.  The transitions behave exactly like the corresponding
+ * {@link Calculator} methods.
+ */
+public final class CalculatorState {
+
+    /**
+     * The state of a newly-created calculator.
+     */
+    public static final CalculatorState INITIAL = new CalculatorState(0, 0, 0,
+            Operation.None, Operation.None, Display.Input, false, false);
+
+    private final long accumulator;
+    private final long input;
+    private final long storedOperand;
+    private final BinaryOperation currentOperation;
+    private final BinaryOperation storedOperation;
+    private final Display currentDisplay;
+    private final boolean equalsPressed;
+    private final boolean error;
+
+    /**
+     * Constructor.
+     */
+    CalculatorState(long accumulator, long input, long storedOperand,
+            BinaryOperation currentOperation, BinaryOperation storedOperation,
+            Display currentDisplay, boolean equalsPressed, boolean error) {
+
+        this.accumulator = accumulator;
+        this.input = input;
+        this.storedOperand = storedOperand;
+        this.currentOperation = currentOperation;
+        this.storedOperation = storedOperation;
+        this.currentDisplay = currentDisplay;
+        this.equalsPressed = equalsPressed;
+        this.error = error;
+    }
+
+    /**
+     * Returns the state after pressing a digit button.
+     * 
+     * @param digit The digit to press.
+     * @return The new state.
+     */
+    public CalculatorState pressDigit(int digit) {
+
+        CalculatorState state = (equalsPressed || error) ? INITIAL : this;
+
+        long newInput = state.input;
+        if (newInput == 0) {
+            newInput = digit;
+        } else if (newInput < Calculator.INPUT_SHIFT_LIMIT) {
+            newInput = newInput * 10 + digit;
+        }
+
+        return new CalculatorState(state.accumulator, newInput,
+                state.storedOperand, state.currentOperation,
+                state.storedOperation, Display.Input, state.equalsPressed,
+                state.error);
+    }
+
+    /**
+     * Returns the state after pressing an operation button.
+     * 
+     * @param operation The operation to press.
+     * @return The new state.
+     */
+    public CalculatorState pressOperation(Operation operation) {
+
+        return pressOperation((BinaryOperation) operation);
+    }
+
+    /**
+     * Returns the state after pressing an operation button, or a button for
+     * a custom {@link BinaryOperation}.
+     * 
+     * @param operation The operation to press.
+     * @return The new state.
+     */
+    public CalculatorState pressOperation(BinaryOperation operation) {
+
+        if (equalsPressed) {
+            return new CalculatorState(accumulator, input, storedOperand,
+                    operation, storedOperation, Display.Accumulator, false,
+                    error);
+        }
+        if (!(currentOperation instanceof Operation)) {
+            return performCustom(currentOperation, input, operation,
+                    storedOperation, storedOperand, false);
+        }
+
+        Operation builtIn = (Operation) currentOperation;
+        return new CalculatorState(perform(builtIn, accumulator, input), 0,
+                storedOperand, operation, storedOperation, Display.Accumulator,
+                false, error || isError(builtIn, input));
+    }
+
+    /**
+     * Returns the state after pressing the "equals" button.
+     * 
+     * @return The new state.
+     */
+    public CalculatorState pressEquals() {
+
+        long operand = input;
+        BinaryOperation operation = currentOperation;
+        if (equalsPressed) {
+            operand = storedOperand;
+            operation = storedOperation;
+        }
+        if (!(operation instanceof Operation)) {
+            return performCustom(operation, operand, Operation.None,
+                    operation, operand, true);
+        }
+
+        Operation builtIn = (Operation) operation;
+        return new CalculatorState(perform(builtIn, accumulator, operand), 0,
+                operand, Operation.None, operation, Display.Accumulator, true,
+                error || isError(builtIn, operand));
+    }
+
+    /**
+     * Returns the state after pressing the button corresponding to a key
+     * character, as with {@link Calculator#pressKey(char)}.
+     * 
+     * @param key The key to press.
+     * @return The new state.
+     * @throws IllegalArgumentException if the key is not recognized.
+     */
+    public CalculatorState pressKey(char key) {
+
+        switch (key) {
+        case '+':
+            return pressOperation(Operation.Add);
+        case '-':
+            return pressOperation(Operation.Subtract);
+        case '*':
+            return pressOperation(Operation.Multiply);
+        case '/':
+            return pressOperation(Operation.Divide);
+        case '=':
+            return pressEquals();
+        default:
+            if (key < '0' || key > '9') {
+                throw new IllegalArgumentException("Unrecognized key: '"
+                        + key + "'");
+            }
+            return pressDigit(key - '0');
+        }
+    }
+
+    /**
+     * Returns the state after pressing a sequence of keys.
+     * 
+     * @param keys The keys to press.
+     * @return The new state.
+     * @throws IllegalArgumentException if any key is not recognized.
+     */
+    public CalculatorState pressAll(CharSequence keys) {
+
+        CalculatorState state = this;
+        for (int i = 0; i < keys.length(); i++) {
+            state = state.pressKey(keys.charAt(i));
+        }
+        return state;
+    }
+
+    /**
+     * @return The accumulator register.
+     */
+    public long getAccumulator() {
+
+        return accumulator;
+    }
+
+    /**
+     * @return The input register.
+     */
+    public long getInput() {
+
+        return input;
+    }
+
+    /**
+     * @return The operand repeated by pressing "equals" again.
+     */
+    public long getStoredOperand() {
+
+        return storedOperand;
+    }
+
+    /**
+     * @return The operation to be applied by the next operation or "equals".
+     * @throws IllegalStateException if that is a custom operation; see
+     *             {@link #getCurrentBinaryOperation()}.
+     */
+    public Operation getCurrentOperation() {
+
+        return builtIn(currentOperation);
+    }
+
+    /**
+     * @return The operation repeated by pressing "equals" again.
+     * @throws IllegalStateException if that is a custom operation; see
+     *             {@link #getStoredBinaryOperation()}.
+     */
+    public Operation getStoredOperation() {
+
+        return builtIn(storedOperation);
+    }
+
+    /**
+     * @return The operation, built-in or custom, to be applied by the next
+     *         operation or "equals".
+     */
+    public BinaryOperation getCurrentBinaryOperation() {
+
+        return currentOperation;
+    }
+
+    /**
+     * @return The operation, built-in or custom, repeated by pressing
+     *         "equals" again.
+     */
+    public BinaryOperation getStoredBinaryOperation() {
+
+        return storedOperation;
+    }
+
+    private static Operation builtIn(BinaryOperation operation) {
+
+        if (!(operation instanceof Operation)) {
+            throw new IllegalStateException("Custom operation: "
+                    + operation);
+        }
+        return (Operation) operation;
+    }
+
+    /**
+     * @return true if the input register is displayed, false if the
+     *         accumulator is.
+     */
+    public boolean isDisplayingInput() {
+
+        return currentDisplay == Display.Input;
+    }
+
+    /**
+     * @return true if "equals" was the last button pressed.
+     */
+    public boolean isEqualsPressed() {
+
+        return equalsPressed;
+    }
+
+    /**
+     * @return true if the calculator is displaying an error.
+     */
+    public boolean isError() {
+
+        return error;
+    }
+
+    /**
+     * @return The currently-displayed number.  Meaningless if
+     *         {@link #isError()} is true.
+     */
+    public long getDisplayValue() {
+
+        return (currentDisplay == Display.Input) ? input : accumulator;
+    }
+
+    /**
+     * @return The currently-displayed number as a String.
+     */
+    public String getDisplayString() {
+
+        if (error) {
+            return "error";
+        }
+        return Long.toString(getDisplayValue());
+    }
+
+    Display getCurrentDisplay() {
+
+        return currentDisplay;
+    }
+
+    /* (non-Javadoc)
+     * @see java.lang.Object#equals(java.lang.Object)
+     */
+    @Override
+    public boolean equals(Object obj) {
+
+        if (this == obj) {
+            return true;
+        }
+        if (!(obj instanceof CalculatorState)) {
+            return false;
+        }
+        CalculatorState other = (CalculatorState) obj;
+        return accumulator == other.accumulator && input == other.input
+                && storedOperand == other.storedOperand
+                && currentOperation.equals(other.currentOperation)
+                && storedOperation.equals(other.storedOperation)
+                && currentDisplay == other.currentDisplay
+                && equalsPressed == other.equalsPressed
+                && error == other.error;
+    }
+
+    /* (non-Javadoc)
+     * @see java.lang.Object#hashCode()
+     */
+    @Override
+    public int hashCode() {
+
+        return Objects.hash(accumulator, input, storedOperand,
+                currentOperation, storedOperation, currentDisplay,
+                equalsPressed, error);
+    }
+
+    /* (non-Javadoc)
+     * @see java.lang.Object#toString()
+     */
+    @Override
+    public String toString() {
+
+        return "CalculatorState [accumulator=" + accumulator + ", input="
+                + input + ", storedOperand=" + storedOperand
+                + ", currentOperation=" + currentOperation
+                + ", storedOperation=" + storedOperation
+                + ", currentDisplay=" + currentDisplay + ", equalsPressed="
+                + equalsPressed + ", error=" + error + "]";
+    }
+
+    /**
+     * Applies a custom operation to the accumulator, which is left unchanged
+     * if the operation throws an ArithmeticException.
+     */
+    private CalculatorState performCustom(BinaryOperation operation,
+            long operand, BinaryOperation newCurrentOperation,
+            BinaryOperation newStoredOperation, long newStoredOperand,
+            boolean newEqualsPressed) {
+
+        long newAccumulator = accumulator;
+        boolean newError = error;
+        try {
+            newAccumulator = operation.apply(accumulator, operand);
+        } catch (ArithmeticException e) {
+            newError = true;
+        }
+        return new CalculatorState(newAccumulator, 0, newStoredOperand,
+                newCurrentOperation, newStoredOperation, Display.Accumulator,
+                newEqualsPressed, newError);
+    }
+
+    private static long perform(Operation operation, long accumulator,
+            long input) {
+
+        switch (operation) {
+        case Add:
+            return accumulator + input;
+        case Subtract:
+            return accumulator - input;
+        case Multiply:
+            return accumulator * input;
+        case Divide:
+            return (input == 0) ? accumulator : accumulator / input;
+        default:
+            return input;
+        }
+    }
+
+    private static boolean isError(Operation operation, long input) {
+
+        return operation == Operation.Divide && input == 0;
+    }
+}
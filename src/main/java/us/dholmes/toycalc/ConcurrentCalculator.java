@@ -0,0 +1,174 @@
+/**
+ * Copyright (C) 2026 David A Holmes Jr
+ * 
+ * This file is part of JToyCalc.
+ * 
+ * JToyCalc is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * JToyCalc is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with JToyCalc.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package us.dholmes.toycalc;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import java.util.function.UnaryOperator;
+
+import us.dholmes.toycalc.Calculator.Operation;
+
+/**
+ * A calculator that may be used by several threads at once, for example a
+ * UI thread and a scripted feeder.  The state is held as an immutable
+ * {@link CalculatorState} and each button press advances it with a
+ * compare-and-set, so no locks are taken and readers always see a
+ * consistent snapshot.
+ * <p>
+ * Display listeners are called on the thread that pressed the button, after
+ * the state has been updated.  When several threads press buttons at once,
+ * notifications may arrive out of order; listeners that need the latest
+ * value should call {@link #getState()}.
+ */
+public final class ConcurrentCalculator {
+
+    private final AtomicReference<CalculatorState> state =
+            new AtomicReference<>(CalculatorState.INITIAL);
+    private final List<Consumer<String>> displayListeners =
+            new CopyOnWriteArrayList<>();
+
+    /**
+     * Constructor.
+     */
+    public ConcurrentCalculator() {
+
+    }
+
+    /**
+     * Press a digit button on the calculator.
+     * 
+     * @param digit The digit to press.
+     * @return The state after this button press.
+     */
+    public CalculatorState pressDigit(int digit) {
+
+        return update((CalculatorState s) -> s.pressDigit(digit));
+    }
+
+    /**
+     * Press an operation button on the calculator (+-/*).
+     * 
+     * @param operation The operation to perform.
+     * @return The state after this button press.
+     */
+    public CalculatorState pressOperation(Operation operation) {
+
+        return pressOperation((BinaryOperation) operation);
+    }
+
+    /**
+     * Press an operation button on the calculator (+-/*), or a button for a
+     * custom {@link BinaryOperation}.
+     * 
+     * @param operation The operation to perform.
+     * @return The state after this button press.
+     */
+    public CalculatorState pressOperation(BinaryOperation operation) {
+
+        return update((CalculatorState s) -> s.pressOperation(operation));
+    }
+
+    /**
+     * Press the "equals" button on the calculator.
+     * 
+     * @return The state after this button press.
+     */
+    public CalculatorState pressEquals() {
+
+        return update(CalculatorState::pressEquals);
+    }
+
+    /**
+     * Press a sequence of keys atomically: no other thread's key presses
+     * are interleaved with them.
+     * 
+     * @param keys The keys to press.
+     * @return The state after the last key.
+     * @throws IllegalArgumentException if any key is not recognized.  In that
+     *             case no keys are pressed.
+     * @see Calculator#pressAll(CharSequence)
+     */
+    public CalculatorState pressAll(CharSequence keys) {
+
+        return update((CalculatorState s) -> s.pressAll(keys));
+    }
+
+    /**
+     * Returns a consistent snapshot of the calculator's state.
+     * 
+     * @return The current state.
+     */
+    public CalculatorState getState() {
+
+        return state.get();
+    }
+
+    /**
+     * Returns the currently-displayed number as a String.
+     * 
+     * @return The currently-displayed number as a String.
+     */
+    public String getDisplayString() {
+
+        return state.get().getDisplayString();
+    }
+
+    /**
+     * Registers a listener for display update events.  The listener is
+     * called with the new display whenever a button press changes it.
+     * 
+     * @param listener The listener to add.
+     */
+    public void addDisplayListener(Consumer<String> listener) {
+
+        displayListeners.add(listener);
+    }
+
+    /* (non-Javadoc)
+     * @see java.lang.Object#toString()
+     */
+    @Override
+    public String toString() {
+
+        return "ConcurrentCalculator [current display: "
+                + getDisplayString() + "]";
+    }
+
+    private CalculatorState update(UnaryOperator<CalculatorState> transition) {
+
+        CalculatorState previous;
+        CalculatorState next;
+        do {
+            previous = state.get();
+            next = transition.apply(previous);
+        } while (!state.compareAndSet(previous, next));
+
+        if (!displayListeners.isEmpty()) {
+            String display = next.getDisplayString();
+            if (!display.equals(previous.getDisplayString())) {
+                for (Consumer<String> listener : displayListeners) {
+                    listener.accept(display);
+                }
+            }
+        }
+        return next;
+    }
+}
@@ -0,0 +1,514 @@
+/**
+ * Copyright (C) 2026 David A Holmes Jr
+ * 
+ * This file is part of JToyCalc.
+ * 
+ * JToyCalc is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * JToyCalc is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with JToyCalc.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package us.dholmes.toycalc;
+
+import java.math.RoundingMode;
+
+import us.dholmes.toycalc.Calculator.Display;
+import us.dholmes.toycalc.Calculator.Operation;
+
+/**
+ * A calculator with a decimal point key and fixed-point arithmetic.  It
+ * otherwise behaves like {@link Calculator}: the same operation, "equals"
+ * and error behavior, and the same limit on the digits that can be
+ * entered.
+ * <p>
+ * Each number is a {@code long} scaled by ten to the number of fraction
+ * digits, so no objects are created as keys are pressed.  Products and
+ * quotients are computed exactly with 128-bit intermediates, then rounded
+ * to the fraction digits with the configured {@link RoundingMode}; a result
+ * that needs rounding under {@link RoundingMode#UNNECESSARY}, or that
+ * doesn't fit, is displayed as an error.  Unlike {@link Calculator}, results
+ * never wrap.
+ * <p>
+ * Entered numbers are displayed as typed, including trailing zeros; results
+ * are displayed without trailing fraction zeros.
+ */
+public final class DecimalCalculator extends AbstractCalculator {
+
+    /** The default number of fraction digits. */
+    public static final int DEFAULT_FRACTION_DIGITS = 4;
+
+    /** The largest supported number of fraction digits. */
+    public static final int MAX_FRACTION_DIGITS = 9;
+
+    private static final long[] POWERS_OF_TEN = new long[19];
+
+    static {
+        POWERS_OF_TEN[0] = 1;
+        for (int i = 1; i < POWERS_OF_TEN.length; i++) {
+            POWERS_OF_TEN[i] = POWERS_OF_TEN[i - 1] * 10;
+        }
+    }
+
+    private final int fractionDigits;
+    private final long scale;
+    private final RoundingMode roundingMode;
+    private final char[] displayChars = new char[32];
+
+    // All numbers are scaled by 10^fractionDigits.
+    private long accumulator = 0;
+    private long input = 0;
+    private int inputDigits = 0;
+    private int inputFractionDigits = -1;
+    private long storedOperand = 0;
+
+    /**
+     * Constructor.  Uses {@link #DEFAULT_FRACTION_DIGITS} fraction digits,
+     * rounding half up.
+     */
+    public DecimalCalculator() {
+
+        this(DEFAULT_FRACTION_DIGITS, RoundingMode.HALF_UP);
+    }
+
+    /**
+     * Constructor.
+     * 
+     * @param fractionDigits The number of digits kept after the decimal
+     *            point, from 0 to {@link #MAX_FRACTION_DIGITS}.
+     * @param roundingMode How results are rounded to the fraction digits.
+     */
+    public DecimalCalculator(int fractionDigits, RoundingMode roundingMode) {
+
+        if (fractionDigits < 0 || fractionDigits > MAX_FRACTION_DIGITS) {
+            throw new IllegalArgumentException("Invalid fraction digits: "
+                    + fractionDigits);
+        }
+        if (roundingMode == null) {
+            throw new NullPointerException("roundingMode");
+        }
+        this.fractionDigits = fractionDigits;
+        this.scale = POWERS_OF_TEN[fractionDigits];
+        this.roundingMode = roundingMode;
+    }
+
+    /**
+     * Press a digit button on the calculator.
+     * 
+     * @param digit The digit to press.
+     */
+    public void pressDigit(int digit) {
+
+        enterDigit(digit);
+        notifyDisplayListeners();
+    }
+
+    /**
+     * Press the decimal point button on the calculator.
+     */
+    public void pressPoint() {
+
+        enterPoint();
+        notifyDisplayListeners();
+    }
+
+    /**
+     * Press an operation button on the calculator (+-/*).
+     * 
+     * @param operation The operation to perform.
+     */
+    public void pressOperation(Operation operation) {
+
+        enterOperation(operation, true);
+        notifyDisplayListeners();
+    }
+
+    /**
+     * Press the "equals" button on the calculator.
+     */
+    public void pressEquals() {
+
+        enterEquals(true);
+        notifyDisplayListeners();
+    }
+
+    /**
+     * Press the button corresponding to a key character: any key accepted
+     * by {@link Calculator#pressKey(char)}, or '.'.
+     * 
+     * @param key The key to press.
+     * @throws IllegalArgumentException if the key is not recognized.
+     */
+    public void pressKey(char key) {
+
+        checkDecimalKey(key);
+        enterDecimalKey(key);
+        notifyDisplayListeners();
+    }
+
+    /**
+     * Press a sequence of keys, such as "1.5*2.25=", notifying the display
+     * listeners once at the end.
+     * 
+     * @param keys The keys to press.
+     * @throws IllegalArgumentException if any key is not recognized.  In that
+     *             case no keys are pressed.
+     * @see Calculator#pressAll(CharSequence)
+     */
+    public void pressAll(CharSequence keys) {
+
+        int length = keys.length();
+        for (int i = 0; i < length; i++) {
+            checkDecimalKey(keys.charAt(i));
+        }
+        if (length == 0) {
+            return;
+        }
+        for (int i = 0; i < length; i++) {
+            enterDecimalKey(keys.charAt(i));
+        }
+        notifyDisplayListeners();
+    }
+
+    /**
+     * Returns the currently-displayed number as a String.
+     * 
+     * @return The currently-displayed number as a String.
+     */
+    public String getDisplayString() {
+
+        if (error) {
+            return "error";
+        }
+        return new String(displayChars, 0, formatDisplay());
+    }
+
+    /**
+     * Returns the currently-displayed number, scaled by ten to the number of
+     * fraction digits.  For example, with two fraction digits 1.5 is 150.
+     * 
+     * @return The currently-displayed number, scaled.  Meaningless if
+     *         {@link #isError()} is true.
+     */
+    public long getScaledDisplayValue() {
+
+        return (currentDisplay == Display.Input) ? input : accumulator;
+    }
+
+    /**
+     * @return The number of digits kept after the decimal point.
+     */
+    public int getFractionDigits() {
+
+        return fractionDigits;
+    }
+
+    /**
+     * @return How results are rounded to the fraction digits.
+     */
+    public RoundingMode getRoundingMode() {
+
+        return roundingMode;
+    }
+
+    /* (non-Javadoc)
+     * @see java.lang.Object#toString()
+     */
+    @Override
+    public String toString() {
+
+        return "DecimalCalculator [current display: " + getDisplayString()
+                + "]";
+    }
+
+    private static void checkDecimalKey(char key) {
+
+        if (key != '.') {
+            checkKey(key);
+        }
+    }
+
+    private void enterDecimalKey(char key) {
+
+        if (key == '.') {
+            enterPoint();
+        } else {
+            enterKey(key, true);
+        }
+    }
+
+    private void enterPoint() {
+
+        startInput();
+        if (inputFractionDigits < 0) {
+            inputFractionDigits = 0;
+        }
+    }
+
+    /* (non-Javadoc)
+     * @see us.dholmes.toycalc.AbstractCalculator#appendDigit(int)
+     */
+    @Override
+    void appendDigit(int digit) {
+
+        if (inputDigits == Calculator.MAX_DIGITS) {
+            return;
+        }
+        if (inputFractionDigits < 0) {
+            input = input * 10 + digit * scale;
+            if (input != 0) {
+                inputDigits++;
+            }
+        } else if (inputFractionDigits < fractionDigits) {
+            inputFractionDigits++;
+            input += digit
+                    * POWERS_OF_TEN[fractionDigits - inputFractionDigits];
+            inputDigits++;
+        }
+    }
+
+    /* (non-Javadoc)
+     * @see us.dholmes.toycalc.AbstractCalculator#performOperation(boolean)
+     */
+    @Override
+    void performOperation(boolean builtInOnly) {
+
+        long a = accumulator;
+        long b = input;
+        long result;
+        switch ((Operation) currentOperation) {
+        case Add:
+            result = a + b;
+            if (((a ^ result) & (b ^ result)) < 0) {
+                result = Long.MIN_VALUE;
+            }
+            break;
+        case Subtract:
+            result = a - b;
+            if (((a ^ b) & (a ^ result)) < 0) {
+                result = Long.MIN_VALUE;
+            }
+            break;
+        case Multiply:
+            result = multiply(a, b);
+            break;
+        case Divide:
+            if (b == 0) {
+                error = true;
+                return;
+            }
+            result = divide(a, b);
+            break;
+        default:
+            result = b;
+            break;
+        }
+        // Long.MIN_VALUE, which has no positive counterpart, marks results
+        // that overflow or can't be rounded.
+        if (result == Long.MIN_VALUE) {
+            error = true;
+        } else {
+            accumulator = result;
+        }
+    }
+
+    /**
+     * Returns a * b / scale, rounded, or Long.MIN_VALUE if it doesn't fit.
+     */
+    private long multiply(long a, long b) {
+
+        long magnitudeA = Math.abs(a);
+        long magnitudeB = Math.abs(b);
+        long high = Math.multiplyHigh(magnitudeA, magnitudeB);
+        long low = magnitudeA * magnitudeB;
+        return divideRounded(high, low, scale, (a ^ b) < 0);
+    }
+
+    /**
+     * Returns a * scale / b, rounded, or Long.MIN_VALUE if it doesn't fit.
+     */
+    private long divide(long a, long b) {
+
+        long magnitudeA = Math.abs(a);
+        long high = Math.multiplyHigh(magnitudeA, scale);
+        long low = magnitudeA * scale;
+        return divideRounded(high, low, Math.abs(b), (a ^ b) < 0);
+    }
+
+    /**
+     * Divides an unsigned 128-bit magnitude by a positive divisor and rounds
+     * the quotient with the rounding mode, giving it the requested sign.
+     * The magnitudes passed in are below 2^63, since Long.MIN_VALUE never
+     * appears in a register.
+     * 
+     * @return The signed, rounded quotient, or Long.MIN_VALUE if it doesn't
+     *         fit or rounding is necessary but not allowed.
+     */
+    private long divideRounded(long high, long low, long divisor,
+            boolean negative) {
+
+        if (Long.compareUnsigned(high, divisor) >= 0) {
+            return Long.MIN_VALUE;
+        }
+        long quotient;
+        long remainder;
+        if (high == 0) {
+            quotient = Long.divideUnsigned(low, divisor);
+            remainder = Long.remainderUnsigned(low, divisor);
+        } else {
+            // Shift-subtract long division; only reached when the product is
+            // wider than 64 bits.
+            quotient = 0;
+            remainder = high;
+            for (int bit = 63; bit >= 0; bit--) {
+                boolean carry = remainder < 0;
+                remainder = (remainder << 1) | ((low >>> bit) & 1);
+                quotient <<= 1;
+                if (carry || Long.compareUnsigned(remainder, divisor) >= 0) {
+                    remainder -= divisor;
+                    quotient |= 1;
+                }
+            }
+        }
+        if (remainder != 0) {
+            if (roundingMode == RoundingMode.UNNECESSARY) {
+                return Long.MIN_VALUE;
+            }
+            if (roundUp(quotient, remainder, divisor, negative)) {
+                quotient++;
+            }
+        }
+        if (quotient < 0) {
+            return Long.MIN_VALUE;
+        }
+        return negative ? -quotient : quotient;
+    }
+
+    /**
+     * Returns whether a truncated magnitude should be rounded away from zero,
+     * given a nonzero remainder.
+     */
+    private boolean roundUp(long quotient, long remainder, long divisor,
+            boolean negative) {
+
+        // Compare the remainder with half the divisor without overflowing.
+        int half = Long.compareUnsigned(remainder, divisor - remainder);
+        switch (roundingMode) {
+        case UP:
+            return true;
+        case DOWN:
+            return false;
+        case CEILING:
+            return !negative;
+        case FLOOR:
+            return negative;
+        case HALF_UP:
+            return half >= 0;
+        case HALF_DOWN:
+            return half > 0;
+        default:
+            return half > 0 || (half == 0 && (quotient & 1) != 0);
+        }
+    }
+
+    /* (non-Javadoc)
+     * @see us.dholmes.toycalc.AbstractCalculator#clearInput()
+     */
+    @Override
+    void clearInput() {
+
+        input = 0;
+        inputDigits = 0;
+        inputFractionDigits = -1;
+    }
+
+    /* (non-Javadoc)
+     * @see us.dholmes.toycalc.AbstractCalculator#recallStoredOperand()
+     */
+    @Override
+    void recallStoredOperand() {
+
+        input = storedOperand;
+    }
+
+    /* (non-Javadoc)
+     * @see us.dholmes.toycalc.AbstractCalculator#storeOperand()
+     */
+    @Override
+    void storeOperand() {
+
+        storedOperand = input;
+    }
+
+    /* (non-Javadoc)
+     * @see us.dholmes.toycalc.AbstractCalculator#clearNumbers()
+     */
+    @Override
+    void clearNumbers() {
+
+        accumulator = 0;
+        clearInput();
+        storedOperand = 0;
+    }
+
+    /**
+     * Formats the displayed number into the display characters.
+     * 
+     * @return The number of characters.
+     */
+    private int formatDisplay() {
+
+        boolean displayingInput = currentDisplay == Display.Input;
+        long value = displayingInput ? input : accumulator;
+        long magnitude = Math.abs(value);
+        long integer = magnitude / scale;
+        long fraction = magnitude % scale;
+
+        // Entered numbers show the fraction digits typed; results drop
+        // trailing zeros.
+        int shownFractionDigits;
+        if (displayingInput) {
+            shownFractionDigits = inputFractionDigits;
+        } else {
+            shownFractionDigits = fractionDigits;
+            while (shownFractionDigits > 0 && fraction % 10 == 0) {
+                fraction /= 10;
+                shownFractionDigits--;
+            }
+            if (shownFractionDigits == 0) {
+                shownFractionDigits = -1;
+            }
+        }
+        if (displayingInput && shownFractionDigits >= 0) {
+            fraction /= POWERS_OF_TEN[fractionDigits - shownFractionDigits];
+        }
+
+        // Write the number backwards from the end of the buffer.
+        int position = displayChars.length;
+        for (int i = 0; i < shownFractionDigits; i++) {
+            displayChars[--position] = (char) ('0' + fraction % 10);
+            fraction /= 10;
+        }
+        if (shownFractionDigits >= 0) {
+            displayChars[--position] = '.';
+        }
+        do {
+            displayChars[--position] = (char) ('0' + integer % 10);
+            integer /= 10;
+        } while (integer != 0);
+        if (value < 0) {
+            displayChars[--position] = '-';
+        }
+
+        int length = displayChars.length - position;
+        System.arraycopy(displayChars, position, displayChars, 0, length);
+        return length;
+    }
+}
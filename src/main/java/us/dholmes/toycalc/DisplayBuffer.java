@@ -0,0 +1,150 @@
+/**
+ * Copyright (C) 2026 David A Holmes Jr
+ * 
+ * This file is part of JToyCalc.
+ * 
+ * JToyCalc is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * JToyCalc is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with JToyCalc.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package us.dholmes.toycalc;
+
+/**
+ * A reusable, mutable text buffer holding a formatted calculator display.
+ * Formatting a number into the buffer does not allocate, so callers that
+ * need the display as text can avoid creating a String per update.
+ * <p>
+ * The contents change whenever the buffer is reformatted, so callers should
+ * copy anything they need to keep (for example with {@link #toString()}).
+ */
+public final class DisplayBuffer implements CharSequence {
+
+    private static final char[] ERROR = "error".toCharArray();
+
+    /**
+     * The length of the longest display: any long, including the sign of
+     * {@link Long#MIN_VALUE}.
+     */
+    static final int MAX_LENGTH = 20;
+
+    private final char[] chars = new char[MAX_LENGTH];
+    private int start = chars.length - 1;
+
+    /**
+     * Constructor.  The buffer initially contains "0".
+     */
+    public DisplayBuffer() {
+
+        chars[start] = '0';
+    }
+
+    /**
+     * Formats a display value into the buffer, replacing its contents.
+     * 
+     * @param value The number to format.
+     * @param error Whether to show an error instead of the number.
+     */
+    void set(long value, boolean error) {
+
+        if (error) {
+            start = chars.length - ERROR.length;
+            System.arraycopy(ERROR, 0, chars, start, ERROR.length);
+            return;
+        }
+
+        // Work with the negative magnitude so that Long.MIN_VALUE fits.
+        long remaining = (value < 0) ? value : -value;
+        int pos = chars.length;
+        do {
+            chars[--pos] = (char) ('0' - (remaining % 10));
+            remaining /= 10;
+        } while (remaining != 0);
+        if (value < 0) {
+            chars[--pos] = '-';
+        }
+        start = pos;
+    }
+
+    /* (non-Javadoc)
+     * @see java.lang.CharSequence#length()
+     */
+    @Override
+    public int length() {
+
+        return chars.length - start;
+    }
+
+    /* (non-Javadoc)
+     * @see java.lang.CharSequence#charAt(int)
+     */
+    @Override
+    public char charAt(int index) {
+
+        if (index < 0 || index >= length()) {
+            throw new IndexOutOfBoundsException("index " + index
+                    + ", length " + length());
+        }
+        return chars[start + index];
+    }
+
+    /* (non-Javadoc)
+     * @see java.lang.CharSequence#subSequence(int, int)
+     */
+    @Override
+    public CharSequence subSequence(int begin, int end) {
+
+        return toString().subSequence(begin, end);
+    }
+
+    /**
+     * Copies the buffer contents into an array.
+     * 
+     * @param destination The array to copy into.
+     * @param offset The index in the array to copy the first character to.
+     * @return The number of characters copied.
+     */
+    public int getChars(char[] destination, int offset) {
+
+        int length = length();
+        System.arraycopy(chars, start, destination, offset, length);
+        return length;
+    }
+
+    /**
+     * Returns whether the buffer contains the given text.
+     * 
+     * @param text The text to compare against.
+     * @return true if the buffer contents equal the text.
+     */
+    public boolean contentEquals(CharSequence text) {
+
+        int length = length();
+        if (text.length() != length) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            if (chars[start + i] != text.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /* (non-Javadoc)
+     * @see java.lang.Object#toString()
+     */
+    @Override
+    public String toString() {
+
+        return new String(chars, start, length());
+    }
+}
@@ -0,0 +1,53 @@
+/**
+ * Copyright (C) 2026 David A Holmes Jr
+ * 
+ * This file is part of JToyCalc.
+ * 
+ * JToyCalc is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * JToyCalc is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with JToyCalc.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package us.dholmes.toycalc;
+
+/**
+ * An immutable display value and error flag, so that a display can be
+ * handed between threads through a single volatile field and never be read
+ * as a value from one update and a flag from another.
+ */
+final class DisplaySnapshot {
+
+    /** The initial display, "0". */
+    static final DisplaySnapshot ZERO = new DisplaySnapshot(0, false);
+    /** The error display; its value is meaningless. */
+    static final DisplaySnapshot ERROR = new DisplaySnapshot(0, true);
+
+    final long value;
+    final boolean error;
+
+    private DisplaySnapshot(long value, boolean error) {
+
+        this.value = value;
+        this.error = error;
+    }
+
+    /**
+     * Returns a snapshot of a display.  Errors share a single instance.
+     * 
+     * @param value The number displayed.
+     * @param error Whether an error is displayed instead of the number.
+     * @return The snapshot.
+     */
+    static DisplaySnapshot of(long value, boolean error) {
+
+        return error ? ERROR : new DisplaySnapshot(value, false);
+    }
+}
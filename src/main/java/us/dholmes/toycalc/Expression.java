@@ -0,0 +1,39 @@
+/**
+ * Copyright (C) 2026 David A Holmes Jr
+ * 
+ * This file is part of JToyCalc.
+ * 
+ * JToyCalc is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * JToyCalc is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with JToyCalc.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package us.dholmes.toycalc;
+
+/**
+ * A parsed arithmetic expression.  Expressions are immutable and may be
+ * evaluated any number of times from any thread.
+ * 
+ * @see ExpressionEvaluator
+ */
+@FunctionalInterface
+public interface Expression {
+
+    /**
+     * Evaluates the expression with the same {@code long} arithmetic as
+     * {@link Calculator}.
+     * 
+     * @return The value of the expression.
+     * @throws ArithmeticException when the expression divides by zero, which
+     *             the calculator displays as an error.
+     */
+    long evaluate();
+}
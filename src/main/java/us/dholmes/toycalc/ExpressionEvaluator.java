@@ -0,0 +1,121 @@
+/**
+ * Copyright (C) 2026 David A Holmes Jr
+ * 
+ * This file is part of JToyCalc.
+ * 
+ * JToyCalc is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * JToyCalc is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with JToyCalc.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package us.dholmes.toycalc;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Evaluates infix arithmetic expressions such as {@code (12+3)*7/2} with the
+ * same {@code long} arithmetic and divide-by-zero behavior as
+ * {@link Calculator}.  Parsed expressions are kept in a bounded
+ * least-recently-used cache, so evaluating a repeated expression skips the
+ * parse.  This class is thread-safe.
+ */
+public final class ExpressionEvaluator {
+
+    /** The default number of parsed expressions to cache. */
+    public static final int DEFAULT_CACHE_SIZE = 4096;
+
+    private final Map<String, Expression> cache;
+
+    /**
+     * Constructor.  Caches up to {@link #DEFAULT_CACHE_SIZE} expressions.
+     */
+    public ExpressionEvaluator() {
+
+        this(DEFAULT_CACHE_SIZE);
+    }
+
+    /**
+     * Constructor.
+     * 
+     * @param cacheSize The maximum number of parsed expressions to cache, or
+     *            0 to disable caching.
+     */
+    public ExpressionEvaluator(int cacheSize) {
+
+        if (cacheSize < 0) {
+            throw new IllegalArgumentException("Negative cache size: "
+                    + cacheSize);
+        }
+        cache = new LinkedHashMap<String, Expression>(16, 0.75f, true) {
+
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(
+                    Map.Entry<String, Expression> eldest) {
+
+                return size() > cacheSize;
+            }
+        };
+    }
+
+    /**
+     * Evaluates an expression.
+     * 
+     * @param text The expression to evaluate.
+     * @return The value of the expression.
+     * @throws IllegalArgumentException if the expression is malformed.
+     * @throws ArithmeticException when the expression divides by zero, which
+     *             the calculator displays as an error.
+     */
+    public long evaluate(String text) {
+
+        return parse(text).evaluate();
+    }
+
+    /**
+     * Parses an expression, or returns the cached parse of a previously seen
+     * expression.
+     * 
+     * @param text The expression to parse.
+     * @return The parsed expression.
+     * @throws IllegalArgumentException if the expression is malformed.
+     */
+    public Expression parse(String text) {
+
+        Expression expression;
+        synchronized (cache) {
+            expression = cache.get(text);
+        }
+        if (expression == null) {
+            // Parse outside the lock; a racing thread may parse the same text
+            // too, which is harmless.
+            expression = ExpressionParser.parse(text);
+            synchronized (cache) {
+                cache.put(text, expression);
+            }
+        }
+        return expression;
+    }
+
+    /**
+     * Returns the number of cached expressions.
+     * 
+     * @return The number of cached expressions.
+     */
+    public int getCacheSize() {
+
+        synchronized (cache) {
+            return cache.size();
+        }
+    }
+}
@@ -0,0 +1,324 @@
+/**
+ * Copyright (C) 2026 David A Holmes Jr
+ * 
+ * This file is part of JToyCalc.
+ * 
+ * JToyCalc is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * JToyCalc is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with JToyCalc.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package us.dholmes.toycalc;
+
+import java.util.Arrays;
+
+import us.dholmes.toycalc.Calculator.Operation;
+
+/**
+ * Operator-precedence parser for infix arithmetic expressions such as
+ * {@code (12+3)*7/2}.  The grammar is:
+ * 
+ * <pre>
+ * expression := term (('+' | '-') term)*
+ * term       := unary (('*' | '/') unary)*
+ * unary      := ('+' | '-') unary | primary
+ * primary    := number | '(' expression ')'
+ * </pre>
+ * 
+ * The calculator's button symbols &times; and &divide; are accepted for
+ * multiplication and division, and whitespace is ignored.
+ * <p>
+ * Expressions are compiled to postfix code with an explicit operator stack
+ * and evaluated with a loop, so neither parsing nor evaluation recurses:
+ * long sums and deep nesting are limited only by the length of the text.
+ */
+final class ExpressionParser {
+
+    // Postfix instructions
+    private static final byte PUSH = 0;
+    private static final byte NEGATE = 1;
+    private static final byte ADD = 2;
+    private static final byte SUBTRACT = 3;
+    private static final byte MULTIPLY = 4;
+    private static final byte DIVIDE = 5;
+    /** Marks an open parenthesis on the operator stack; never emitted. */
+    private static final byte OPEN = 6;
+
+    private final String text;
+    private int pos = 0;
+
+    // Compiled output
+    private byte[] code;
+    private int codeLength;
+    private long[] constants;
+    private int constantCount;
+    private int depth;
+    private int maxDepth;
+
+    // Pending operators
+    private final byte[] operators;
+    private int operatorCount;
+
+    private ExpressionParser(String text) {
+
+        this.text = text;
+        code = new byte[16];
+        constants = new long[8];
+        // Every pending operator consumed at least one character
+        operators = new byte[text.length()];
+    }
+
+    /**
+     * Parses an expression.
+     * 
+     * @param text The expression to parse.
+     * @return The parsed expression.
+     * @throws IllegalArgumentException if the expression is malformed.
+     */
+    static Expression parse(String text) {
+
+        ExpressionParser parser = new ExpressionParser(text);
+        parser.compile();
+        return new Postfix(Arrays.copyOf(parser.code, parser.codeLength),
+                Arrays.copyOf(parser.constants, parser.constantCount),
+                parser.maxDepth);
+    }
+
+    private void compile() {
+
+        boolean expectOperand = true;
+        while (true) {
+            int c = peek();
+            if (expectOperand) {
+                if (c == '(') {
+                    pos++;
+                    operators[operatorCount++] = OPEN;
+                } else if (c == '+') {
+                    pos++;
+                } else if (c == '-') {
+                    pos++;
+                    operators[operatorCount++] = NEGATE;
+                } else if (c >= '0' && c <= '9') {
+                    pushConstant(parseNumber());
+                    expectOperand = false;
+                } else {
+                    throw error((c == -1) ? "Unexpected end of expression"
+                            : "Unexpected '" + (char) c + "'");
+                }
+                continue;
+            }
+
+            byte operator = binaryOperator(c);
+            if (operator >= 0) {
+                pos++;
+                int precedence = precedence(operator);
+                while (operatorCount > 0
+                        && operators[operatorCount - 1] != OPEN
+                        && precedence(operators[operatorCount - 1])
+                                >= precedence) {
+                    emit(operators[--operatorCount]);
+                }
+                operators[operatorCount++] = operator;
+                expectOperand = true;
+            } else if (c == ')') {
+                while (operatorCount > 0
+                        && operators[operatorCount - 1] != OPEN) {
+                    emit(operators[--operatorCount]);
+                }
+                if (operatorCount == 0) {
+                    throw error("Unexpected ')'");
+                }
+                operatorCount--;
+                pos++;
+            } else if (c == -1) {
+                while (operatorCount > 0) {
+                    byte pending = operators[--operatorCount];
+                    if (pending == OPEN) {
+                        throw error("Expected ')'");
+                    }
+                    emit(pending);
+                }
+                return;
+            } else {
+                throw error("Unexpected '" + (char) c + "'");
+            }
+        }
+    }
+
+    private static byte binaryOperator(int c) {
+
+        switch (c) {
+        case '+':
+            return ADD;
+        case '-':
+            return SUBTRACT;
+        case '*':
+        case '\u00d7':
+            return MULTIPLY;
+        case '/':
+        case '\u00f7':
+            return DIVIDE;
+        default:
+            return -1;
+        }
+    }
+
+    private static int precedence(byte operator) {
+
+        switch (operator) {
+        case ADD:
+        case SUBTRACT:
+            return 0;
+        case MULTIPLY:
+        case DIVIDE:
+            return 1;
+        default:
+            return 2;
+        }
+    }
+
+    private long parseNumber() {
+
+        int start = pos;
+        long value = 0;
+        while (pos < text.length() && text.charAt(pos) >= '0'
+                && text.charAt(pos) <= '9') {
+            try {
+                value = Math.addExact(Math.multiplyExact(value, 10),
+                        text.charAt(pos) - '0');
+            } catch (ArithmeticException e) {
+                pos = start;
+                throw error("Number too large");
+            }
+            pos++;
+        }
+        return value;
+    }
+
+    private void pushConstant(long value) {
+
+        if (constantCount == constants.length) {
+            constants = Arrays.copyOf(constants, constantCount * 2);
+        }
+        constants[constantCount++] = value;
+        emit(PUSH);
+    }
+
+    private void emit(byte instruction) {
+
+        if (codeLength == code.length) {
+            code = Arrays.copyOf(code, codeLength * 2);
+        }
+        code[codeLength++] = instruction;
+        if (instruction == PUSH) {
+            maxDepth = Math.max(maxDepth, ++depth);
+        } else if (instruction != NEGATE) {
+            depth--;
+        }
+    }
+
+    /**
+     * Skips whitespace and returns the next character without consuming it,
+     * or -1 at the end of the text.
+     */
+    private int peek() {
+
+        while (pos < text.length() && Character.isWhitespace(text.charAt(pos))) {
+            pos++;
+        }
+        return (pos < text.length()) ? text.charAt(pos) : -1;
+    }
+
+    private IllegalArgumentException error(String message) {
+
+        return new IllegalArgumentException(message + " at position " + pos
+                + " in \"" + text + "\"");
+    }
+
+    /**
+     * A compiled expression: postfix code over a stack of numbers.
+     */
+    private static final class Postfix implements Expression {
+
+        private final byte[] code;
+        private final long[] constants;
+        private final int maxDepth;
+
+        Postfix(byte[] code, long[] constants, int maxDepth) {
+
+            this.code = code;
+            this.constants = constants;
+            this.maxDepth = maxDepth;
+        }
+
+        @Override
+        public long evaluate() {
+
+            long[] stack = new long[maxDepth];
+            int top = -1;
+            int next = 0;
+            for (byte instruction : code) {
+                switch (instruction) {
+                case PUSH:
+                    stack[++top] = constants[next++];
+                    break;
+                case NEGATE:
+                    stack[top] = Operation.Subtract.apply(0, stack[top]);
+                    break;
+                default:
+                    long input = stack[top--];
+                    stack[top] = operation(instruction).apply(stack[top],
+                            input);
+                    break;
+                }
+            }
+            return stack[0];
+        }
+
+        private static Operation operation(byte instruction) {
+
+            switch (instruction) {
+            case ADD:
+                return Operation.Add;
+            case SUBTRACT:
+                return Operation.Subtract;
+            case MULTIPLY:
+                return Operation.Multiply;
+            default:
+                return Operation.Divide;
+            }
+        }
+
+        @Override
+        public String toString() {
+
+            StringBuilder builder = new StringBuilder();
+            int next = 0;
+            for (byte instruction : code) {
+                if (builder.length() > 0) {
+                    builder.append(' ');
+                }
+                switch (instruction) {
+                case PUSH:
+                    builder.append(constants[next++]);
+                    break;
+                case NEGATE:
+                    builder.append("neg");
+                    break;
+                default:
+                    builder.append(operation(instruction));
+                    break;
+                }
+            }
+            return builder.toString();
+        }
+    }
+}
@@ -0,0 +1,254 @@
+/**
+ * Copyright (C) 2026 David A Holmes Jr
+ * 
+ * This file is part of JToyCalc.
+ * 
+ * JToyCalc is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * JToyCalc is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with JToyCalc.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package us.dholmes.toycalc;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.reflect.Method;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.NoSuchElementException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * Headless JToyCalc application that serves calculator sessions over HTTP.
+ * <ul>
+ * <li>{@code POST /sessions} creates a session and responds with its ID.</li>
+ * <li>{@code GET /sessions/<id>} responds with the session's display.</li>
+ * <li>{@code POST /sessions/<id>} presses the keys in the request body, such
+ * as {@code 12+34*5=}, and responds with the new display.</li>
+ * <li>{@code DELETE /sessions/<id>} closes the session.</li>
+ * </ul>
+ * Sessions are hosted by a {@link SessionEngine} and closed after they have
+ * been idle for a while.  Each request is handled on its own virtual thread
+ * when the JVM supports them.
+ */
+public final class HttpCalculator {
+
+    private static final String SESSIONS_PATH = "/sessions";
+    private static final String SESSION_PREFIX = SESSIONS_PATH + "/";
+    private static final String NODELAY_PROPERTY = "sun.net.httpserver.nodelay";
+
+    private final SessionEngine engine = new SessionEngine();
+    private final AtomicLong nextSessionId = new AtomicLong(1);
+    private final HttpServer server;
+    private final ExecutorService requestExecutor;
+    private final ScheduledExecutorService evictionExecutor;
+
+    /**
+     * Constructor.  Starts serving immediately.
+     * 
+     * @param port The port to listen on.
+     * @param idleTimeout The time after which idle sessions are closed.
+     * @param unit The unit of the idle timeout.
+     * @throws IOException when the server socket can't be opened.
+     */
+    public HttpCalculator(int port, long idleTimeout, TimeUnit unit)
+            throws IOException {
+
+        // Small request/response pairs otherwise stall on Nagle's algorithm
+        // and delayed ACKs.  Must be set before the server is first created.
+        if (System.getProperty(NODELAY_PROPERTY) == null) {
+            System.setProperty(NODELAY_PROPERTY, "true");
+        }
+        server = HttpServer.create(new InetSocketAddress(port), 0);
+        server.createContext(SESSIONS_PATH, this::handle);
+        requestExecutor = newThreadPerTaskExecutor();
+        server.setExecutor(requestExecutor);
+
+        evictionExecutor = Executors.newSingleThreadScheduledExecutor(
+                (Runnable r) -> {
+                    Thread thread = new Thread(r, "session-eviction");
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        long period = Math.max(1, unit.toMillis(idleTimeout) / 2);
+        evictionExecutor.scheduleAtFixedRate(
+                () -> engine.evictIdle(idleTimeout, unit), period, period,
+                TimeUnit.MILLISECONDS);
+
+        server.start();
+    }
+
+    /**
+     * Returns the port the server is listening on.
+     * 
+     * @return The port the server is listening on.
+     */
+    public int getPort() {
+
+        return server.getAddress().getPort();
+    }
+
+    /**
+     * Stops the server and closes all sessions.
+     */
+    public void stop() {
+
+        server.stop(0);
+        evictionExecutor.shutdownNow();
+        requestExecutor.shutdown();
+        engine.close();
+    }
+
+    /**
+     * Creates an executor that runs each task on a new virtual thread, or on
+     * a pooled platform thread if the JVM doesn't support virtual threads.
+     * 
+     * @return The new executor.
+     */
+    static ExecutorService newThreadPerTaskExecutor() {
+
+        try {
+            Method factory = Executors.class
+                    .getMethod("newVirtualThreadPerTaskExecutor");
+            return (ExecutorService) factory.invoke(null);
+        } catch (ReflectiveOperationException e) {
+            return Executors.newCachedThreadPool();
+        }
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+
+        try {
+            String path = exchange.getRequestURI().getPath();
+            String method = exchange.getRequestMethod();
+            if (path.equals(SESSIONS_PATH) || path.equals(SESSION_PREFIX)) {
+                if (method.equals("POST")) {
+                    long sessionId = nextSessionId.getAndIncrement();
+                    await(engine.open(sessionId));
+                    respond(exchange, 201, Long.toString(sessionId));
+                } else {
+                    respond(exchange, 405, "Method not allowed");
+                }
+                return;
+            }
+
+            long sessionId = parseSessionId(path);
+            if (sessionId < 0) {
+                respond(exchange, 404, "Not found");
+                return;
+            }
+
+            switch (method) {
+            case "GET":
+                respond(exchange, 200, await(engine.execute(sessionId,
+                        Calculator::getDisplayString)));
+                break;
+            case "POST":
+                String keys = new String(
+                        exchange.getRequestBody().readAllBytes(),
+                        StandardCharsets.US_ASCII).trim();
+                respond(exchange, 200, await(engine.submit(sessionId, keys)));
+                break;
+            case "DELETE":
+                boolean closed = await(engine.close(sessionId));
+                respond(exchange, closed ? 204 : 404, null);
+                break;
+            default:
+                respond(exchange, 405, "Method not allowed");
+                break;
+            }
+        } catch (NoSuchElementException e) {
+            respond(exchange, 404, "No such session");
+        } catch (IllegalArgumentException e) {
+            respond(exchange, 400, e.getMessage());
+        } catch (RuntimeException e) {
+            // For example the engine shutting down, or an interrupted wait.
+            respond(exchange, 500, "Internal server error");
+        } finally {
+            exchange.close();
+        }
+    }
+
+    /**
+     * Returns the session ID named by a {@code /sessions/<id>} path, or -1 if
+     * the path doesn't name one.  The server context also matches paths such
+     * as {@code /sessionsX1}, which don't.
+     */
+    private static long parseSessionId(String path) {
+
+        if (!path.startsWith(SESSION_PREFIX)) {
+            return -1;
+        }
+        try {
+            long sessionId = Long.parseLong(
+                    path.substring(SESSION_PREFIX.length()));
+            return (sessionId < 0) ? -1 : sessionId;
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    private static <T> T await(CompletableFuture<T> future) {
+
+        try {
+            return future.get();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static void respond(HttpExchange exchange, int status,
+            String body) throws IOException {
+
+        if (body == null) {
+            exchange.sendResponseHeaders(status, -1);
+            return;
+        }
+        byte[] bytes = body.getBytes(StandardCharsets.US_ASCII);
+        exchange.getResponseHeaders().set("Content-Type", "text/plain");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    /**
+     * @param args Command-line arguments: the port to listen on (default
+     *            8080) and the session idle timeout in seconds (default 300).
+     * @throws IOException when the server socket can't be opened.
+     */
+    public static void main(String[] args) throws IOException {
+
+        int port = (args.length > 0) ? Integer.parseInt(args[0]) : 8080;
+        long idleSeconds = (args.length > 1) ? Long.parseLong(args[1]) : 300;
+
+        HttpCalculator calculator = new HttpCalculator(port, idleSeconds,
+                TimeUnit.SECONDS);
+        System.out.println("JToyCalc listening on port "
+                + calculator.getPort());
+        Launcher.displayShown();
+    }
+}
@@ -0,0 +1,156 @@
+/**
+ * Copyright (C) 2026 David A Holmes Jr
+ * 
+ * This file is part of JToyCalc.
+ * 
+ * JToyCalc is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * JToyCalc is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with JToyCalc.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package us.dholmes.toycalc;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Load generator for {@link HttpCalculator}.  Each client creates its own
+ * session and then posts the same key tape repeatedly for a fixed time,
+ * recording the latency of every request.  Prints the overall request rate
+ * and latency percentiles.
+ */
+public final class HttpLoadGenerator {
+
+    /**
+     * Private constructor to prevent instantiation.
+     */
+    private HttpLoadGenerator() {
+
+    }
+
+    private static long[] runClient(String baseUrl, byte[] keys,
+            long deadline) throws IOException {
+
+        String sessionUrl = baseUrl + "/sessions/"
+                + request(baseUrl + "/sessions", "POST", null);
+
+        long[] latencies = new long[1024];
+        int count = 0;
+        while (System.nanoTime() < deadline) {
+            long start = System.nanoTime();
+            request(sessionUrl, "POST", keys);
+            if (count == latencies.length) {
+                latencies = Arrays.copyOf(latencies, count * 2);
+            }
+            latencies[count++] = System.nanoTime() - start;
+        }
+
+        request(sessionUrl, "DELETE", null);
+        return Arrays.copyOf(latencies, count);
+    }
+
+    private static String request(String url, String method, byte[] body)
+            throws IOException {
+
+        HttpURLConnection connection =
+                (HttpURLConnection) new URL(url).openConnection();
+        connection.setRequestMethod(method);
+        if (body != null) {
+            connection.setDoOutput(true);
+            try (OutputStream out = connection.getOutputStream()) {
+                out.write(body);
+            }
+        }
+        int status = connection.getResponseCode();
+        if (status >= 400) {
+            throw new IOException(method + " " + url + " failed: " + status);
+        }
+        // Read the whole response so the connection can be reused.
+        ByteArrayOutputStream response = new ByteArrayOutputStream();
+        try (InputStream in = connection.getInputStream()) {
+            byte[] buffer = new byte[256];
+            int n;
+            while ((n = in.read(buffer)) > 0) {
+                response.write(buffer, 0, n);
+            }
+        }
+        return new String(response.toByteArray(), StandardCharsets.US_ASCII);
+    }
+
+    private static double millis(long nanos) {
+
+        return nanos / 1_000_000.0;
+    }
+
+    /**
+     * @param args Command-line arguments: the server URL (default
+     *            http://localhost:8080), the number of concurrent clients
+     *            (default 64), the run time in seconds (default 10) and the
+     *            key tape to post (default "12+34*5=").
+     * @throws Exception when a client fails.
+     */
+    public static void main(String[] args) throws Exception {
+
+        String baseUrl = (args.length > 0) ? args[0] : "http://localhost:8080";
+        int clients = (args.length > 1) ? Integer.parseInt(args[1]) : 64;
+        long seconds = (args.length > 2) ? Long.parseLong(args[2]) : 10;
+        byte[] keys = ((args.length > 3) ? args[3] : "12+34*5=")
+                .getBytes(StandardCharsets.US_ASCII);
+
+        ExecutorService executor = HttpCalculator.newThreadPerTaskExecutor();
+        long start = System.nanoTime();
+        long deadline = start + TimeUnit.SECONDS.toNanos(seconds);
+        List<Future<long[]>> results = new ArrayList<>();
+        for (int i = 0; i < clients; i++) {
+            results.add(executor.submit(
+                    () -> runClient(baseUrl, keys, deadline)));
+        }
+
+        List<long[]> clientLatencies = new ArrayList<>();
+        int total = 0;
+        for (Future<long[]> result : results) {
+            long[] latencies = result.get();
+            clientLatencies.add(latencies);
+            total += latencies.length;
+        }
+        long elapsed = System.nanoTime() - start;
+        executor.shutdown();
+
+        long[] all = new long[total];
+        int pos = 0;
+        for (long[] latencies : clientLatencies) {
+            System.arraycopy(latencies, 0, all, pos, latencies.length);
+            pos += latencies.length;
+        }
+        Arrays.sort(all);
+
+        System.out.printf("%d requests from %d clients in %.1f s%n", total,
+                clients, elapsed / 1e9);
+        if (total > 0) {
+            System.out.printf("%.0f requests/s%n", total / (elapsed / 1e9));
+            System.out.printf("latency p50 %.3f ms, p99 %.3f ms, max %.3f ms%n",
+                    millis(all[(int) (total * 0.50)]),
+                    millis(all[(int) (total * 0.99)]),
+                    millis(all[total - 1]));
+        }
+    }
+}
@@ -35,7 +35,6 @@ import javafx.scene.layout.GridPane;
 import javafx.scene.layout.Priority;
 import javafx.scene.text.Font;
 import javafx.stage.Stage;
-import us.dholmes.toycalc.Calculator.Operation;
 
 /**
  * JavaFX JToyCalc application.
@@ -61,12 +60,16 @@ public final class JavaFxCalculator extends Application {
         displayLabel.setAlignment(Pos.CENTER_RIGHT);
         displayLabel.setMaxWidth(Double.MAX_VALUE);
         displayLabel.setMaxHeight(Double.MAX_VALUE);
-        calculator.addDisplayListener((String s) -> displayLabel.setText(s));
+        JavaFxDisplayAdapter displayAdapter =
+                new JavaFxDisplayAdapter(displayLabel);
+        calculator.addNumericDisplayListener(displayAdapter);
+        displayAdapter.start();
         addNodeWithConstraints(grid, displayLabel, 1, 1, 4, 1);
 
+        KeyDispatcher dispatcher = new KeyDispatcher(calculator);
         List<Button> digitButtons = new ArrayList<>();
         for (int i = 0; i <= 9; i++) {
-            digitButtons.add(createDigitButton(i, calculator));
+            digitButtons.add(createKeyButton("" + i, i, dispatcher));
         }
         addNodeWithConstraints(grid, digitButtons.get(0), 1, 5, 2, 1);
         addNodeWithConstraints(grid, digitButtons.get(1), 1, 4, 1, 1);
@@ -79,17 +82,16 @@ public final class JavaFxCalculator extends Application {
         addNodeWithConstraints(grid, digitButtons.get(8), 2, 2, 1, 1);
         addNodeWithConstraints(grid, digitButtons.get(9), 3, 2, 1, 1);
 
-        Button addButton = createButton("+", 32.0,
-                (ActionEvent e) -> calculator.pressOperation(Operation.Add));
-        Button subButton = createButton("-", 32.0, (ActionEvent e) -> calculator
-                .pressOperation(Operation.Subtract));
-        Button mulButton = createButton("\u00d7", 32.0,
-                (ActionEvent e) -> calculator
-                        .pressOperation(Operation.Multiply));
-        Button divButton = createButton("\u00f7", 32.0,
-                (ActionEvent e) -> calculator.pressOperation(Operation.Divide));
-        Button eqButton = createButton("=", 32.0,
-                (ActionEvent e) -> calculator.pressEquals());
+        Button addButton = createKeyButton("+", KeyDispatcher.ADD,
+                dispatcher);
+        Button subButton = createKeyButton("-", KeyDispatcher.SUBTRACT,
+                dispatcher);
+        Button mulButton = createKeyButton("\u00d7", KeyDispatcher.MULTIPLY,
+                dispatcher);
+        Button divButton = createKeyButton("\u00f7", KeyDispatcher.DIVIDE,
+                dispatcher);
+        Button eqButton = createKeyButton("=", KeyDispatcher.EQUALS,
+                dispatcher);
 
         addNodeWithConstraints(grid, addButton, 4, 2, 1, 1);
         addNodeWithConstraints(grid, subButton, 4, 3, 1, 1);
@@ -99,6 +101,7 @@ public final class JavaFxCalculator extends Application {
 
         primaryStage.setScene(new Scene(grid, 350, 350));
         primaryStage.show();
+        Launcher.displayShown();
     }
 
     private static void addNodeWithConstraints(GridPane grid, Node node, int x,
@@ -121,10 +124,11 @@ public final class JavaFxCalculator extends Application {
         return button;
     }
 
-    private static Button createDigitButton(int digit, Calculator calc) {
+    private static Button createKeyButton(String text, int keyIndex,
+            KeyDispatcher dispatcher) {
 
-        return createButton("" + digit, 32.0,
-                (ActionEvent e) -> calc.pressDigit(digit));
+        Runnable action = dispatcher.getAction(keyIndex);
+        return createButton(text, 32.0, (ActionEvent e) -> action.run());
     }
 
     /**
@@ -0,0 +1,80 @@
+/**
+ * Copyright (C) 2026 David A Holmes Jr
+ * 
+ * This file is part of JToyCalc.
+ * 
+ * JToyCalc is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * JToyCalc is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with JToyCalc.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package us.dholmes.toycalc;
+
+import javafx.animation.AnimationTimer;
+import javafx.scene.control.Labeled;
+
+/**
+ * A display listener that shows a calculator's display in a JavaFX label.
+ * The calculator may be used from any thread: each update only stores the
+ * latest display, and the adapter, an {@link AnimationTimer}, copies it to
+ * the label at most once per pulse.  However many keys are pressed between
+ * two frames, the label's text is laid out once.
+ * <p>
+ * The label is only updated while the timer is running; call
+ * {@link #start()} on the JavaFX application thread once the label is
+ * created.
+ */
+public final class JavaFxDisplayAdapter extends AnimationTimer
+        implements NumericDisplayListener {
+
+    private final Labeled label;
+    private final DisplayBuffer buffer = new DisplayBuffer();
+
+    private volatile DisplaySnapshot display = DisplaySnapshot.ZERO;
+    private volatile boolean dirty;
+
+    /**
+     * Constructor.
+     * 
+     * @param label The label to show the display in.
+     */
+    public JavaFxDisplayAdapter(Labeled label) {
+
+        this.label = label;
+    }
+
+    /* (non-Javadoc)
+     * @see us.dholmes.toycalc.NumericDisplayListener#displayUpdated(long, boolean)
+     */
+    @Override
+    public void displayUpdated(long value, boolean error) {
+
+        display = DisplaySnapshot.of(value, error);
+        dirty = true;
+    }
+
+    /* (non-Javadoc)
+     * @see javafx.animation.AnimationTimer#handle(long)
+     */
+    @Override
+    public void handle(long now) {
+
+        if (!dirty) {
+            return;
+        }
+        // Clear the flag before reading, so that a value stored after the
+        // read is picked up on the next pulse.
+        dirty = false;
+        DisplaySnapshot current = display;
+        buffer.set(current.value, current.error);
+        label.setText(buffer.toString());
+    }
+}
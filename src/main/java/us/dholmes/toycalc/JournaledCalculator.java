@@ -0,0 +1,523 @@
+/**
+ * Copyright (C) 2026 David A Holmes Jr
+ * 
+ * This file is part of JToyCalc.
+ * 
+ * JToyCalc is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * JToyCalc is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with JToyCalc.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package us.dholmes.toycalc;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.zip.CRC32;
+
+import us.dholmes.toycalc.Calculator.Display;
+import us.dholmes.toycalc.Calculator.Operation;
+
+/**
+ * A {@link Calculator} whose key presses survive a process restart.
+ * <p>
+ * Every key press is written, one byte per key, to a journal file in the
+ * calculator's directory before the press returns, so keys survive the
+ * process crashing.  Forcing the journal to disk, which keys need to survive
+ * the operating system crashing, is batched: it happens once enough keys
+ * have accumulated, or on a background timer once enough time has passed
+ * since the first unforced key, so one {@code force()} covers many key
+ * presses.  Call {@link #sync()} to make everything pressed so far durable
+ * immediately.
+ * <p>
+ * Every so often the calculator's complete internal state (including the
+ * stored operand and operation that repeated "equals" presses depend on) is
+ * written to a snapshot file and a new, empty journal is started.  Recovery
+ * loads the latest snapshot and replays only the journal written since, so
+ * restart time is bounded by the snapshot interval rather than the total
+ * number of key presses.
+ * <p>
+ * Instances are not thread-safe, apart from the background forcing, which
+ * synchronizes with them internally.
+ */
+public final class JournaledCalculator implements AutoCloseable {
+
+    /** The default number of key presses between snapshots. */
+    public static final int DEFAULT_SNAPSHOT_INTERVAL = 100_000;
+    /** The default number of unforced key presses that triggers a force. */
+    public static final int DEFAULT_SYNC_KEYS = 4096;
+    /** The default time in milliseconds before unforced keys are forced. */
+    public static final long DEFAULT_SYNC_DELAY_MILLIS = 50;
+
+    private static final String SNAPSHOT_FILE = "snapshot";
+    private static final String SNAPSHOT_TEMP_FILE = "snapshot.tmp";
+    private static final String JOURNAL_PREFIX = "journal-";
+    private static final String JOURNAL_SUFFIX = ".log";
+
+    private static final int SNAPSHOT_MAGIC = 0x4a544353; // "JTCS"
+    private static final byte SNAPSHOT_VERSION = 1;
+    /** magic, version, sequence, 3 registers, 2 operations, flags, CRC. */
+    private static final int SNAPSHOT_SIZE = 4 + 1 + 8 + 3 * 8 + 2 + 1 + 8;
+
+    private static final int FLAG_DISPLAY_INPUT = 1;
+    private static final int FLAG_EQUALS_PRESSED = 2;
+    private static final int FLAG_ERROR = 4;
+
+    /** Forces journals whose sync delay has passed; shared by all instances. */
+    private static final ScheduledExecutorService FORCER =
+            Executors.newSingleThreadScheduledExecutor((Runnable r) -> {
+                Thread thread = new Thread(r, "JournaledCalculator-sync");
+                thread.setDaemon(true);
+                return thread;
+            });
+
+    private final Calculator calculator = new Calculator();
+    private final Path directory;
+    private final int snapshotInterval;
+    private final int syncKeys;
+    private final long syncDelayNanos;
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(8192);
+
+    private FileChannel journal;
+    /** The number of keys covered by the current snapshot. */
+    private long snapshotSequence;
+    /** The number of keys pressed since the current snapshot. */
+    private long keysSinceSnapshot;
+    /** The number of keys written but not yet forced. */
+    private int unsyncedKeys = 0;
+    /** The timed force of the unforced keys, or null if none is due. */
+    private ScheduledFuture<?> pendingSync;
+    /** A failure of the timed force, reported by the next call. */
+    private IOException syncFailure;
+    private boolean closed;
+
+    private JournaledCalculator(Path directory, int snapshotInterval,
+            int syncKeys, long syncDelayNanos) {
+
+        this.directory = directory;
+        this.snapshotInterval = snapshotInterval;
+        this.syncKeys = syncKeys;
+        this.syncDelayNanos = syncDelayNanos;
+    }
+
+    /**
+     * Opens a journaled calculator with the default snapshot and sync
+     * settings, recovering its state if the directory holds an earlier
+     * session.
+     * 
+     * @param directory The directory for the journal and snapshot files.  It
+     *            is created if necessary.
+     * @return The calculator.
+     * @throws IOException when the files can't be read or created.
+     */
+    public static JournaledCalculator open(Path directory) throws IOException {
+
+        return open(directory, DEFAULT_SNAPSHOT_INTERVAL, DEFAULT_SYNC_KEYS,
+                DEFAULT_SYNC_DELAY_MILLIS, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Opens a journaled calculator, recovering its state if the directory
+     * holds an earlier session.
+     * 
+     * @param directory The directory for the journal and snapshot files.  It
+     *            is created if necessary.
+     * @param snapshotInterval The number of key presses between snapshots.
+     * @param syncKeys The number of unforced key presses that triggers a
+     *            force.
+     * @param syncDelay The time after which unforced key presses are forced
+     *            in the background.
+     * @param unit The unit of the sync delay.
+     * @return The calculator.
+     * @throws IOException when the files can't be read or created.
+     */
+    public static JournaledCalculator open(Path directory,
+            int snapshotInterval, int syncKeys, long syncDelay, TimeUnit unit)
+            throws IOException {
+
+        if (snapshotInterval < 1 || syncKeys < 1) {
+            throw new IllegalArgumentException("Invalid interval");
+        }
+        Files.createDirectories(directory);
+        JournaledCalculator calculator = new JournaledCalculator(directory,
+                snapshotInterval, syncKeys, unit.toNanos(syncDelay));
+        calculator.recover();
+        return calculator;
+    }
+
+    /**
+     * Press the button corresponding to a key character and journal it.
+     * 
+     * @param key The key to press.
+     * @throws IllegalArgumentException if the key is not recognized.
+     * @throws IOException when the journal can't be written.
+     * @see Calculator#pressKey(char)
+     */
+    public synchronized void pressKey(char key) throws IOException {
+
+        checkSyncFailure();
+        calculator.pressKey(key);
+        buffer.put((byte) key);
+        writeBuffer();
+        afterKeys(1);
+    }
+
+    /**
+     * Press a sequence of keys and journal them.
+     * 
+     * @param keys The keys to press.
+     * @throws IllegalArgumentException if any key is not recognized.  In that
+     *             case no keys are pressed or journaled.
+     * @throws IOException when the journal can't be written.
+     * @see Calculator#pressAll(CharSequence)
+     */
+    public synchronized void pressAll(CharSequence keys) throws IOException {
+
+        checkSyncFailure();
+        calculator.pressAll(keys);
+        for (int i = 0; i < keys.length(); i++) {
+            if (!buffer.hasRemaining()) {
+                writeBuffer();
+            }
+            buffer.put((byte) keys.charAt(i));
+        }
+        writeBuffer();
+        afterKeys(keys.length());
+    }
+
+    /**
+     * Returns the currently-displayed number as a String.
+     * 
+     * @return The currently-displayed number as a String.
+     */
+    public String getDisplayString() {
+
+        return calculator.getDisplayString();
+    }
+
+    /**
+     * Returns a snapshot of the calculator's internal state.
+     * 
+     * @return The current state.
+     */
+    public CalculatorState getState() {
+
+        return calculator.getState();
+    }
+
+    /**
+     * Registers a listener for display update events.
+     * 
+     * @param listener The listener to add.
+     * @see Calculator#addDisplayListener(Consumer)
+     */
+    public void addDisplayListener(Consumer<String> listener) {
+
+        calculator.addDisplayListener(listener);
+    }
+
+    /**
+     * Forces the key presses written to the journal to disk.
+     * 
+     * @throws IOException when the journal can't be written.
+     */
+    public synchronized void sync() throws IOException {
+
+        checkSyncFailure();
+        if (pendingSync != null) {
+            pendingSync.cancel(false);
+            pendingSync = null;
+        }
+        if (unsyncedKeys > 0) {
+            journal.force(false);
+            unsyncedKeys = 0;
+        }
+    }
+
+    /**
+     * Writes a snapshot of the current state and starts a new journal.
+     * 
+     * @throws IOException when the snapshot or journal can't be written.
+     */
+    public synchronized void snapshot() throws IOException {
+
+        sync();
+        long sequence = snapshotSequence + keysSinceSnapshot;
+
+        Path temp = directory.resolve(SNAPSHOT_TEMP_FILE);
+        try (FileChannel channel = FileChannel.open(temp,
+                StandardOpenOption.WRITE, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer data = encodeSnapshot(sequence, calculator.getState());
+            while (data.hasRemaining()) {
+                channel.write(data);
+            }
+            channel.force(true);
+        }
+        Files.move(temp, directory.resolve(SNAPSHOT_FILE),
+                StandardCopyOption.ATOMIC_MOVE,
+                StandardCopyOption.REPLACE_EXISTING);
+
+        // The snapshot now covers everything in the old journal.
+        journal.close();
+        Path oldJournal = journalPath(snapshotSequence);
+        snapshotSequence = sequence;
+        keysSinceSnapshot = 0;
+        journal = openJournal(sequence);
+        // Make the rename and the new journal's entry durable before the
+        // old journal goes.
+        syncDirectory();
+        Files.deleteIfExists(oldJournal);
+    }
+
+    /**
+     * Syncs the journal and closes it.
+     * 
+     * @throws IOException when the journal can't be written.
+     */
+    @Override
+    public synchronized void close() throws IOException {
+
+        if (closed) {
+            return;
+        }
+        try {
+            sync();
+        } finally {
+            closed = true;
+            journal.close();
+        }
+    }
+
+    /* (non-Javadoc)
+     * @see java.lang.Object#toString()
+     */
+    @Override
+    public String toString() {
+
+        return "JournaledCalculator [directory: " + directory
+                + ", current display: " + getDisplayString() + "]";
+    }
+
+    private void writeBuffer() throws IOException {
+
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            journal.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    private void afterKeys(int count) throws IOException {
+
+        unsyncedKeys += count;
+        keysSinceSnapshot += count;
+        if (keysSinceSnapshot >= snapshotInterval) {
+            snapshot();
+        } else if (unsyncedKeys >= syncKeys) {
+            sync();
+        } else if (unsyncedKeys > 0 && pendingSync == null) {
+            pendingSync = FORCER.schedule(this::timedSync, syncDelayNanos,
+                    TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /**
+     * Forces the journal once the sync delay has passed, so the last keys of
+     * a burst are made durable even if no more keys are pressed.
+     */
+    private synchronized void timedSync() {
+
+        pendingSync = null;
+        if (closed || syncFailure != null) {
+            return;
+        }
+        try {
+            sync();
+        } catch (IOException e) {
+            syncFailure = e;
+        }
+    }
+
+    private void checkSyncFailure() throws IOException {
+
+        if (syncFailure != null) {
+            throw new IOException("Background journal sync failed",
+                    syncFailure);
+        }
+    }
+
+    /**
+     * Forces the directory, so that files created or renamed in it survive
+     * a crash.  Some platforms can't open directories; there, the file
+     * system is relied on to order the metadata updates itself.
+     */
+    private void syncDirectory() throws IOException {
+
+        FileChannel channel;
+        try {
+            channel = FileChannel.open(directory, StandardOpenOption.READ);
+        } catch (IOException e) {
+            return;
+        }
+        try {
+            channel.force(true);
+        } finally {
+            channel.close();
+        }
+    }
+
+    private void recover() throws IOException {
+
+        Path snapshotPath = directory.resolve(SNAPSHOT_FILE);
+        snapshotSequence = 0;
+        if (Files.exists(snapshotPath)) {
+            ByteBuffer data = ByteBuffer.wrap(Files.readAllBytes(snapshotPath));
+            calculator.setState(decodeSnapshot(data));
+            snapshotSequence = data.getLong(5);
+        }
+
+        journal = openJournal(snapshotSequence);
+        syncDirectory();
+        long length = journal.size();
+        ByteBuffer data = ByteBuffer.allocate(
+                (int) Math.min(Math.max(length, 1), 1 << 16));
+        byte[] keys = data.array();
+        long position = 0;
+        keysSinceSnapshot = 0;
+        calculator.beginBatch();
+        try {
+            replay: while (position < length) {
+                data.clear();
+                int n = journal.read(data, position);
+                if (n <= 0) {
+                    break;
+                }
+                for (int i = 0; i < n; i++) {
+                    if (!Calculator.isKey((char) (keys[i] & 0xff))) {
+                        // A torn write at the end of the journal; discard it.
+                        calculator.pressAll(keys, 0, i);
+                        position += i;
+                        break replay;
+                    }
+                }
+                calculator.pressAll(keys, 0, n);
+                position += n;
+            }
+        } finally {
+            calculator.endBatch();
+        }
+        keysSinceSnapshot = position;
+        if (position < length) {
+            journal.truncate(position);
+        }
+        journal.position(position);
+
+        // Remove journals left behind by a crash during a snapshot.
+        String current = journalPath(snapshotSequence).getFileName()
+                .toString();
+        try (DirectoryStream<Path> stale = Files.newDirectoryStream(directory,
+                JOURNAL_PREFIX + "*" + JOURNAL_SUFFIX)) {
+            for (Path path : stale) {
+                if (!path.getFileName().toString().equals(current)) {
+                    Files.delete(path);
+                }
+            }
+        }
+    }
+
+    private FileChannel openJournal(long sequence) throws IOException {
+
+        return FileChannel.open(journalPath(sequence), StandardOpenOption.READ,
+                StandardOpenOption.WRITE, StandardOpenOption.CREATE);
+    }
+
+    private Path journalPath(long sequence) {
+
+        return directory.resolve(JOURNAL_PREFIX + sequence + JOURNAL_SUFFIX);
+    }
+
+    private static ByteBuffer encodeSnapshot(long sequence,
+            CalculatorState state) {
+
+        ByteBuffer data = ByteBuffer.allocate(SNAPSHOT_SIZE);
+        data.putInt(SNAPSHOT_MAGIC);
+        data.put(SNAPSHOT_VERSION);
+        data.putLong(sequence);
+        data.putLong(state.getAccumulator());
+        data.putLong(state.getInput());
+        data.putLong(state.getStoredOperand());
+        data.put(operationCode(state.getCurrentBinaryOperation()));
+        data.put(operationCode(state.getStoredBinaryOperation()));
+        data.put((byte) ((state.isDisplayingInput() ? FLAG_DISPLAY_INPUT : 0)
+                | (state.isEqualsPressed() ? FLAG_EQUALS_PRESSED : 0)
+                | (state.isError() ? FLAG_ERROR : 0)));
+        data.putLong(checksum(data.array(), data.position()));
+        data.flip();
+        return data;
+    }
+
+    /**
+     * Returns the snapshot code for an operation.  Only the built-in
+     * operations can be pressed through this class, so only they can be
+     * snapshotted.
+     */
+    private static byte operationCode(BinaryOperation operation) {
+
+        if (!(operation instanceof Operation)) {
+            throw new IllegalStateException(
+                    "Custom operations can't be journaled: " + operation);
+        }
+        return (byte) ((Operation) operation).ordinal();
+    }
+
+    private static CalculatorState decodeSnapshot(ByteBuffer data)
+            throws IOException {
+
+        if (data.remaining() != SNAPSHOT_SIZE
+                || data.getInt(0) != SNAPSHOT_MAGIC
+                || data.get(4) != SNAPSHOT_VERSION
+                || data.getLong(SNAPSHOT_SIZE - 8) != checksum(data.array(),
+                        SNAPSHOT_SIZE - 8)) {
+            throw new IOException("Corrupt calculator snapshot");
+        }
+        data.position(13);
+        long accumulator = data.getLong();
+        long input = data.getLong();
+        long storedOperand = data.getLong();
+        Operation[] operations = Operation.values();
+        Operation currentOperation = operations[data.get()];
+        Operation storedOperation = operations[data.get()];
+        int flags = data.get();
+        return new CalculatorState(accumulator, input, storedOperand,
+                currentOperation, storedOperation,
+                ((flags & FLAG_DISPLAY_INPUT) != 0) ? Display.Input
+                        : Display.Accumulator,
+                (flags & FLAG_EQUALS_PRESSED) != 0, (flags & FLAG_ERROR) != 0);
+    }
+
+    private static long checksum(byte[] data, int length) {
+
+        CRC32 crc = new CRC32();
+        crc.update(data, 0, length);
+        return crc.getValue();
+    }
+}
@@ -0,0 +1,186 @@
+/**
+ * Copyright (C) 2026 David A Holmes Jr
+ * 
+ * This file is part of JToyCalc.
+ * 
+ * JToyCalc is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * JToyCalc is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with JToyCalc.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package us.dholmes.toycalc;
+
+import java.util.Arrays;
+
+import us.dholmes.toycalc.Calculator.Operation;
+
+/**
+ * Maps keys to calculator buttons for the front ends.  Every button has a
+ * key index: the digits are 0-9, followed by {@link #ADD},
+ * {@link #SUBTRACT}, {@link #MULTIPLY}, {@link #DIVIDE} and {@link #EQUALS}.
+ * Characters are mapped to key indexes through a precomputed table, and key
+ * indexes to presses through a table of actions, so dispatching a key is
+ * two array lookups.
+ * <p>
+ * Besides the keys accepted by {@link Calculator#pressKey(char)}, the
+ * dispatcher accepts '&times;' and '&divide;', as shown on the buttons.
+ */
+public final class KeyDispatcher {
+
+    /** The key index of the add button. */
+    public static final int ADD = 10;
+
+    /** The key index of the subtract button. */
+    public static final int SUBTRACT = 11;
+
+    /** The key index of the multiply button. */
+    public static final int MULTIPLY = 12;
+
+    /** The key index of the divide button. */
+    public static final int DIVIDE = 13;
+
+    /** The key index of the "equals" button. */
+    public static final int EQUALS = 14;
+
+    /** The number of key indexes. */
+    public static final int KEY_COUNT = 15;
+
+    /** Returned by {@link #keyIndex(char)} for characters that aren't keys. */
+    public static final int NO_KEY = -1;
+
+    private static final char[] KEY_CHARS = "0123456789+-*/=".toCharArray();
+
+    /** Key indexes of the first 256 characters, or NO_KEY. */
+    private static final byte[] KEY_INDEXES = new byte[256];
+
+    static {
+        Arrays.fill(KEY_INDEXES, (byte) NO_KEY);
+        for (int i = 0; i < KEY_COUNT; i++) {
+            KEY_INDEXES[KEY_CHARS[i]] = (byte) i;
+        }
+        KEY_INDEXES['\u00d7'] = MULTIPLY;
+        KEY_INDEXES['\u00f7'] = DIVIDE;
+    }
+
+    private final Calculator calculator;
+    private final Runnable[] actions = new Runnable[KEY_COUNT];
+    private final StringBuilder tape = new StringBuilder();
+
+    /**
+     * Constructor.
+     * 
+     * @param calculator The calculator to press keys on.
+     */
+    public KeyDispatcher(Calculator calculator) {
+
+        this.calculator = calculator;
+        for (int i = 0; i <= 9; i++) {
+            final int digit = i;
+            actions[i] = () -> calculator.pressDigit(digit);
+        }
+        actions[ADD] = () -> calculator.pressOperation(Operation.Add);
+        actions[SUBTRACT] =
+                () -> calculator.pressOperation(Operation.Subtract);
+        actions[MULTIPLY] =
+                () -> calculator.pressOperation(Operation.Multiply);
+        actions[DIVIDE] = () -> calculator.pressOperation(Operation.Divide);
+        actions[EQUALS] = calculator::pressEquals;
+    }
+
+    /**
+     * Returns the key index of a character.
+     * 
+     * @param key The character.
+     * @return The key index, or {@link #NO_KEY} if the character isn't a key.
+     */
+    public static int keyIndex(char key) {
+
+        return (key < KEY_INDEXES.length) ? KEY_INDEXES[key] : NO_KEY;
+    }
+
+    /**
+     * Returns the character for a key index, as accepted by
+     * {@link Calculator#pressKey(char)}.
+     * 
+     * @param keyIndex The key index.
+     * @return The key character.
+     * @throws ArrayIndexOutOfBoundsException if the key index is invalid.
+     */
+    public static char keyChar(int keyIndex) {
+
+        return KEY_CHARS[keyIndex];
+    }
+
+    /**
+     * Returns the action that presses the button with a key index.  The same
+     * action is returned each time, so front ends can attach it to their
+     * buttons without creating their own.
+     * 
+     * @param keyIndex The key index.
+     * @return The action.
+     * @throws ArrayIndexOutOfBoundsException if the key index is invalid.
+     */
+    public Runnable getAction(int keyIndex) {
+
+        return actions[keyIndex];
+    }
+
+    /**
+     * Presses the button with a key index.
+     * 
+     * @param keyIndex The key index.
+     * @throws ArrayIndexOutOfBoundsException if the key index is invalid.
+     */
+    public void dispatch(int keyIndex) {
+
+        actions[keyIndex].run();
+    }
+
+    /**
+     * Presses the button for a character, if it is a key.
+     * 
+     * @param key The character.
+     * @return The key index pressed, or {@link #NO_KEY} if the character
+     *         isn't a key.
+     */
+    public int dispatch(char key) {
+
+        int keyIndex = keyIndex(key);
+        if (keyIndex != NO_KEY) {
+            actions[keyIndex].run();
+        }
+        return keyIndex;
+    }
+
+    /**
+     * Presses the keys in a tape, skipping characters that aren't keys, such
+     * as whitespace.  The calculator's display listeners are notified once.
+     * 
+     * @param keys The keys to press.
+     * @return The key index of the last key pressed, or {@link #NO_KEY} if
+     *         the tape contained no keys.
+     */
+    public int dispatchAll(CharSequence keys) {
+
+        tape.setLength(0);
+        int last = NO_KEY;
+        int length = keys.length();
+        for (int i = 0; i < length; i++) {
+            int keyIndex = keyIndex(keys.charAt(i));
+            if (keyIndex != NO_KEY) {
+                tape.append(KEY_CHARS[keyIndex]);
+                last = keyIndex;
+            }
+        }
+        calculator.pressAll(tape);
+        return last;
+    }
+}
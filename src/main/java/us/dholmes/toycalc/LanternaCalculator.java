@@ -19,10 +19,10 @@
 package us.dholmes.toycalc;
 
 import java.io.IOException;
-import java.util.ArrayList;
-import java.util.List;
+import java.io.UncheckedIOException;
 import java.util.concurrent.atomic.AtomicBoolean;
 
+import com.googlecode.lanterna.TerminalSize;
 import com.googlecode.lanterna.TextColor;
 import com.googlecode.lanterna.gui2.BasicWindow;
 import com.googlecode.lanterna.gui2.Button;
@@ -44,8 +44,6 @@ import com.googlecode.lanterna.screen.TerminalScreen;
 import com.googlecode.lanterna.terminal.DefaultTerminalFactory;
 import com.googlecode.lanterna.terminal.Terminal;
 
-import us.dholmes.toycalc.Calculator.Operation;
-
 /**
  * Lanterna JToyCalc application.
  */
@@ -57,6 +55,13 @@ public final class LanternaCalculator {
     private LanternaCalculator() {
         
     }
+
+    /**
+     * The width of the display row.  Input is limited to
+     * {@link Calculator#MAX_DIGITS} digits, but results can be any long, so
+     * the row has room for the longest of those.
+     */
+    private static final int DISPLAY_WIDTH = DisplayBuffer.MAX_LENGTH;
     
     /**
      * @param args Command-line arguments.
@@ -73,48 +78,42 @@ public final class LanternaCalculator {
         Panel outerVerticalBox = new Panel(
                 new LinearLayout(Direction.VERTICAL));
 
-        Label label = new Label(calculator.getDisplayString());
-        calculator.addDisplayListener((String s) -> label.setText(s));
+        // The display row has a fixed size so that changing its text never
+        // moves the rest of the window; a screen refresh then only has to
+        // redraw the display's cells.
+        Label label = new Label(padDisplay(calculator.getDisplayString()));
+        label.setPreferredSize(new TerminalSize(DISPLAY_WIDTH, 1));
+        calculator.addDisplayListener(
+                (String s) -> label.setText(padDisplay(s)));
         label.setLayoutData(LinearLayout.createLayoutData(Alignment.End));
         outerVerticalBox.addComponent(label);
 
         Panel gridPanel = new Panel(new GridLayout(4));
         outerVerticalBox.addComponent(gridPanel);
 
-        List<Button> buttons = new ArrayList<>();
-        for (int i = 0; i <= 9; i++) {
-            final int digit = i;
-            Button button = createButton("" + digit,
-                    () -> calculator.pressDigit(digit));
-            buttons.add(button);
+        KeyDispatcher dispatcher = new KeyDispatcher(calculator);
+        Button[] buttons = new Button[KeyDispatcher.KEY_COUNT];
+        for (int i = 0; i < buttons.length; i++) {
+            buttons[i] = createButton(String.valueOf(KeyDispatcher.keyChar(i)),
+                    dispatcher.getAction(i));
         }
 
-        Button addButton = createButton("+",
-                () -> calculator.pressOperation(Operation.Add));
-        Button subButton = createButton("-",
-                () -> calculator.pressOperation(Operation.Subtract));
-        Button mulButton = createButton("*",
-                () -> calculator.pressOperation(Operation.Multiply));
-        Button divButton = createButton("/",
-                () -> calculator.pressOperation(Operation.Divide));
-        Button eqButton = createButton("=", () -> calculator.pressEquals());
-
-        gridPanel.addComponent(buttons.get(7));
-        gridPanel.addComponent(buttons.get(8));
-        gridPanel.addComponent(buttons.get(9));
-        gridPanel.addComponent(addButton);
-        gridPanel.addComponent(buttons.get(4));
-        gridPanel.addComponent(buttons.get(5));
-        gridPanel.addComponent(buttons.get(6));
-        gridPanel.addComponent(subButton);
-        gridPanel.addComponent(buttons.get(1));
-        gridPanel.addComponent(buttons.get(2));
-        gridPanel.addComponent(buttons.get(3));
-        gridPanel.addComponent(mulButton);
-        gridPanel.addComponent(buttons.get(0));
+        gridPanel.addComponent(buttons[7]);
+        gridPanel.addComponent(buttons[8]);
+        gridPanel.addComponent(buttons[9]);
+        gridPanel.addComponent(buttons[KeyDispatcher.ADD]);
+        gridPanel.addComponent(buttons[4]);
+        gridPanel.addComponent(buttons[5]);
+        gridPanel.addComponent(buttons[6]);
+        gridPanel.addComponent(buttons[KeyDispatcher.SUBTRACT]);
+        gridPanel.addComponent(buttons[1]);
+        gridPanel.addComponent(buttons[2]);
+        gridPanel.addComponent(buttons[3]);
+        gridPanel.addComponent(buttons[KeyDispatcher.MULTIPLY]);
+        gridPanel.addComponent(buttons[0]);
         gridPanel.addComponent(new EmptySpace());
-        gridPanel.addComponent(eqButton);
-        gridPanel.addComponent(divButton);
+        gridPanel.addComponent(buttons[KeyDispatcher.EQUALS]);
+        gridPanel.addComponent(buttons[KeyDispatcher.DIVIDE]);
 
         BasicWindow window = new BasicWindow();
         window.setComponent(outerVerticalBox);
@@ -127,47 +126,66 @@ public final class LanternaCalculator {
                 if (keyStroke.getKeyType() == KeyType.Escape) {
                     System.exit(0);
                 }
+                if (keyStroke.getKeyType() != KeyType.Character) {
+                    return;
+                }
 
-                if (keyStroke.getKeyType() == KeyType.Character) {
-
-                    char c = keyStroke.getCharacter().charValue();
-
-                    if (c >= '0' && c <= '9') {
-                        int digit = c - '0';
-                        calculator.pressDigit(digit);
-                        buttons.get(digit).takeFocus();
-                    } else {
-                        switch (c) {
-                        case '+':
-                            calculator.pressOperation(Operation.Add);
-                            addButton.takeFocus();
-                            break;
-                        case '-':
-                            calculator.pressOperation(Operation.Subtract);
-                            subButton.takeFocus();
-                            break;
-                        case '*':
-                            calculator.pressOperation(Operation.Multiply);
-                            mulButton.takeFocus();
-                            break;
-                        case '/':
-                            calculator.pressOperation(Operation.Divide);
-                            divButton.takeFocus();
-                            break;
-                        case '=':
-                            calculator.pressEquals();
-                            eqButton.takeFocus();
-                            break;
+                // Pasted text arrives as a burst of keystrokes.  Drain
+                // everything that is already waiting and press it as one
+                // tape, so the display and focus change once per burst
+                // rather than once per key.
+                StringBuilder tape = new StringBuilder();
+                tape.append(keyStroke.getCharacter().charValue());
+                try {
+                    KeyStroke next;
+                    while ((next = screen.pollInput()) != null) {
+                        if (next.getKeyType() == KeyType.Character) {
+                            tape.append(next.getCharacter().charValue());
+                            continue;
+                        }
+                        pressTape(dispatcher, tape, buttons);
+                        if (next.getKeyType() == KeyType.Escape) {
+                            System.exit(0);
                         }
+                        basePane.handleInput(next);
                     }
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
                 }
+                pressTape(dispatcher, tape, buttons);
             }
         });
 
         MultiWindowTextGUI gui = new MultiWindowTextGUI(screen,
                 new DefaultWindowManager(),
                 new EmptySpace(TextColor.ANSI.BLUE));
-        gui.addWindowAndWait(window);
+        gui.addWindow(window);
+        gui.updateScreen();
+        Launcher.displayShown();
+        gui.waitForWindowToClose(window);
+    }
+
+    /**
+     * Presses and clears the keys collected so far, then focuses the button
+     * of the last key.
+     */
+    private static void pressTape(KeyDispatcher dispatcher,
+            StringBuilder tape, Button[] buttons) {
+
+        int last = dispatcher.dispatchAll(tape);
+        if (last != KeyDispatcher.NO_KEY) {
+            buttons[last].takeFocus();
+        }
+        tape.setLength(0);
+    }
+
+    private static String padDisplay(String display) {
+
+        StringBuilder padded = new StringBuilder(DISPLAY_WIDTH);
+        for (int i = display.length(); i < DISPLAY_WIDTH; i++) {
+            padded.append(' ');
+        }
+        return padded.append(display).toString();
     }
 
     private static Button createButton(String label, Runnable action) {
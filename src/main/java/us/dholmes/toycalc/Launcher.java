@@ -0,0 +1,196 @@
+/**
+ * Copyright (C) 2026 David A Holmes Jr
+ * 
+ * This file is part of JToyCalc.
+ * 
+ * JToyCalc is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * JToyCalc is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with JToyCalc.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package us.dholmes.toycalc;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintStream;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Single entry point for all the JToyCalc front ends:
+ * 
+ * <pre>
+ * Launcher [swing|javafx|lanterna|kotlin|headless|http|binary] [args...]
+ * Launcher --create-cds-archive &lt;file&gt; [mode] [args...]
+ * </pre>
+ * 
+ * The front end is chosen by name and only its class is loaded, so starting
+ * one front end never loads the classes of the others.  The default is
+ * Swing.  Headless mode reads key tapes from standard input, one per line,
+ * and prints the display after each.
+ * <p>
+ * {@code --create-cds-archive} starts the chosen front end in a child JVM
+ * that exits as soon as its first display is shown, and saves the classes
+ * it loaded in a dynamic AppCDS archive (this needs a JDK 13 or later JVM,
+ * and a class path made only of jar files).
+ * Later launches can map the archive instead of loading and verifying those
+ * classes again:
+ * 
+ * <pre>
+ * java -XX:SharedArchiveFile=&lt;file&gt; -cp ... us.dholmes.toycalc.Launcher
+ * </pre>
+ * <p>
+ * Setting the system property {@code jtoycalc.startup} to {@code report}
+ * makes the front end print {@link #STARTUP_MARKER} to standard error once
+ * its first display is shown; {@code exit} also exits at that point.
+ */
+public final class Launcher {
+
+    /** Printed to standard error once the first display is shown. */
+    public static final String STARTUP_MARKER = "jtoycalc: displayed";
+
+    /** The system property that controls startup reporting. */
+    public static final String STARTUP_PROPERTY = "jtoycalc.startup";
+
+    private static final String[][] FRONT_ENDS = {
+            { "swing", "us.dholmes.toycalc.SwingCalculator" },
+            { "javafx", "us.dholmes.toycalc.JavaFxCalculator" },
+            { "lanterna", "us.dholmes.toycalc.LanternaCalculator" },
+            { "kotlin", "us.dholmes.toycalc.kotlin.KotlinSwingCalculatorKt" },
+            { "http", "us.dholmes.toycalc.HttpCalculator" },
+            { "binary", "us.dholmes.toycalc.BinaryCalculatorServer" },
+    };
+
+    /**
+     * Private constructor to prevent instantiation.
+     */
+    private Launcher() {
+
+    }
+
+    /**
+     * Called by each front end once its first display is shown.
+     */
+    public static void displayShown() {
+
+        String startup = System.getProperty(STARTUP_PROPERTY);
+        if (startup == null) {
+            return;
+        }
+        System.err.println(STARTUP_MARKER);
+        if (startup.equals("exit")) {
+            System.exit(0);
+        }
+    }
+
+    /**
+     * @param args Command-line arguments.
+     * @throws Exception when the front end's main method throws.
+     */
+    public static void main(String[] args) throws Exception {
+
+        if (args.length > 0 && args[0].equals("--create-cds-archive")) {
+            if (args.length < 2) {
+                usage();
+            }
+            System.exit(createCdsArchive(args[1],
+                    Arrays.copyOfRange(args, 2, args.length)));
+        }
+
+        String mode = (args.length > 0) ? args[0] : "swing";
+        String[] frontEndArgs = (args.length > 0)
+                ? Arrays.copyOfRange(args, 1, args.length) : args;
+        if (mode.equals("headless")) {
+            runHeadless();
+            return;
+        }
+        for (String[] frontEnd : FRONT_ENDS) {
+            if (frontEnd[0].equals(mode)) {
+                runMain(frontEnd[1], frontEndArgs);
+                return;
+            }
+        }
+        usage();
+    }
+
+    private static void usage() {
+
+        StringBuilder modes = new StringBuilder();
+        for (String[] frontEnd : FRONT_ENDS) {
+            modes.append(frontEnd[0]).append('|');
+        }
+        System.err.println("Usage: Launcher [" + modes + "headless] [args...]");
+        System.err.println("       Launcher --create-cds-archive <file> "
+                + "[mode] [args...]");
+        System.exit(2);
+    }
+
+    private static void runMain(String className, String[] args)
+            throws Exception {
+
+        Method main = Class.forName(className).getMethod("main",
+                String[].class);
+        try {
+            main.invoke(null, (Object) args);
+        } catch (InvocationTargetException e) {
+            Throwable cause = e.getCause();
+            throw (cause instanceof Exception) ? (Exception) cause : e;
+        }
+    }
+
+    private static void runHeadless() throws IOException {
+
+        Calculator calculator = new Calculator();
+        PrintStream out = System.out;
+        out.println(calculator.getDisplayString());
+        out.flush();
+        displayShown();
+
+        BufferedReader in = new BufferedReader(
+                new InputStreamReader(System.in, StandardCharsets.US_ASCII));
+        KeyDispatcher dispatcher = new KeyDispatcher(calculator);
+        String line;
+        while ((line = in.readLine()) != null) {
+            dispatcher.dispatchAll(line);
+            out.println(calculator.getDisplayString());
+        }
+        out.flush();
+    }
+
+    /**
+     * Runs a front end in a child JVM that dumps the classes it loaded to an
+     * AppCDS archive when it exits after its first display.
+     * 
+     * @return The child's exit status.
+     */
+    private static int createCdsArchive(String archive, String[] args)
+            throws IOException, InterruptedException {
+
+        List<String> command = new ArrayList<>();
+        command.add(ProcessHandle.current().info().command().orElse("java"));
+        command.add("-XX:ArchiveClassesAtExit=" + archive);
+        command.add("-D" + STARTUP_PROPERTY + "=exit");
+        command.add("-cp");
+        command.add(System.getProperty("java.class.path"));
+        command.add(Launcher.class.getName());
+        command.addAll(Arrays.asList(args));
+
+        Process process = new ProcessBuilder(command).inheritIO()
+                .redirectInput(ProcessBuilder.Redirect.PIPE).start();
+        process.getOutputStream().close();
+        return process.waitFor();
+    }
+}
@@ -0,0 +1,37 @@
+/**
+ * Copyright (C) 2026 David A Holmes Jr
+ * 
+ * This file is part of JToyCalc.
+ * 
+ * JToyCalc is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * JToyCalc is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with JToyCalc.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package us.dholmes.toycalc;
+
+/**
+ * A listener for calculator display updates that receives the displayed
+ * number as a primitive value, so that no String needs to be created for
+ * each update.
+ */
+@FunctionalInterface
+public interface NumericDisplayListener {
+
+    /**
+     * Called when the calculator display is updated.
+     * 
+     * @param value The number being displayed.  Meaningless if
+     *            {@code error} is true.
+     * @param error Whether the calculator is displaying an error.
+     */
+    void displayUpdated(long value, boolean error);
+}
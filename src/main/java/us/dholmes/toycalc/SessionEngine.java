@@ -0,0 +1,364 @@
+/**
+ * Copyright (C) 2026 David A Holmes Jr
+ * 
+ * This file is part of JToyCalc.
+ * 
+ * JToyCalc is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * JToyCalc is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with JToyCalc.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package us.dholmes.toycalc;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+
+/**
+ * Hosts many independent calculator sessions across a fixed set of
+ * single-threaded shards, normally one per core.  Each session ID is hashed
+ * onto a shard, and that shard's thread owns the session's
+ * {@link Calculator} exclusively: every operation on a session is queued to
+ * its shard and run there, so calculators are never shared between threads
+ * and need no locking.
+ * <p>
+ * All operations are asynchronous.  The returned futures are completed on
+ * the shard thread, so dependent actions that don't specify an executor also
+ * run there and should be kept short.
+ */
+public final class SessionEngine implements AutoCloseable {
+
+    private final Shard[] shards;
+    /** The source of session access times, in nanoseconds. */
+    private final LongSupplier clock;
+
+    /**
+     * Constructor.  Creates one shard per available processor.
+     */
+    public SessionEngine() {
+
+        this(Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Constructor.
+     * 
+     * @param shardCount The number of shards (and threads) to create.
+     */
+    public SessionEngine(int shardCount) {
+
+        this(shardCount, System::nanoTime);
+    }
+
+    /**
+     * Constructor for tests that control the passage of time.
+     * 
+     * @param shardCount The number of shards (and threads) to create.
+     * @param clock The source of session access times, in nanoseconds.
+     */
+    SessionEngine(int shardCount, LongSupplier clock) {
+
+        this.clock = clock;
+        if (shardCount < 1) {
+            throw new IllegalArgumentException("Invalid shard count: "
+                    + shardCount);
+        }
+        shards = new Shard[shardCount];
+        for (int i = 0; i < shardCount; i++) {
+            shards[i] = new Shard("calculator-shard-" + i);
+        }
+    }
+
+    /**
+     * Opens a session, creating a new calculator for it.  Opening a session
+     * that is already open has no effect.
+     * 
+     * @param sessionId The session to open.
+     * @return A future completed once the session is open.
+     */
+    public CompletableFuture<Void> open(long sessionId) {
+
+        Shard shard = shardFor(sessionId);
+        return shard.submit(() -> {
+            Session session = shard.sessions.computeIfAbsent(sessionId,
+                    (Long id) -> new Session());
+            session.lastAccessNanos = clock.getAsLong();
+            return null;
+        });
+    }
+
+    /**
+     * Closes a session, discarding its calculator.
+     * 
+     * @param sessionId The session to close.
+     * @return A future completed with whether the session was open.
+     */
+    public CompletableFuture<Boolean> close(long sessionId) {
+
+        Shard shard = shardFor(sessionId);
+        return shard.submit(() -> shard.sessions.remove(sessionId) != null);
+    }
+
+    /**
+     * Presses a sequence of keys on a session's calculator, as with
+     * {@link Calculator#pressAll(CharSequence)}.  The key sequence must not be
+     * modified until the returned future completes.
+     * 
+     * @param sessionId The session to press keys on.
+     * @param keys The keys to press.
+     * @return A future completed with the new display string, or
+     *         exceptionally with {@link NoSuchElementException} if the
+     *         session is not open or {@link IllegalArgumentException} if a
+     *         key is not recognized.
+     */
+    public CompletableFuture<String> submit(long sessionId,
+            CharSequence keys) {
+
+        return execute(sessionId, (Calculator calculator) -> {
+            calculator.pressAll(keys);
+            return calculator.getDisplayString();
+        });
+    }
+
+    /**
+     * Runs an action against a session's calculator on the session's shard
+     * thread.  The action must not let the calculator escape.
+     * 
+     * @param <T> The type of the action's result.
+     * @param sessionId The session to act on.
+     * @param action The action to run.
+     * @return A future completed with the action's result, or exceptionally
+     *         with {@link NoSuchElementException} if the session is not open
+     *         or with whatever the action throws.
+     */
+    public <T> CompletableFuture<T> execute(long sessionId,
+            Function<Calculator, T> action) {
+
+        return execute(sessionId, action, false);
+    }
+
+    /**
+     * Runs an action against a session's calculator on the session's shard
+     * thread, first opening the session if it is not open.  Unlike calling
+     * {@link #open(long)} and then {@link #execute(long, Function)}, this
+     * takes a single trip to the shard.  The action must not let the
+     * calculator escape.
+     * 
+     * @param <T> The type of the action's result.
+     * @param sessionId The session to act on.
+     * @param action The action to run.
+     * @return A future completed with the action's result, or exceptionally
+     *         with whatever the action throws.
+     */
+    public <T> CompletableFuture<T> executeOrOpen(long sessionId,
+            Function<Calculator, T> action) {
+
+        return execute(sessionId, action, true);
+    }
+
+    /**
+     * Closes every session that has not been opened or acted on for at
+     * least the given time.
+     * 
+     * @param idleTime The idle time after which sessions are closed.
+     * @param unit The unit of the idle time.
+     * @return A future completed with the number of sessions closed.
+     */
+    public CompletableFuture<Integer> evictIdle(long idleTime, TimeUnit unit) {
+
+        long idleNanos = unit.toNanos(idleTime);
+        return forEachShard((Shard shard) -> {
+            long now = clock.getAsLong();
+            int evicted = 0;
+            Iterator<Session> it = shard.sessions.values().iterator();
+            while (it.hasNext()) {
+                if (now - it.next().lastAccessNanos >= idleNanos) {
+                    it.remove();
+                    evicted++;
+                }
+            }
+            return evicted;
+        });
+    }
+
+    /**
+     * Counts the open sessions.
+     * 
+     * @return A future completed with the number of open sessions.
+     */
+    public CompletableFuture<Integer> sessionCount() {
+
+        return forEachShard((Shard shard) -> shard.sessions.size());
+    }
+
+    /**
+     * Stops the shard threads.  Operations already queued are completed;
+     * operations submitted afterwards fail with
+     * {@link RejectedExecutionException}.  Does not wait for the threads to
+     * finish.
+     */
+    @Override
+    public void close() {
+
+        for (Shard shard : shards) {
+            shard.shutdown();
+        }
+    }
+
+    private <T> CompletableFuture<T> execute(long sessionId,
+            Function<Calculator, T> action, boolean open) {
+
+        Shard shard = shardFor(sessionId);
+        return shard.submit(() -> {
+            Session session = shard.sessions.get(sessionId);
+            if (session == null) {
+                if (!open) {
+                    throw new NoSuchElementException("No session "
+                            + sessionId);
+                }
+                session = new Session();
+                shard.sessions.put(sessionId, session);
+            }
+            session.lastAccessNanos = clock.getAsLong();
+            return action.apply(session.calculator);
+        });
+    }
+
+    private CompletableFuture<Integer> forEachShard(
+            Function<Shard, Integer> action) {
+
+        CompletableFuture<Integer> total = CompletableFuture.completedFuture(0);
+        for (Shard shard : shards) {
+            total = total.thenCombine(shard.submit(() -> action.apply(shard)),
+                    Integer::sum);
+        }
+        return total;
+    }
+
+    private Shard shardFor(long sessionId) {
+
+        // Spread sequential IDs evenly (Fibonacci hashing).
+        long hash = sessionId * 0x9E3779B97F4A7C15L;
+        return shards[(int) ((hash >>> 32) % shards.length)];
+    }
+
+    /**
+     * A calculator and the last time it was used.
+     */
+    private static final class Session {
+
+        private final Calculator calculator = new Calculator();
+        private long lastAccessNanos;
+    }
+
+    /**
+     * A single thread that owns a set of sessions.  Tasks are handed over
+     * through a lock-free queue; the thread parks when the queue is empty and
+     * is unparked by the next producer.
+     */
+    private static final class Shard implements Runnable {
+
+        private final Map<Long, Session> sessions = new HashMap<>();
+        private final Queue<Runnable> tasks = new ConcurrentLinkedQueue<>();
+        private final AtomicBoolean sleeping = new AtomicBoolean();
+        private final Thread thread;
+        private volatile boolean running = true;
+
+        Shard(String name) {
+
+            thread = new Thread(this, name);
+            thread.setDaemon(true);
+            thread.start();
+        }
+
+        /**
+         * Queues a task to run on the shard thread.
+         */
+        <T> CompletableFuture<T> submit(Task<T> task) {
+
+            CompletableFuture<T> future = new CompletableFuture<>();
+            if (!running) {
+                future.completeExceptionally(new RejectedExecutionException(
+                        thread.getName() + " is shut down"));
+                return future;
+            }
+            Runnable wrapper = () -> {
+                try {
+                    future.complete(task.call());
+                } catch (Throwable t) {
+                    future.completeExceptionally(t);
+                }
+            };
+            tasks.offer(wrapper);
+            if (!running && tasks.remove(wrapper)) {
+                // The thread may already have exited; if it hasn't taken
+                // the task by now it never will.
+                future.completeExceptionally(new RejectedExecutionException(
+                        thread.getName() + " is shut down"));
+            } else if (sleeping.get()) {
+                LockSupport.unpark(thread);
+            }
+            return future;
+        }
+
+        void shutdown() {
+
+            running = false;
+            LockSupport.unpark(thread);
+        }
+
+        @Override
+        public void run() {
+
+            while (true) {
+                Runnable task = tasks.poll();
+                if (task != null) {
+                    task.run();
+                    continue;
+                }
+                if (!running) {
+                    break;
+                }
+                // Publish that we're about to sleep before the final check,
+                // so a producer either sees the flag or we see its task.
+                sleeping.set(true);
+                if (tasks.isEmpty() && running) {
+                    LockSupport.park(this);
+                }
+                sleeping.set(false);
+            }
+            // Run anything that raced with shutdown.
+            Runnable task;
+            while ((task = tasks.poll()) != null) {
+                task.run();
+            }
+        }
+    }
+
+    /**
+     * A task run on a shard thread.
+     */
+    @FunctionalInterface
+    private interface Task<T> {
+
+        T call();
+    }
+}
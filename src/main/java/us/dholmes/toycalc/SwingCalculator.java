@@ -20,22 +20,42 @@ package us.dholmes.toycalc;
 
 import java.awt.Component;
 import java.awt.Container;
+import java.awt.Font;
 import java.awt.GridBagConstraints;
 import java.awt.GridBagLayout;
+import java.awt.Toolkit;
+import java.awt.datatransfer.DataFlavor;
+import java.awt.datatransfer.UnsupportedFlavorException;
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
+import java.awt.event.KeyEvent;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.nio.CharBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
 
 import javax.swing.JButton;
+import javax.swing.JFileChooser;
 import javax.swing.JFrame;
 import javax.swing.JLabel;
+import javax.swing.JMenu;
+import javax.swing.JMenuBar;
+import javax.swing.JMenuItem;
+import javax.swing.JOptionPane;
+import javax.swing.KeyStroke;
 import javax.swing.SwingConstants;
 import javax.swing.SwingUtilities;
+import javax.swing.SwingWorker;
 import javax.swing.UIManager;
 
-import us.dholmes.toycalc.Calculator.Operation;
-
 /**
  * Swing JToyCalc application.
  */
@@ -48,6 +68,10 @@ public final class SwingCalculator {
         
     }
 
+    /** Derived fonts, by base font and size. */
+    private static final Map<Font, Map<Float, Font>> DERIVED_FONTS =
+            new HashMap<>();
+
     private static void createAndShowGui() {
 
         Calculator calculator = new Calculator();
@@ -59,14 +83,16 @@ public final class SwingCalculator {
         frame.setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
 
         JLabel displayLabel = new JLabel(calculator.getDisplayString());
-        displayLabel.setFont(displayLabel.getFont().deriveFont(48.0f));
+        displayLabel.setFont(deriveFont(displayLabel.getFont(), 48.0f));
         displayLabel.setHorizontalAlignment(SwingConstants.RIGHT);
-        calculator.addDisplayListener((String s) -> displayLabel.setText(s));
+        calculator.addNumericDisplayListener(
+                new SwingDisplayAdapter(displayLabel));
         addComponentWithConstraints(frame, displayLabel, 0, 0, 4, 1);
 
+        KeyDispatcher dispatcher = new KeyDispatcher(calculator);
         List<JButton> digitButtons = new ArrayList<>();
         for (int i = 0; i <= 9; i++) {
-            digitButtons.add(createDigitButton(i, calculator));
+            digitButtons.add(createKeyButton("" + i, i, dispatcher));
         }
 
         addComponentWithConstraints(frame, digitButtons.get(0), 0, 4, 2, 1);
@@ -80,25 +106,119 @@ public final class SwingCalculator {
         addComponentWithConstraints(frame, digitButtons.get(8), 1, 1, 1, 1);
         addComponentWithConstraints(frame, digitButtons.get(9), 2, 1, 1, 1);
 
-        JButton addButton = createButton("+", 32.0f, 
-                (ActionEvent e) -> calculator.pressOperation(Operation.Add));
-        JButton subButton = createButton("-", 32.0f, 
-                (ActionEvent e) -> calculator.pressOperation(Operation.Subtract));
-        JButton mulButton = createButton("\u00d7", 32.0f, 
-                (ActionEvent e) -> calculator.pressOperation(Operation.Multiply));
-        JButton difButton = createButton("\u00f7", 32.0f, 
-                (ActionEvent e) -> calculator.pressOperation(Operation.Divide));
-        JButton eqButton = createButton("=", 32.0f, 
-                (ActionEvent e) -> calculator.pressEquals());
+        JButton addButton = createKeyButton("+", KeyDispatcher.ADD,
+                dispatcher);
+        JButton subButton = createKeyButton("-", KeyDispatcher.SUBTRACT,
+                dispatcher);
+        JButton mulButton = createKeyButton("\u00d7", KeyDispatcher.MULTIPLY,
+                dispatcher);
+        JButton difButton = createKeyButton("\u00f7", KeyDispatcher.DIVIDE,
+                dispatcher);
+        JButton eqButton = createKeyButton("=", KeyDispatcher.EQUALS,
+                dispatcher);
 
         addComponentWithConstraints(frame, addButton, 3, 1, 1, 1);
         addComponentWithConstraints(frame, subButton, 3, 2, 1, 1);
         addComponentWithConstraints(frame, mulButton, 3, 3, 1, 1);
         addComponentWithConstraints(frame, difButton, 3, 4, 1, 1);
         addComponentWithConstraints(frame, eqButton, 2, 4, 1, 1);
+
+        List<Component> inputs = new ArrayList<>(digitButtons);
+        inputs.add(addButton);
+        inputs.add(subButton);
+        inputs.add(mulButton);
+        inputs.add(difButton);
+        inputs.add(eqButton);
+
+        JMenuItem pasteItem = new JMenuItem("Paste Keys");
+        pasteItem.setAccelerator(KeyStroke.getKeyStroke(KeyEvent.VK_V,
+                menuShortcutKeyMask()));
+        pasteItem.addActionListener((ActionEvent e) -> {
+            String text;
+            try {
+                text = (String) Toolkit.getDefaultToolkit()
+                        .getSystemClipboard().getData(DataFlavor.stringFlavor);
+            } catch (UnsupportedFlavorException | IOException ex) {
+                return;
+            }
+            replay(frame, dispatcher, new StringReader(text), inputs);
+        });
+        JMenuItem replayItem = new JMenuItem("Replay File...");
+        replayItem.addActionListener((ActionEvent e) -> {
+            JFileChooser chooser = new JFileChooser();
+            if (chooser.showOpenDialog(frame) != JFileChooser.APPROVE_OPTION) {
+                return;
+            }
+            Path path = chooser.getSelectedFile().toPath();
+            try {
+                replay(frame, dispatcher, Files.newBufferedReader(path,
+                        StandardCharsets.US_ASCII), inputs);
+            } catch (IOException ex) {
+                showError(frame, ex);
+            }
+        });
+        inputs.add(pasteItem);
+        inputs.add(replayItem);
+        JMenu editMenu = new JMenu("Edit");
+        editMenu.add(pasteItem);
+        editMenu.add(replayItem);
+        JMenuBar menuBar = new JMenuBar();
+        menuBar.add(editMenu);
+        frame.setJMenuBar(menuBar);
         
         frame.setSize(300, 300);
         frame.setVisible(true);
+        Launcher.displayShown();
+    }
+
+    /**
+     * Presses the keys read from a reader on a background thread.  The input
+     * components are disabled until the replay finishes, so that the
+     * calculator is only used by one thread at a time; the display keeps
+     * updating while the keys are pressed.  Characters that aren't keys,
+     * such as whitespace, are skipped.
+     */
+    private static void replay(Component parent, KeyDispatcher dispatcher,
+            Reader reader, List<Component> inputs) {
+
+        for (Component input : inputs) {
+            input.setEnabled(false);
+        }
+        new SwingWorker<Void, Void>() {
+            @Override
+            protected Void doInBackground() throws IOException {
+
+                try (Reader in = reader) {
+                    char[] chunk = new char[4096];
+                    int count;
+                    while ((count = in.read(chunk)) >= 0) {
+                        dispatcher.dispatchAll(
+                                CharBuffer.wrap(chunk, 0, count));
+                    }
+                }
+                return null;
+            }
+
+            @Override
+            protected void done() {
+
+                for (Component input : inputs) {
+                    input.setEnabled(true);
+                }
+                try {
+                    get();
+                } catch (InterruptedException | ExecutionException e) {
+                    showError(parent, e);
+                }
+            }
+        }.execute();
+    }
+
+    private static void showError(Component parent, Exception e) {
+
+        Throwable cause = (e instanceof ExecutionException) ? e.getCause() : e;
+        JOptionPane.showMessageDialog(parent, "Replay failed: " + cause,
+                "JToyCalc", JOptionPane.ERROR_MESSAGE);
     }
 
     private static void addComponentWithConstraints(Container container,
@@ -115,20 +235,41 @@ public final class SwingCalculator {
         container.add(component, constraints);
     }
     
+    /**
+     * Returns a font derived from a base font with a new size.  Derived
+     * fonts are cached, so all the buttons share one font object.  Only
+     * called on the event dispatch thread.
+     */
+    private static Font deriveFont(Font base, float size) {
+
+        return DERIVED_FONTS.computeIfAbsent(base, f -> new HashMap<>())
+                .computeIfAbsent(size, s -> base.deriveFont(s.floatValue()));
+    }
+
+    /**
+     * Returns the modifier for menu shortcuts on this platform.
+     */
+    @SuppressWarnings("deprecation")
+    private static int menuShortcutKeyMask() {
+
+        // The replacement, getMenuShortcutKeyMaskEx(), needs Java 10.
+        return Toolkit.getDefaultToolkit().getMenuShortcutKeyMask();
+    }
+
     private static JButton createButton(String text, float fontSize, 
             ActionListener listener) {
         
         JButton button = new JButton(text);
         button.addActionListener(listener);
-        button.setFont(button.getFont().deriveFont(fontSize));
+        button.setFont(deriveFont(button.getFont(), fontSize));
         return button;
     }
 
-    private static JButton createDigitButton(int digit, Calculator calc) {
+    private static JButton createKeyButton(String text, int keyIndex,
+            KeyDispatcher dispatcher) {
 
-        JButton button = createButton("" + digit, 32.0f, 
-                (ActionEvent e) -> calc.pressDigit(digit));
-        return button;
+        Runnable action = dispatcher.getAction(keyIndex);
+        return createButton(text, 32.0f, (ActionEvent e) -> action.run());
     }
 
     /**
@@ -0,0 +1,77 @@
+/**
+ * Copyright (C) 2026 David A Holmes Jr
+ * 
+ * This file is part of JToyCalc.
+ * 
+ * JToyCalc is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * JToyCalc is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with JToyCalc.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package us.dholmes.toycalc;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import javax.swing.JLabel;
+import javax.swing.SwingUtilities;
+
+/**
+ * A display listener that shows a calculator's display in a Swing label.
+ * The calculator may be used from any thread: updates are handed to the
+ * event dispatch thread, and coalesced so that at most one label update is
+ * waiting there at a time.  If the display changes several times before
+ * that update runs, the label only shows the latest value.
+ */
+public final class SwingDisplayAdapter implements NumericDisplayListener {
+
+    private final JLabel label;
+    private final DisplayBuffer buffer = new DisplayBuffer();
+    private final AtomicBoolean pending = new AtomicBoolean();
+    private final Runnable update = this::update;
+
+    private volatile DisplaySnapshot display = DisplaySnapshot.ZERO;
+
+    /**
+     * Constructor.
+     * 
+     * @param label The label to show the display in.
+     */
+    public SwingDisplayAdapter(JLabel label) {
+
+        this.label = label;
+    }
+
+    /* (non-Javadoc)
+     * @see us.dholmes.toycalc.NumericDisplayListener#displayUpdated(long, boolean)
+     */
+    @Override
+    public void displayUpdated(long value, boolean error) {
+
+        display = DisplaySnapshot.of(value, error);
+        if (pending.compareAndSet(false, true)) {
+            if (SwingUtilities.isEventDispatchThread()) {
+                update();
+            } else {
+                SwingUtilities.invokeLater(update);
+            }
+        }
+    }
+
+    private void update() {
+
+        // Clear the flag before reading, so that a value stored after the
+        // read schedules another update.
+        pending.set(false);
+        DisplaySnapshot current = display;
+        buffer.set(current.value, current.error);
+        label.setText(buffer.toString());
+    }
+}
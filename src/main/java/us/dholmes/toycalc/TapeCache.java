@@ -0,0 +1,344 @@
+/**
+ * Copyright (C) 2026 David A Holmes Jr
+ * 
+ * This file is part of JToyCalc.
+ * 
+ * JToyCalc is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * JToyCalc is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with JToyCalc.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package us.dholmes.toycalc;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+
+/**
+ * Evaluates key tapes from the initial calculator state, caching states
+ * reached after tape prefixes in a trie.  A tape that starts with keys seen
+ * before resumes from the state after its longest cached prefix and only
+ * presses the remaining keys, so tapes built from a common template cost
+ * little more than their differing endings.
+ * <p>
+ * The trie is compressed: each node holds the run of keys leading to it
+ * from its parent and the state after them, so nodes only exist where
+ * tapes end or branch, and following a cached prefix is mostly a string
+ * comparison.  When a tape leaves the trie part way through a run, the run
+ * is split and the state at the split is computed once.
+ * <p>
+ * The cache holds a bounded number of nodes.  Each evaluation stamps the
+ * nodes on its path, so a node is never older than its descendants.  When
+ * the cache overflows, a sweep drops every branch older than the median
+ * stamp, leaving it about half full, so eviction costs are spread over many
+ * evaluations.  This class is thread-safe.
+ */
+public final class TapeCache {
+
+    /** The default maximum number of trie nodes. */
+    public static final int DEFAULT_MAX_NODES = 1 << 16;
+
+    /**
+     * A trie node: the keys from its parent, and the state after them.
+     * Children are indexed by the key index of their first key.
+     */
+    private static final class Node {
+
+        final String keys;
+        final CalculatorState state;
+        Node[] children;
+        long lastUsed;
+
+        Node(String keys, CalculatorState state) {
+
+            this.keys = keys;
+            this.state = state;
+        }
+    }
+
+    private final int maxNodes;
+    private final Node root = new Node("", CalculatorState.INITIAL);
+    private long clock = 0;
+    private int nodeCount = 0;
+    private long cachedKeys = 0;
+    private long pressedKeys = 0;
+
+    /**
+     * Constructor.  Caches up to {@link #DEFAULT_MAX_NODES} nodes.
+     */
+    public TapeCache() {
+
+        this(DEFAULT_MAX_NODES);
+    }
+
+    /**
+     * Constructor.
+     * 
+     * @param maxNodes The maximum number of trie nodes to keep.
+     */
+    public TapeCache(int maxNodes) {
+
+        if (maxNodes < 0) {
+            throw new IllegalArgumentException("Negative cache size: "
+                    + maxNodes);
+        }
+        this.maxNodes = maxNodes;
+    }
+
+    /**
+     * Returns the state a new calculator would reach after pressing a
+     * sequence of keys.
+     * 
+     * @param keys The keys to press, as accepted by
+     *            {@link Calculator#pressAll(CharSequence)}.
+     * @return The state after the keys.
+     * @throws IllegalArgumentException if any key is not recognized.
+     */
+    public synchronized CalculatorState evaluate(CharSequence keys) {
+
+        // Follow the longest cached prefix.  Cached keys are all valid, so
+        // only the rest of the tape needs checking.
+        int length = keys.length();
+        long now = ++clock;
+        Node node = root;
+        int i = 0;
+        int splitIndex = KeyDispatcher.NO_KEY;
+        int splitAt = 0;
+        while (i < length && node.children != null) {
+            int keyIndex = KeyDispatcher.keyIndex(keys.charAt(i));
+            Node child = (keyIndex == KeyDispatcher.NO_KEY) ? null
+                    : node.children[keyIndex];
+            if (child == null) {
+                break;
+            }
+            int matched = matchLength(child.keys, keys, i);
+            if (matched == 0) {
+                break;
+            }
+            i += matched;
+            if (matched < child.keys.length()) {
+                // The tape leaves the trie part way through the child's keys.
+                splitIndex = keyIndex;
+                splitAt = matched;
+                break;
+            }
+            child.lastUsed = now;
+            node = child;
+        }
+
+        for (int j = i; j < length; j++) {
+            char key = keys.charAt(j);
+            if (!Calculator.isKey(key)) {
+                throw new IllegalArgumentException("Unrecognized key: '"
+                        + key + "'");
+            }
+        }
+        cachedKeys += i;
+        if (splitIndex != KeyDispatcher.NO_KEY) {
+            node = split(node, splitIndex, splitAt);
+            node.lastUsed = now;
+        }
+
+        // Then press the rest.
+        CalculatorState state = node.state;
+        if (i < length) {
+            String rest = keys.subSequence(i, length).toString();
+            state = state.pressAll(rest);
+            pressedKeys += rest.length();
+            Node leaf = addChild(node, rest, state);
+            leaf.lastUsed = now;
+        }
+
+        if (nodeCount > maxNodes) {
+            sweep();
+        }
+        return state;
+    }
+
+    /**
+     * Puts a calculator in the state a new calculator would reach after
+     * pressing a sequence of keys.  Its display listeners are notified if
+     * the display changes.
+     * 
+     * @param calculator The calculator.
+     * @param keys The keys to press.
+     * @throws IllegalArgumentException if any key is not recognized.  In that
+     *             case the calculator is unchanged.
+     */
+    public void apply(Calculator calculator, CharSequence keys) {
+
+        calculator.setState(evaluate(keys));
+    }
+
+    /**
+     * @return The number of trie nodes.
+     */
+    public synchronized int getNodeCount() {
+
+        return nodeCount;
+    }
+
+    /**
+     * @return The total number of tape keys found in the cache.
+     */
+    public synchronized long getCachedKeys() {
+
+        return cachedKeys;
+    }
+
+    /**
+     * @return The total number of keys pressed, including keys pressed to
+     *         compute the state where a run of keys was split.
+     */
+    public synchronized long getPressedKeys() {
+
+        return pressedKeys;
+    }
+
+    private Node addChild(Node parent, String keys, CalculatorState state) {
+
+        if (parent.children == null) {
+            parent.children = new Node[KeyDispatcher.KEY_COUNT];
+        }
+        Node child = new Node(keys, state);
+        parent.children[KeyDispatcher.keyIndex(keys.charAt(0))] = child;
+        nodeCount++;
+        return child;
+    }
+
+    /**
+     * Splits a child's keys after the given number of keys, inserting a node
+     * with the state at that point.
+     * 
+     * @return The inserted node.
+     */
+    private Node split(Node parent, int keyIndex, int at) {
+
+        Node child = parent.children[keyIndex];
+        String head = child.keys.substring(0, at);
+        CalculatorState state = parent.state.pressAll(head);
+        pressedKeys += at;
+
+        Node middle = new Node(head, state);
+        middle.lastUsed = child.lastUsed;
+        middle.children = new Node[KeyDispatcher.KEY_COUNT];
+        String tail = child.keys.substring(at);
+        Node tailNode = new Node(tail, child.state);
+        tailNode.children = child.children;
+        tailNode.lastUsed = child.lastUsed;
+        middle.children[KeyDispatcher.keyIndex(tail.charAt(0))] = tailNode;
+        parent.children[keyIndex] = middle;
+        nodeCount++;
+        return middle;
+    }
+
+    /**
+     * Returns how many keys of a node match a tape, starting at an offset.
+     */
+    private static int matchLength(String nodeKeys, CharSequence keys,
+            int offset) {
+
+        if (keys instanceof String
+                && ((String) keys).startsWith(nodeKeys, offset)) {
+            return nodeKeys.length();
+        }
+        int limit = Math.min(nodeKeys.length(), keys.length() - offset);
+        int matched = 0;
+        while (matched < limit
+                && nodeKeys.charAt(matched) == keys.charAt(offset + matched)) {
+            matched++;
+        }
+        return matched;
+    }
+
+    /**
+     * Evicts every branch last used before the median stamp.  The trie is
+     * walked with explicit stacks, since it is as deep as the longest tape.
+     */
+    private void sweep() {
+
+        long[] stamps = new long[nodeCount];
+        int count = 0;
+        Deque<Node> stack = new ArrayDeque<>();
+        stack.push(root);
+        while (!stack.isEmpty()) {
+            Node[] children = stack.pop().children;
+            if (children != null) {
+                for (Node child : children) {
+                    if (child != null) {
+                        stamps[count++] = child.lastUsed;
+                        stack.push(child);
+                    }
+                }
+            }
+        }
+        Arrays.sort(stamps);
+        evictOlder(stamps[stamps.length / 2]);
+        if (nodeCount > maxNodes) {
+            // Everything was used by the same evaluation.
+            root.children = null;
+            nodeCount = 0;
+        }
+    }
+
+    /**
+     * Removes every node last used before a cutoff, along with its
+     * descendants, which are never newer.
+     */
+    private void evictOlder(long cutoff) {
+
+        Deque<Node> stack = new ArrayDeque<>();
+        stack.push(root);
+        while (!stack.isEmpty()) {
+            Node node = stack.pop();
+            Node[] children = node.children;
+            if (children == null) {
+                continue;
+            }
+            boolean empty = true;
+            for (int i = 0; i < children.length; i++) {
+                Node child = children[i];
+                if (child == null) {
+                    continue;
+                }
+                if (child.lastUsed < cutoff) {
+                    children[i] = null;
+                    nodeCount -= countNodes(child);
+                } else {
+                    stack.push(child);
+                    empty = false;
+                }
+            }
+            if (empty) {
+                node.children = null;
+            }
+        }
+    }
+
+    private static int countNodes(Node branch) {
+
+        int count = 0;
+        Deque<Node> stack = new ArrayDeque<>();
+        stack.push(branch);
+        while (!stack.isEmpty()) {
+            Node node = stack.pop();
+            count++;
+            if (node.children != null) {
+                for (Node child : node.children) {
+                    if (child != null) {
+                        stack.push(child);
+                    }
+                }
+            }
+        }
+        return count;
+    }
+}
@@ -19,6 +19,8 @@
 package us.dholmes.toycalc.kotlin
 
 import us.dholmes.toycalc.Calculator
+import us.dholmes.toycalc.KeyDispatcher
+import us.dholmes.toycalc.Launcher
 import java.awt.Component
 import java.awt.Container
 import java.awt.GridBagConstraints
@@ -43,9 +45,10 @@ private fun createAndShowGui() {
     calculator.addDisplayListener { s: String -> displayLabel.text = s }
     addComponentWithConstraints(frame, displayLabel, 0, 0, 4, 1)
 
+    val dispatcher = KeyDispatcher(calculator)
     val digitButtons = ArrayList<JButton>()
     for (i in 0..9) {
-        digitButtons.add(createDigitButton(i, calculator))
+        digitButtons.add(createKeyButton("" + i, i, dispatcher))
     }
 
     addComponentWithConstraints(frame, digitButtons[0], 0, 4, 2, 1)
@@ -59,16 +62,11 @@ private fun createAndShowGui() {
     addComponentWithConstraints(frame, digitButtons[8], 1, 1, 1, 1)
     addComponentWithConstraints(frame, digitButtons[9], 2, 1, 1, 1)
 
-    val addButton = createButton("+", 32.0f,
-            { _: ActionEvent -> calculator.pressOperation(Calculator.Operation.Add) })
-    val subButton = createButton("-", 32.0f,
-            { _: ActionEvent -> calculator.pressOperation(Calculator.Operation.Subtract) })
-    val mulButton = createButton("\u00d7", 32.0f,
-            { _: ActionEvent -> calculator.pressOperation(Calculator.Operation.Multiply) })
-    val difButton = createButton("\u00f7", 32.0f,
-            { _: ActionEvent -> calculator.pressOperation(Calculator.Operation.Divide) })
-    val eqButton = createButton("=", 32.0f,
-            { _: ActionEvent -> calculator.pressEquals() })
+    val addButton = createKeyButton("+", KeyDispatcher.ADD, dispatcher)
+    val subButton = createKeyButton("-", KeyDispatcher.SUBTRACT, dispatcher)
+    val mulButton = createKeyButton("\u00d7", KeyDispatcher.MULTIPLY, dispatcher)
+    val difButton = createKeyButton("\u00f7", KeyDispatcher.DIVIDE, dispatcher)
+    val eqButton = createKeyButton("=", KeyDispatcher.EQUALS, dispatcher)
 
     addComponentWithConstraints(frame, addButton, 3, 1, 1, 1)
     addComponentWithConstraints(frame, subButton, 3, 2, 1, 1)
@@ -78,6 +76,7 @@ private fun createAndShowGui() {
 
     frame.setSize(300, 300)
     frame.isVisible = true
+    Launcher.displayShown()
 }
 
 private fun addComponentWithConstraints(container: Container,
@@ -103,10 +102,11 @@ private fun createButton(text: String, fontSize: Float,
     return button
 }
 
-private fun createDigitButton(digit: Int, calc: Calculator): JButton {
+private fun createKeyButton(text: String, keyIndex: Int,
+                            dispatcher: KeyDispatcher): JButton {
 
-    return createButton("" + digit, 32.0f,
-            { _: ActionEvent -> calc.pressDigit(digit) })
+    val action = dispatcher.getAction(keyIndex)
+    return createButton(text, 32.0f, { _: ActionEvent -> action.run() })
 }
 
 /**
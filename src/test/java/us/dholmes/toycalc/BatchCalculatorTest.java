@@ -0,0 +1,115 @@
+/**
+ * Copyright (C) 2026 David A Holmes Jr
+ * 
+ * This file is part of JToyCalc.
+ * 
+ * JToyCalc is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * JToyCalc is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with JToyCalc.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package us.dholmes.toycalc;
+
+import static org.junit.Assert.*;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * BatchCalculator JUnit tests.
+ */
+public class BatchCalculatorTest {
+
+    /** A directory for each test's input and output files. */
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    /**
+     * Test that output stays in input order when the input is split into
+     * many chunks evaluated on several threads.
+     * 
+     * @throws Exception if the files can't be processed.
+     */
+    @Test
+    public void testManyChunks() throws Exception {
+
+        StringBuilder input = new StringBuilder();
+        StringBuilder expected = new StringBuilder();
+        for (int i = 0; i < 500; i++) {
+            String tape = (i % 7 == 0) ? "" : i + "*" + (i % 13) + "+1=";
+            input.append(tape).append('\n');
+            Calculator calculator = new Calculator();
+            calculator.pressAll(tape);
+            expected.append(calculator.getDisplayString()).append('\n');
+        }
+
+        for (long chunkSize : new long[] { 1, 5, 64, 1 << 20 }) {
+            assertEquals(0, run(input.toString(), 4, chunkSize));
+            assertEquals("chunk size " + chunkSize, expected.toString(),
+                    output());
+        }
+    }
+
+    /**
+     * Test CRLF line endings, empty and invalid lines, and a last line with
+     * no newline.
+     * 
+     * @throws Exception if the files can't be processed.
+     */
+    @Test
+    public void testLines() throws Exception {
+
+        String input = "12+3=\r\n\r\n\n1?2\r\n7*6=\n\r\n99/0=\n5+5";
+        String expected = "15\n0\n0\ninvalid\n42\n0\nerror\n5\n";
+        for (long chunkSize : new long[] { 1, 3, 1024 }) {
+            assertEquals(1, run(input, 2, chunkSize));
+            assertEquals("chunk size " + chunkSize, expected, output());
+        }
+    }
+
+    /**
+     * Test an empty input file.
+     * 
+     * @throws Exception if the files can't be processed.
+     */
+    @Test
+    public void testEmpty() throws Exception {
+
+        assertEquals(0, run("", 1, BatchCalculator.CHUNK_SIZE));
+        assertEquals("", output());
+    }
+
+    private long run(String input, int threads, long chunkSize)
+            throws IOException, InterruptedException {
+
+        Path inputPath = folder.getRoot().toPath().resolve("input.txt");
+        Files.write(inputPath, input.getBytes(StandardCharsets.US_ASCII));
+        return BatchCalculator.run(inputPath, outputPath(), threads,
+                chunkSize);
+    }
+
+    private String output() throws IOException {
+
+        return new String(Files.readAllBytes(outputPath()),
+                StandardCharsets.US_ASCII);
+    }
+
+    private Path outputPath() {
+
+        return folder.getRoot().toPath().resolve("output.txt");
+    }
+}
@@ -0,0 +1,123 @@
+/**
+ * Copyright (C) 2026 David A Holmes Jr
+ * 
+ * This file is part of JToyCalc.
+ * 
+ * JToyCalc is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * JToyCalc is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with JToyCalc.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package us.dholmes.toycalc;
+
+import static org.junit.Assert.*;
+
+import java.math.BigInteger;
+
+import org.junit.Test;
+
+/**
+ * BigCalculator JUnit tests.
+ */
+public class BigCalculatorTest {
+
+    /**
+     * Test that results match {@link Calculator} when nothing overflows.
+     */
+    @Test
+    public void testMatchesCalculator() {
+
+        String[] tapes = { "00153892745", "5+6-3=*3/2===", "12+34*5==",
+                "7/0=", "7/0=+1", "7/0=3", "9-=", "9*==", "1+2=3", "8/3==",
+                "1-99999999=" };
+        for (String tape : tapes) {
+            Calculator calc = new Calculator();
+            BigCalculator bigCalc = new BigCalculator();
+            for (int i = 0; i < tape.length(); i++) {
+                calc.pressKey(tape.charAt(i));
+                bigCalc.pressKey(tape.charAt(i));
+                assertEquals(tape + " at " + i, calc.getDisplayString(),
+                        bigCalc.getDisplayString());
+            }
+        }
+    }
+
+    /**
+     * Test that results which overflow a long are computed exactly.
+     */
+    @Test
+    public void testPromotion() {
+
+        BigCalculator calc = new BigCalculator();
+
+        calc.pressAll("99999999*99999999*99999999=");
+        assertEquals("999999970000000299999999", calc.getDisplayString());
+
+        calc.pressAll("/99999999/99999999=");
+        assertEquals("99999999", calc.getDisplayString());
+
+        calc.pressAll("99999999*99999999*99999999=/0=");
+        assertEquals("error", calc.getDisplayString());
+    }
+
+    /**
+     * Test that repeated equals carries a large stored operand.
+     */
+    @Test
+    public void testRepeatEqualsWithLargeOperand() {
+
+        BigCalculator calc = new BigCalculator(20);
+        calc.pressAll("0+99999999999999999999==");
+
+        assertEquals(new BigInteger("199999999999999999998"),
+                calc.getDisplayValue());
+    }
+
+    /**
+     * Test the configurable digit limit.
+     */
+    @Test
+    public void testDigitLimit() {
+
+        BigCalculator calc = new BigCalculator(30);
+        for (int i = 0; i < 35; i++) {
+            calc.pressDigit(9 - i % 10);
+        }
+        assertEquals("987654321098765432109876543210",
+                calc.getDisplayString());
+
+        calc = new BigCalculator(3);
+        calc.pressAll("12345");
+        assertEquals("123", calc.getDisplayString());
+    }
+
+    /**
+     * Test that inputs stay on the long path for as long as they fit.
+     */
+    @Test
+    public void testLongInput() {
+
+        BigCalculator calc = new BigCalculator(20);
+        calc.pressAll("9223372036854775807");
+        assertFalse(calc.isInputBig());
+        assertEquals("9223372036854775807", calc.getDisplayString());
+
+        calc.pressAll("+1=");
+        assertEquals("9223372036854775808", calc.getDisplayString());
+
+        calc.pressAll("9223372036854775808");
+        assertTrue(calc.isInputBig());
+        assertEquals("9223372036854775808", calc.getDisplayString());
+
+        calc.pressAll("-1=");
+        assertEquals("9223372036854775807", calc.getDisplayString());
+    }
+}
@@ -0,0 +1,221 @@
+/**
+ * Copyright (C) 2026 David A Holmes Jr
+ * 
+ * This file is part of JToyCalc.
+ * 
+ * JToyCalc is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * JToyCalc is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with JToyCalc.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package us.dholmes.toycalc;
+
+import static org.junit.Assert.*;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+/**
+ * BinaryCalculatorServer JUnit tests.
+ */
+public class BinaryCalculatorServerTest {
+
+    /**
+     * Test pipelined requests for several sessions on one connection.
+     * 
+     * @throws IOException if the connection fails.
+     */
+    @Test
+    public void testPipelining() throws IOException {
+
+        try (BinaryCalculatorServer server = new BinaryCalculatorServer(0, 1,
+                TimeUnit.MINUTES);
+                SocketChannel channel = connect(server)) {
+            ByteBuffer requests = ByteBuffer.allocate(256);
+            putRequest(requests, 1, "12+");
+            putRequest(requests, 2, "7");
+            putRequest(requests, 1, "34=");
+            putRequest(requests, 2, "x");
+            putRequest(requests, 2, "/0=");
+            putRequest(requests, 1, "");
+            putRequest(requests, 3, "0-5=");
+            write(channel, requests);
+
+            ByteBuffer responses = read(channel, 7);
+            assertResponse(responses, 12, 0);
+            assertResponse(responses, 7, 0);
+            assertResponse(responses, 46, 0);
+            assertResponse(responses, 0, BinaryCalculatorServer.FLAG_REJECTED);
+            assertEquals(BinaryCalculatorServer.FLAG_ERROR,
+                    responses.get(responses.position() + 8));
+            responses.position(responses.position()
+                    + BinaryCalculatorServer.RESPONSE_SIZE);
+            assertResponse(responses, 46, 0);
+            assertResponse(responses, -5, 0);
+        }
+    }
+
+    /**
+     * Test requests that arrive a byte at a time, and a request too large
+     * for the server's initial buffer.
+     * 
+     * @throws IOException if the connection fails.
+     */
+    @Test
+    public void testFragmentedRequests() throws IOException {
+
+        try (BinaryCalculatorServer server = new BinaryCalculatorServer(0, 1,
+                TimeUnit.MINUTES);
+                SocketChannel channel = connect(server)) {
+            StringBuilder tape = new StringBuilder();
+            for (int i = 0; i < 5000; i++) {
+                tape.append("+1");
+            }
+            ByteBuffer requests = ByteBuffer.allocate(16384);
+            putRequest(requests, 9, "12+34*5=");
+            putRequest(requests, 10, tape.append('=').toString());
+            requests.flip();
+            for (int i = 0; i < 30; i++) {
+                ByteBuffer single = ByteBuffer.allocate(1);
+                single.put(requests.get()).flip();
+                channel.write(single);
+            }
+            channel.write(requests);
+
+            ByteBuffer responses = read(channel, 2);
+            assertResponse(responses, 230, 0);
+            assertResponse(responses, 5000, 0);
+        }
+    }
+
+    /**
+     * Test many connections with many requests in flight on each.
+     * 
+     * @throws IOException if a connection fails.
+     */
+    @Test
+    public void testManyConnections() throws IOException {
+
+        int connections = 100;
+        int depth = 50;
+        try (BinaryCalculatorServer server = new BinaryCalculatorServer(0, 1,
+                TimeUnit.MINUTES)) {
+            List<SocketChannel> channels = new ArrayList<>();
+            try {
+                for (int i = 0; i < connections; i++) {
+                    SocketChannel channel = connect(server);
+                    channels.add(channel);
+                    ByteBuffer requests = ByteBuffer.allocate(
+                            (BinaryCalculatorServer.REQUEST_HEADER_SIZE + 2)
+                                    * (depth + 1));
+                    for (int j = 0; j < depth; j++) {
+                        putRequest(requests, i, "+1");
+                    }
+                    putRequest(requests, i, "=");
+                    write(channel, requests);
+                }
+                for (SocketChannel channel : channels) {
+                    ByteBuffer responses = read(channel, depth + 1);
+                    for (int j = 0; j < depth; j++) {
+                        // The display shows the 1 just entered.
+                        assertResponse(responses, 1, 0);
+                    }
+                    assertResponse(responses, depth, 0);
+                }
+            } finally {
+                for (SocketChannel channel : channels) {
+                    channel.close();
+                }
+            }
+        }
+    }
+
+    /**
+     * Test that a client that resets its connection straight away doesn't
+     * stop the server serving others.
+     * 
+     * @throws IOException if a connection fails.
+     */
+    @Test
+    public void testResetConnection() throws IOException {
+
+        try (BinaryCalculatorServer server = new BinaryCalculatorServer(0, 1,
+                TimeUnit.MINUTES)) {
+            for (int i = 0; i < 10; i++) {
+                try (Socket socket = new Socket("localhost",
+                        server.getPort())) {
+                    // Closing with a zero linger time sends a reset.
+                    socket.setSoLinger(true, 0);
+                }
+            }
+            try (SocketChannel channel = connect(server)) {
+                ByteBuffer requests = ByteBuffer.allocate(64);
+                putRequest(requests, 1, "12+34=");
+                write(channel, requests);
+                assertResponse(read(channel, 1), 46, 0);
+            }
+        }
+    }
+
+    private static SocketChannel connect(BinaryCalculatorServer server)
+            throws IOException {
+
+        return SocketChannel.open(new InetSocketAddress("localhost",
+                server.getPort()));
+    }
+
+    private static void putRequest(ByteBuffer buffer, long sessionId,
+            String keys) {
+
+        buffer.putShort((short) keys.length());
+        buffer.putLong(sessionId);
+        buffer.put(keys.getBytes(StandardCharsets.US_ASCII));
+    }
+
+    private static void write(SocketChannel channel, ByteBuffer buffer)
+            throws IOException {
+
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    private static ByteBuffer read(SocketChannel channel, int responses)
+            throws IOException {
+
+        ByteBuffer buffer = ByteBuffer.allocate(
+                responses * BinaryCalculatorServer.RESPONSE_SIZE);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer) < 0) {
+                fail("Connection closed");
+            }
+        }
+        buffer.flip();
+        return buffer;
+    }
+
+    private static void assertResponse(ByteBuffer buffer, long value,
+            int flags) {
+
+        assertEquals(value, buffer.getLong());
+        assertEquals(flags, buffer.get());
+    }
+}
@@ -0,0 +1,149 @@
+/**
+ * Copyright (C) 2026 David A Holmes Jr
+ * 
+ * This file is part of JToyCalc.
+ * 
+ * JToyCalc is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * JToyCalc is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with JToyCalc.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package us.dholmes.toycalc;
+
+import static org.junit.Assert.*;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import org.junit.Test;
+
+import us.dholmes.toycalc.Calculator.Operation;
+
+/**
+ * BulkEvaluator JUnit tests.
+ */
+public class BulkEvaluatorTest {
+
+    private static final Operation[] OPERATIONS = Operation.values();
+
+    /**
+     * Test mixed operations against {@link Operation#apply(long, long)}, for
+     * inputs below and above the parallel threshold.
+     */
+    @Test
+    public void testMixedOperations() {
+
+        Random random = new Random(1);
+        for (int length : new int[] { 0, 1, 63, 64, 1000, 5000,
+                BulkEvaluator.PARALLEL_THRESHOLD * 3 + 17 }) {
+            long[] a = randomOperands(random, length);
+            long[] b = randomOperands(random, length);
+            Operation[] operations = new Operation[length];
+            for (int i = 0; i < length; i++) {
+                // Long runs of one operation, then a random stretch.
+                operations[i] = (i < length / 2)
+                        ? OPERATIONS[(i / 2048) % OPERATIONS.length]
+                        : OPERATIONS[random.nextInt(OPERATIONS.length)];
+            }
+
+            long[] result = new long[length];
+            long[] errors = BulkEvaluator.newErrorBitmap(length);
+            Arrays.fill(errors, -1);
+            BulkEvaluator.evaluate(a, b, operations, result, errors);
+
+            for (int i = 0; i < length; i++) {
+                checkPair(operations[i], a[i], b[i], result[i],
+                        BulkEvaluator.isError(errors, i));
+            }
+        }
+    }
+
+    /**
+     * Test a single operation applied to every pair, with the results
+     * written over the first operand array.
+     */
+    @Test
+    public void testSingleOperation() {
+
+        Random random = new Random(2);
+        int length = BulkEvaluator.PARALLEL_THRESHOLD + 100;
+        for (Operation operation : OPERATIONS) {
+            long[] a = randomOperands(random, length);
+            long[] original = a.clone();
+            long[] b = randomOperands(random, length);
+            long[] errors = BulkEvaluator.newErrorBitmap(length);
+
+            BulkEvaluator.evaluate(operation, a, b, a, errors);
+
+            for (int i = 0; i < length; i++) {
+                checkPair(operation, original[i], b[i], a[i],
+                        BulkEvaluator.isError(errors, i));
+            }
+        }
+    }
+
+    /**
+     * Test that results match pressing the keys on a {@link Calculator}.
+     */
+    @Test
+    public void testMatchesCalculator() {
+
+        long[] a = { 7, 7, 7, 7, 7 };
+        long[] b = { 3, 3, 3, 3, 0 };
+        long[] result = new long[a.length];
+        long[] errors = BulkEvaluator.newErrorBitmap(a.length);
+        BulkEvaluator.evaluate(a, b, new Operation[] { Operation.Add,
+                Operation.Subtract, Operation.Multiply, Operation.Divide,
+                Operation.Divide }, result, errors);
+
+        String[] tapes = { "7+3=", "7-3=", "7*3=", "7/3=", "7/0=" };
+        for (int i = 0; i < tapes.length; i++) {
+            Calculator calc = new Calculator();
+            calc.pressAll(tapes[i]);
+            assertEquals(calc.isError(), BulkEvaluator.isError(errors, i));
+            if (!calc.isError()) {
+                assertEquals(calc.getDisplayValue(), result[i]);
+            }
+        }
+    }
+
+    private static long[] randomOperands(Random random, int length) {
+
+        long[] operands = new long[length];
+        for (int i = 0; i < length; i++) {
+            // Plenty of zeros, small numbers and overflowing products.
+            switch (random.nextInt(4)) {
+            case 0:
+                operands[i] = 0;
+                break;
+            case 1:
+                operands[i] = random.nextInt(200) - 100;
+                break;
+            default:
+                operands[i] = random.nextLong();
+                break;
+            }
+        }
+        return operands;
+    }
+
+    private static void checkPair(Operation operation, long a, long b,
+            long result, boolean error) {
+
+        if (operation == Operation.Divide && b == 0) {
+            assertTrue(error);
+            assertEquals(a, result);
+        } else {
+            assertFalse(error);
+            assertEquals(operation.apply(a, b), result);
+        }
+    }
+}
@@ -0,0 +1,132 @@
+/**
+ * Copyright (C) 2026 David A Holmes Jr
+ * 
+ * This file is part of JToyCalc.
+ * 
+ * JToyCalc is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * JToyCalc is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with JToyCalc.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package us.dholmes.toycalc;
+
+import static org.junit.Assert.*;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import org.junit.Test;
+
+import us.dholmes.toycalc.Calculator.Operation;
+
+/**
+ * CalculatorMetrics JUnit tests.
+ */
+public class CalculatorMetricsTest {
+
+    /**
+     * Test the counters recorded by an instrumented calculator.
+     */
+    @Test
+    public void testCounters() {
+
+        CalculatorMetrics metrics = new CalculatorMetrics();
+        Calculator calc = new Calculator(metrics);
+        calc.addNumericDisplayListener((value, error) -> { });
+        calc.pressAll("12+3*4/0=");
+        calc.pressDigit(5);
+        calc.pressOperation(Operation.Subtract);
+        calc.pressKey('=');
+
+        assertEquals(12, metrics.getKeyPresses());
+        assertEquals(1, metrics.getAddCount());
+        assertEquals(1, metrics.getSubtractCount());
+        assertEquals(1, metrics.getMultiplyCount());
+        assertEquals(1, metrics.getDivideCount());
+        assertEquals(2, metrics.getEqualsCount());
+        assertEquals(1, metrics.getDivideByZeroErrors());
+        assertEquals(2, metrics.getListenerDispatches());
+
+        long samples = 0;
+        for (long count : metrics.getLatencyHistogram()) {
+            samples += count;
+        }
+        assertEquals(4, samples);
+        assertTrue(metrics.getLatencyP50Nanos() > 0);
+        assertTrue(metrics.getLatencyP99Nanos()
+                >= metrics.getLatencyP50Nanos());
+
+        metrics.reset();
+        assertEquals(0, metrics.getKeyPresses());
+        assertEquals(0, metrics.getLatencyP99Nanos());
+    }
+
+    /**
+     * Test that the key press rate is averaged over a fixed window, and that
+     * reading it doesn't change it.
+     */
+    @Test
+    public void testKeyPressRate() {
+
+        AtomicLong clock = new AtomicLong(123_456_789);
+        CalculatorMetrics metrics = new CalculatorMetrics(clock::get);
+        long second = TimeUnit.SECONDS.toNanos(1);
+        double window = CalculatorMetrics.RATE_WINDOW_SECONDS;
+
+        // 10 keys a second for 3 seconds; the current second isn't counted.
+        for (int i = 0; i < 30; i++) {
+            metrics.recordKeyPresses(1, clock.get());
+            clock.addAndGet(second / 10);
+        }
+        assertEquals(30 / window, metrics.getKeyPressesPerSecond(), 1e-9);
+        assertEquals(30 / window, metrics.getKeyPressesPerSecond(), 1e-9);
+
+        metrics.recordKeyPresses(50, clock.get());
+        assertEquals(30 / window, metrics.getKeyPressesPerSecond(), 1e-9);
+        clock.addAndGet(second);
+        assertEquals(80 / window, metrics.getKeyPressesPerSecond(), 1e-9);
+
+        // Seconds fall out of the window, and reused slots start afresh.
+        clock.addAndGet(3 * second);
+        assertEquals(60 / window, metrics.getKeyPressesPerSecond(), 1e-9);
+        clock.addAndGet(4 * second);
+        metrics.recordKeyPresses(7, clock.get());
+        clock.addAndGet(second);
+        assertEquals(7 / window, metrics.getKeyPressesPerSecond(), 1e-9);
+
+        metrics.reset();
+        assertEquals(0, metrics.getKeyPressesPerSecond(), 0);
+    }
+
+    /**
+     * Test that the metrics can be read through the platform MBean server.
+     */
+    @Test
+    public void testRegister() throws Exception {
+
+        CalculatorMetrics metrics = new CalculatorMetrics();
+        metrics.register("test");
+        try {
+            new Calculator(metrics).pressAll("1+1=");
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            ObjectName name = new ObjectName(
+                    "us.dholmes.toycalc:type=Calculator,name=\"test\"");
+            assertEquals(4L, server.getAttribute(name, "KeyPresses"));
+            assertEquals(1L, server.getAttribute(name, "AddCount"));
+        } finally {
+            metrics.unregister();
+        }
+    }
+}
@@ -0,0 +1,298 @@
+/**
+ * Copyright (C) 2026 David A Holmes Jr
+ * 
+ * This file is part of JToyCalc.
+ * 
+ * JToyCalc is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * JToyCalc is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with JToyCalc.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package us.dholmes.toycalc;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Flow;
+import java.util.concurrent.SubmissionPublisher;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+/**
+ * CalculatorProcessor JUnit tests.
+ */
+public class CalculatorProcessorTest {
+
+    /**
+     * Test that displays are conflated while the subscriber has no demand.
+     */
+    @Test
+    public void testConflation() {
+
+        CalculatorProcessor processor = new CalculatorProcessor();
+        Upstream upstream = new Upstream(processor);
+        Downstream downstream = new Downstream(processor);
+
+        downstream.request(1);
+        assertEquals(List.of("0"), downstream.displays);
+
+        upstream.send("12+34");
+        assertEquals(List.of("0"), downstream.displays);
+        downstream.request(1);
+        assertEquals(List.of("0", "34"), downstream.displays);
+        downstream.request(1);
+        assertEquals(2, downstream.displays.size());
+
+        upstream.send("=");
+        assertEquals(List.of("0", "34", "46"), downstream.displays);
+
+        downstream.request(Long.MAX_VALUE);
+        upstream.send("*2=");
+        assertEquals(List.of("0", "34", "46", "2", "92"),
+                downstream.displays);
+        assertFalse(downstream.completed);
+    }
+
+    /**
+     * Test that keys are requested in bounded batches regardless of
+     * downstream demand.
+     */
+    @Test
+    public void testUpstreamDemand() {
+
+        CalculatorProcessor processor = new CalculatorProcessor();
+        Upstream upstream = new Upstream(processor);
+        Downstream downstream = new Downstream(processor);
+        assertEquals(CalculatorProcessor.KEY_BATCH, upstream.requested);
+
+        StringBuilder keys = new StringBuilder();
+        for (int i = 0; i < 1000; i++) {
+            keys.append("1+");
+        }
+        upstream.send(keys.append('=').toString());
+        assertTrue(upstream.requested > 0);
+        assertTrue(upstream.requested <= CalculatorProcessor.KEY_BATCH);
+
+        downstream.request(1);
+        assertEquals(List.of("1000"), downstream.displays);
+    }
+
+    /**
+     * Test that the last display is sent before completion, once there is
+     * demand for it.
+     */
+    @Test
+    public void testCompletion() {
+
+        CalculatorProcessor processor = new CalculatorProcessor();
+        Upstream upstream = new Upstream(processor);
+        Downstream downstream = new Downstream(processor);
+
+        upstream.send("7*6=");
+        processor.onComplete();
+        assertFalse(downstream.completed);
+        downstream.request(1);
+        assertEquals(List.of("42"), downstream.displays);
+        assertTrue(downstream.completed);
+
+        upstream.send("1");
+        assertEquals(List.of("42"), downstream.displays);
+    }
+
+    /**
+     * Test that upstream errors and unrecognized keys fail the subscriber.
+     */
+    @Test
+    public void testErrors() {
+
+        CalculatorProcessor processor = new CalculatorProcessor();
+        Upstream upstream = new Upstream(processor);
+        Downstream downstream = new Downstream(processor);
+        upstream.send("12?");
+        assertTrue(upstream.cancelled);
+        assertTrue(downstream.error instanceof IllegalArgumentException);
+        assertTrue(downstream.displays.isEmpty());
+
+        processor = new CalculatorProcessor();
+        new Upstream(processor);
+        downstream = new Downstream(processor);
+        IllegalStateException failure = new IllegalStateException();
+        processor.onError(failure);
+        assertSame(failure, downstream.error);
+
+        processor = new CalculatorProcessor();
+        upstream = new Upstream(processor);
+        downstream = new Downstream(processor);
+        downstream.request(0);
+        assertTrue(upstream.cancelled);
+        assertTrue(downstream.error instanceof IllegalArgumentException);
+    }
+
+    /**
+     * Test that only one subscriber is accepted, and that cancelling
+     * cancels upstream.
+     */
+    @Test
+    public void testSubscribers() {
+
+        CalculatorProcessor processor = new CalculatorProcessor();
+        Upstream upstream = new Upstream(processor);
+        Downstream first = new Downstream(processor);
+        Downstream second = new Downstream(processor);
+        assertNull(first.error);
+        assertTrue(second.error instanceof IllegalStateException);
+
+        first.subscription.cancel();
+        assertTrue(upstream.cancelled);
+        first.request(1);
+        assertTrue(first.displays.isEmpty());
+    }
+
+    /**
+     * Test a slow subscriber behind an asynchronous publisher.
+     * 
+     * @throws InterruptedException if interrupted while waiting.
+     */
+    @Test
+    public void testAsynchronous() throws InterruptedException {
+
+        CalculatorProcessor processor = new CalculatorProcessor();
+        List<String> displays = new ArrayList<>();
+        CountDownLatch completed = new CountDownLatch(1);
+        processor.subscribe(new Flow.Subscriber<String>() {
+
+            private Flow.Subscription subscription;
+
+            @Override
+            public void onSubscribe(Flow.Subscription subscription) {
+
+                this.subscription = subscription;
+                subscription.request(1);
+            }
+
+            @Override
+            public void onNext(String display) {
+
+                displays.add(display);
+                try {
+                    Thread.sleep(1);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                subscription.request(1);
+            }
+
+            @Override
+            public void onError(Throwable throwable) {
+
+                completed.countDown();
+            }
+
+            @Override
+            public void onComplete() {
+
+                completed.countDown();
+            }
+        });
+
+        try (SubmissionPublisher<Character> publisher =
+                new SubmissionPublisher<>()) {
+            publisher.subscribe(processor);
+            for (int i = 0; i < 10000; i++) {
+                publisher.submit('1');
+                publisher.submit('+');
+            }
+            publisher.submit('=');
+        }
+        assertTrue(completed.await(10, TimeUnit.SECONDS));
+        assertEquals("10000", displays.get(displays.size() - 1));
+        assertTrue(displays.size() < 20001);
+    }
+
+    private static final class Upstream implements Flow.Subscription {
+
+        private final CalculatorProcessor processor;
+        private long requested;
+        private boolean cancelled;
+
+        Upstream(CalculatorProcessor processor) {
+
+            this.processor = processor;
+            processor.onSubscribe(this);
+        }
+
+        void send(String keys) {
+
+            for (int i = 0; i < keys.length() && !cancelled; i++) {
+                assertTrue(requested > 0);
+                requested--;
+                processor.onNext(keys.charAt(i));
+            }
+        }
+
+        @Override
+        public void request(long n) {
+
+            requested += n;
+        }
+
+        @Override
+        public void cancel() {
+
+            cancelled = true;
+        }
+    }
+
+    private static final class Downstream implements Flow.Subscriber<String> {
+
+        private final List<String> displays = new ArrayList<>();
+        private Flow.Subscription subscription;
+        private Throwable error;
+        private boolean completed;
+
+        Downstream(CalculatorProcessor processor) {
+
+            processor.subscribe(this);
+        }
+
+        void request(long n) {
+
+            subscription.request(n);
+        }
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+
+            this.subscription = subscription;
+        }
+
+        @Override
+        public void onNext(String display) {
+
+            displays.add(display);
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+
+            error = throwable;
+        }
+
+        @Override
+        public void onComplete() {
+
+            completed = true;
+        }
+    }
+}
@@ -0,0 +1,125 @@
+/**
+ * Copyright (C) 2026 David A Holmes Jr
+ * 
+ * This file is part of JToyCalc.
+ * 
+ * JToyCalc is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * JToyCalc is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with JToyCalc.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package us.dholmes.toycalc;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+
+import us.dholmes.toycalc.Calculator.Operation;
+
+/**
+ * CalculatorState and ConcurrentCalculator JUnit tests.
+ */
+public class CalculatorStateTest {
+
+    private static final String[] TAPES = { "", "0", "00153892745",
+            "5+6-3=*3/2===", "12+34*5==", "7/0=", "7/0=+1", "7/0=3",
+            "9-=", "9*==", "1+2=3", "1+2=+", "++--", "4+5*", "8/3==" };
+
+    /**
+     * Test that the state transitions match {@link Calculator} after every
+     * key of several tapes.
+     */
+    @Test
+    public void testMatchesCalculator() {
+
+        for (String tape : TAPES) {
+            Calculator calc = new Calculator();
+            CalculatorState state = CalculatorState.INITIAL;
+            assertEquals(calc.getState(), state);
+
+            for (int i = 0; i < tape.length(); i++) {
+                calc.pressKey(tape.charAt(i));
+                state = state.pressKey(tape.charAt(i));
+                assertEquals(tape + " at " + i, calc.getState(), state);
+                assertEquals(calc.getDisplayString(),
+                        state.getDisplayString());
+            }
+        }
+    }
+
+    /**
+     * Test that transitions don't modify the original state.
+     */
+    @Test
+    public void testImmutable() {
+
+        CalculatorState before = CalculatorState.INITIAL.pressAll("12+3");
+        CalculatorState after = before.pressEquals();
+
+        assertEquals("3", before.getDisplayString());
+        assertEquals("15", after.getDisplayString());
+        assertEquals(Operation.Add, before.getCurrentOperation());
+        assertEquals(Operation.Add, after.getStoredOperation());
+    }
+
+    /**
+     * Test method for
+     * {@link us.dholmes.toycalc.Calculator#setState(CalculatorState)}.
+     */
+    @Test
+    public void testSetState() {
+
+        Calculator calc = new Calculator();
+        List<String> displays = new ArrayList<>();
+        calc.addDisplayListener(displays::add);
+
+        calc.setState(CalculatorState.INITIAL.pressAll("2*3="));
+        assertEquals("6", calc.getDisplayString());
+        assertEquals(1, displays.size());
+
+        calc.pressEquals();
+        assertEquals("18", calc.getDisplayString());
+    }
+
+    /**
+     * Test that key sequences pressed concurrently on a
+     * {@link ConcurrentCalculator} are each applied atomically.
+     * 
+     * @throws InterruptedException if interrupted while waiting.
+     */
+    @Test
+    public void testConcurrentPresses() throws InterruptedException {
+
+        ConcurrentCalculator calc = new ConcurrentCalculator();
+        int threadCount = 4;
+        int pressesPerThread = 10000;
+
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < threadCount; t++) {
+            Thread thread = new Thread(() -> {
+                for (int i = 0; i < pressesPerThread; i++) {
+                    calc.pressAll("+1");
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        CalculatorState state = calc.pressEquals();
+        assertEquals(threadCount * pressesPerThread, state.getDisplayValue());
+    }
+}
@@ -0,0 +1,277 @@
+/**
+ * Copyright (C) 2026 David A Holmes Jr
+ * 
+ * This file is part of JToyCalc.
+ * 
+ * JToyCalc is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * JToyCalc is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with JToyCalc.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package us.dholmes.toycalc;
+
+import static org.junit.Assert.*;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.Predicate;
+
+import org.junit.Test;
+
+import us.dholmes.toycalc.Calculator.Operation;
+
+/**
+ * Differential stress test: random key sequences are run in parallel
+ * against {@link Calculator}, {@link CalculatorState} and
+ * {@link ReferenceCalculator}, and their displays compared after every
+ * key.  A divergence is reported with a minimized sequence that still
+ * reproduces it.
+ * <p>
+ * The number of sequences defaults to a quick run; set the system property
+ * {@code jtoycalc.stress.sequences} for a longer one, and
+ * {@code jtoycalc.stress.seed} to vary the sequences.
+ */
+public class CalculatorStressTest {
+
+    private static final Operation[] OPERATIONS = Operation.values();
+
+    /** Keys 0-9 are digits, then one per operation, then "equals". */
+    private static final int EQUALS = 10 + OPERATIONS.length;
+    private static final int KEY_COUNT = EQUALS + 1;
+
+    private static final int MAX_LENGTH = 40;
+    private static final int LEAF_SEQUENCES = 4096;
+
+    /**
+     * Test random sequences against the reference model.
+     */
+    @Test
+    public void testRandomSequences() {
+
+        long sequences = Long.getLong("jtoycalc.stress.sequences", 200000);
+        long seed = Long.getLong("jtoycalc.stress.seed", 20260101L);
+
+        int[] failure = ForkJoinPool.commonPool()
+                .invoke(new StressTask(seed, 0, sequences));
+        if (failure != null) {
+            int[] minimal = minimize(failure,
+                    CalculatorStressTest::diverges);
+            fail("Divergence after " + format(minimal) + ": "
+                    + describe(minimal));
+        }
+    }
+
+    /**
+     * Test that minimizing a failing sequence keeps only the keys needed to
+     * reproduce it.
+     */
+    @Test
+    public void testMinimize() {
+
+        int[] keys = { 1, 2, 10 + Operation.Divide.ordinal(), 0, EQUALS,
+                10 + Operation.Add.ordinal(), EQUALS };
+        int[] minimal = minimize(keys, CalculatorStressTest::hasError);
+        assertArrayEquals(
+                new int[] { 10 + Operation.Divide.ordinal(), EQUALS },
+                minimal);
+    }
+
+    /**
+     * Checks a range of sequences, splitting it in parallel.  Returns the
+     * keys of the first diverging sequence found, or null.
+     */
+    private static final class StressTask extends RecursiveTask<int[]> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final long seed;
+        private final long start;
+        private final long end;
+
+        StressTask(long seed, long start, long end) {
+
+            this.seed = seed;
+            this.start = start;
+            this.end = end;
+        }
+
+        @Override
+        protected int[] compute() {
+
+            if (end - start > LEAF_SEQUENCES) {
+                long middle = (start + end) >>> 1;
+                StressTask right = new StressTask(seed, middle, end);
+                right.fork();
+                int[] failure = new StressTask(seed, start, middle).compute();
+                int[] rightFailure = right.join();
+                return (failure != null) ? failure : rightFailure;
+            }
+            int[] keys = new int[MAX_LENGTH];
+            for (long i = start; i < end; i++) {
+                // Each sequence has its own generator, so that it can be
+                // reproduced from the seed and its index alone.
+                SplittableRandom random = new SplittableRandom(seed ^ i);
+                int length = generate(random, keys);
+                int[] sequence = Arrays.copyOf(keys, length);
+                if (diverges(sequence)) {
+                    return sequence;
+                }
+            }
+            return null;
+        }
+    }
+
+    /**
+     * Fills an array with random keys, favoring repeated "equals".
+     * 
+     * @return The number of keys generated.
+     */
+    private static int generate(SplittableRandom random, int[] keys) {
+
+        int length = 1 + random.nextInt(keys.length);
+        for (int i = 0; i < length; i++) {
+            if (i > 0 && keys[i - 1] == EQUALS && random.nextInt(3) == 0) {
+                keys[i] = EQUALS;
+            } else {
+                keys[i] = random.nextInt(KEY_COUNT);
+            }
+        }
+        return length;
+    }
+
+    /**
+     * Presses the keys on all three implementations, comparing them after
+     * each key.
+     */
+    private static boolean diverges(int[] keys) {
+
+        Calculator calculator = new Calculator();
+        CalculatorState state = CalculatorState.INITIAL;
+        ReferenceCalculator reference = new ReferenceCalculator();
+        for (int key : keys) {
+            if (key < 10) {
+                calculator.pressDigit(key);
+                state = state.pressDigit(key);
+                reference.pressDigit(key);
+            } else if (key == EQUALS) {
+                calculator.pressEquals();
+                state = state.pressEquals();
+                reference.pressEquals();
+            } else {
+                Operation operation = OPERATIONS[key - 10];
+                calculator.pressOperation(operation);
+                state = state.pressOperation(operation);
+                reference.pressOperation(operation);
+            }
+            String expected = reference.getDisplayString();
+            if (!expected.equals(calculator.getDisplayString())
+                    || !expected.equals(state.getDisplayString())
+                    || reference.isError() != calculator.isError()
+                    || reference.isError() != state.isError()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean hasError(int[] keys) {
+
+        Calculator calculator = new Calculator();
+        for (int key : keys) {
+            if (key < 10) {
+                calculator.pressDigit(key);
+            } else if (key == EQUALS) {
+                calculator.pressEquals();
+            } else {
+                calculator.pressOperation(OPERATIONS[key - 10]);
+            }
+        }
+        return calculator.isError();
+    }
+
+    /**
+     * Shrinks a failing sequence by delta debugging: repeatedly removes
+     * chunks of keys, halving the chunk size whenever no chunk can be
+     * removed, until no single key can be removed.
+     */
+    static int[] minimize(int[] keys, Predicate<int[]> fails) {
+
+        int chunks = 2;
+        while (keys.length >= 2) {
+            int chunkSize = (keys.length + chunks - 1) / chunks;
+            boolean reduced = false;
+            for (int from = 0; from < keys.length; from += chunkSize) {
+                int to = Math.min(from + chunkSize, keys.length);
+                int[] complement = new int[keys.length - (to - from)];
+                System.arraycopy(keys, 0, complement, 0, from);
+                System.arraycopy(keys, to, complement, from,
+                        keys.length - to);
+                if (fails.test(complement)) {
+                    keys = complement;
+                    chunks = Math.max(chunks - 1, 2);
+                    reduced = true;
+                    break;
+                }
+            }
+            if (!reduced) {
+                if (chunks >= keys.length) {
+                    break;
+                }
+                chunks = Math.min(chunks * 2, keys.length);
+            }
+        }
+        return keys;
+    }
+
+    private static String format(int[] keys) {
+
+        StringBuilder text = new StringBuilder("\"");
+        for (int key : keys) {
+            if (key < 10) {
+                text.append(key);
+            } else if (key == EQUALS) {
+                text.append('=');
+            } else {
+                text.append('[').append(OPERATIONS[key - 10]).append(']');
+            }
+        }
+        return text.append('"').toString();
+    }
+
+    private static String describe(int[] keys) {
+
+        Calculator calculator = new Calculator();
+        CalculatorState state = CalculatorState.INITIAL;
+        ReferenceCalculator reference = new ReferenceCalculator();
+        for (int key : keys) {
+            if (key < 10) {
+                calculator.pressDigit(key);
+                state = state.pressDigit(key);
+                reference.pressDigit(key);
+            } else if (key == EQUALS) {
+                calculator.pressEquals();
+                state = state.pressEquals();
+                reference.pressEquals();
+            } else {
+                Operation operation = OPERATIONS[key - 10];
+                calculator.pressOperation(operation);
+                state = state.pressOperation(operation);
+                reference.pressOperation(operation);
+            }
+        }
+        return "Calculator shows " + calculator.getDisplayString()
+                + ", CalculatorState shows " + state.getDisplayString()
+                + ", the reference model shows "
+                + reference.getDisplayString();
+    }
+}
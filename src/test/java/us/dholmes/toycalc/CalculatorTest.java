@@ -20,6 +20,16 @@ package us.dholmes.toycalc;
 
 import static org.junit.Assert.*;
 
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
 import org.junit.Test;
 
 import us.dholmes.toycalc.Calculator.Operation;
@@ -141,4 +151,390 @@ public class CalculatorTest {
         calc.pressDigit(7);
         assertEquals("567", calc.getDisplayString());
     }
+
+    /**
+     * Test method for {@link us.dholmes.toycalc.Calculator#pressAll(CharSequence)}.
+     */
+    @Test
+    public void testPressAll() {
+
+        Calculator calc = new Calculator();
+        List<String> displays = new ArrayList<>();
+        calc.addDisplayListener(displays::add);
+
+        calc.pressAll("12+34*5==");
+
+        assertEquals("1150", calc.getDisplayString());
+        assertEquals(1, displays.size());
+        assertEquals("1150", displays.get(0));
+
+        calc.pressAll("");
+        assertEquals(1, displays.size());
+    }
+
+    /**
+     * Test method for {@link us.dholmes.toycalc.Calculator#pressAll(byte[])}.
+     */
+    @Test
+    public void testPressAllBytes() {
+
+        Calculator calc = new Calculator();
+
+        calc.pressAll("8/2-1=".getBytes(StandardCharsets.US_ASCII));
+        assertEquals("3", calc.getDisplayString());
+
+        calc.pressAll("x9/0=x".getBytes(StandardCharsets.US_ASCII), 1, 4);
+        assertEquals("error", calc.getDisplayString());
+    }
+
+    /**
+     * Test method for {@link us.dholmes.toycalc.Calculator#pressAll(CharSequence)}
+     * with an unrecognized key.
+     */
+    @Test
+    public void testPressAllUnrecognizedKey() {
+
+        Calculator calc = new Calculator();
+        calc.pressKey('7');
+
+        try {
+            calc.pressAll("1+x");
+            fail("Expected IllegalArgumentException");
+        } catch (IllegalArgumentException e) {
+            // expected
+        }
+        assertEquals("7", calc.getDisplayString());
+    }
+
+    /**
+     * Test method for
+     * {@link us.dholmes.toycalc.Calculator#addNumericDisplayListener(NumericDisplayListener)}.
+     */
+    @Test
+    public void testNumericDisplayListener() {
+
+        Calculator calc = new Calculator();
+        long[] lastValue = new long[1];
+        boolean[] lastError = new boolean[1];
+        calc.addNumericDisplayListener((long value, boolean error) -> {
+            lastValue[0] = value;
+            lastError[0] = error;
+        });
+
+        calc.pressAll("1-5=");
+        assertEquals(-4, lastValue[0]);
+        assertFalse(lastError[0]);
+
+        calc.pressAll("/0=");
+        assertTrue(lastError[0]);
+    }
+
+    /**
+     * Test method for {@link us.dholmes.toycalc.Calculator#getDisplayChars()}.
+     */
+    @Test
+    public void testGetDisplayChars() {
+
+        Calculator calc = new Calculator();
+        assertEquals("0", calc.getDisplayChars().toString());
+
+        calc.pressAll("12-345=");
+        CharSequence chars = calc.getDisplayChars();
+        assertEquals("-333", chars.toString());
+        assertEquals(4, chars.length());
+        assertEquals('-', chars.charAt(0));
+        assertEquals("33", chars.subSequence(1, 3).toString());
+
+        calc.pressAll("/0=");
+        assertEquals("error", calc.getDisplayChars().toString());
+    }
+
+    /**
+     * Test that all String display listeners share one String per update.
+     */
+    @Test
+    public void testDisplayStringSharedByListeners() {
+
+        Calculator calc = new Calculator();
+        List<String> first = new ArrayList<>();
+        List<String> second = new ArrayList<>();
+        calc.addDisplayListener(first::add);
+        calc.addDisplayListener(second::add);
+
+        calc.pressDigit(4);
+        assertEquals("4", first.get(0));
+        assertSame(first.get(0), second.get(0));
+    }
+
+    /**
+     * Test that key presses which leave the display unchanged don't notify
+     * the display listeners.
+     */
+    @Test
+    public void testUnchangedDisplayNotNotified() {
+
+        Calculator calc = new Calculator();
+        List<String> displays = new ArrayList<>();
+        calc.addDisplayListener(displays::add);
+
+        calc.pressDigit(0);
+        calc.pressOperation(Operation.Add);
+        assertTrue(displays.isEmpty());
+
+        calc.pressDigit(5);
+        calc.pressOperation(Operation.Add);
+        calc.pressOperation(Operation.Subtract);
+        assertEquals(1, displays.size());
+
+        calc.pressAll("/0=");
+        calc.pressOperation(Operation.Add);
+        assertEquals(2, displays.size());
+        assertEquals("error", displays.get(1));
+    }
+
+    /**
+     * Test method for {@link us.dholmes.toycalc.Calculator#beginBatch()} and
+     * {@link us.dholmes.toycalc.Calculator#endBatch()}.
+     */
+    @Test
+    public void testBatch() {
+
+        Calculator calc = new Calculator();
+        List<String> displays = new ArrayList<>();
+        calc.addDisplayListener(displays::add);
+
+        calc.beginBatch();
+        calc.pressDigit(1);
+        calc.beginBatch();
+        calc.pressAll("2+3");
+        calc.endBatch();
+        calc.pressEquals();
+        assertTrue(displays.isEmpty());
+        calc.endBatch();
+
+        assertEquals(1, displays.size());
+        assertEquals("15", displays.get(0));
+    }
+
+    /**
+     * Test method for
+     * {@link us.dholmes.toycalc.Calculator#setNotificationInterval(long, TimeUnit, java.util.concurrent.Executor)}.
+     */
+    @Test
+    public void testNotificationInterval() {
+
+        Calculator calc = new Calculator();
+        List<String> displays = new ArrayList<>();
+        calc.addDisplayListener(displays::add);
+        calc.setNotificationInterval(1, TimeUnit.HOURS, Runnable::run);
+
+        calc.pressDigit(1);
+        calc.pressDigit(2);
+        calc.pressDigit(3);
+        assertEquals(1, displays.size());
+        assertEquals("1", displays.get(0));
+
+        calc.flushDisplay();
+        assertEquals(2, displays.size());
+        assertEquals("123", displays.get(1));
+
+        calc.flushDisplay();
+        assertEquals(2, displays.size());
+    }
+
+    /**
+     * Test that a display held back by the notification interval is
+     * delivered on the calculator's thread when the interval ends, without
+     * another key press.
+     * 
+     * @throws Exception if the calculator's thread fails.
+     */
+    @Test
+    public void testNotificationIntervalEnds() throws Exception {
+
+        ExecutorService owner = Executors.newSingleThreadExecutor();
+        try {
+            Calculator calc = new Calculator();
+            List<String> displays = new CopyOnWriteArrayList<>();
+            CountDownLatch delivered = new CountDownLatch(1);
+            Thread ownerThread = owner.submit(Thread::currentThread).get();
+            calc.addDisplayListener((String display) -> {
+                assertSame(ownerThread, Thread.currentThread());
+                displays.add(display);
+                if (display.equals("123")) {
+                    delivered.countDown();
+                }
+            });
+            owner.submit(() -> {
+                calc.setNotificationInterval(50, TimeUnit.MILLISECONDS,
+                        owner);
+                calc.pressDigit(1);
+                calc.pressDigit(2);
+                calc.pressDigit(3);
+            }).get();
+
+            assertTrue(delivered.await(10, TimeUnit.SECONDS));
+            assertEquals(Arrays.asList("1", "123"), displays);
+        } finally {
+            owner.shutdown();
+        }
+    }
+
+    /**
+     * Test method for {@link us.dholmes.toycalc.Calculator#undo()} and
+     * {@link us.dholmes.toycalc.Calculator#redo()}.
+     */
+    @Test
+    public void testUndoRedo() {
+
+        Calculator calc = new Calculator();
+        calc.setHistoryDepth(10);
+        assertFalse(calc.undo());
+
+        calc.pressAll("12+3=");
+        calc.pressEquals();
+        assertEquals("18", calc.getDisplayString());
+
+        assertTrue(calc.undo());
+        assertEquals("15", calc.getDisplayString());
+        assertTrue(calc.undo());
+        assertEquals("3", calc.getDisplayString());
+        assertTrue(calc.redo());
+        assertEquals("15", calc.getDisplayString());
+
+        // The stored operation must be restored too.
+        calc.pressEquals();
+        assertEquals("18", calc.getDisplayString());
+        assertFalse(calc.canRedo());
+        assertFalse(calc.redo());
+    }
+
+    /**
+     * Test that undo is limited to the history depth.
+     */
+    @Test
+    public void testUndoDepth() {
+
+        Calculator calc = new Calculator();
+        List<String> displays = new ArrayList<>();
+        calc.addDisplayListener(displays::add);
+        calc.setHistoryDepth(3);
+
+        calc.pressAll("123456");
+        assertTrue(calc.undo());
+        assertTrue(calc.undo());
+        assertTrue(calc.undo());
+        assertFalse(calc.undo());
+        assertEquals("123", calc.getDisplayString());
+        assertEquals("123", displays.get(displays.size() - 1));
+
+        while (calc.redo()) {
+            // redo everything
+        }
+        assertEquals("123456", calc.getDisplayString());
+        assertFalse(calc.canRedo());
+        assertTrue(calc.canUndo());
+    }
+
+    /**
+     * Test method for
+     * {@link us.dholmes.toycalc.Calculator#pressOperation(BinaryOperation)}
+     * with operations other than the built-in ones.
+     */
+    @Test
+    public void testCustomOperations() {
+
+        BinaryOperation modulo = (a, b) -> a % b;
+        BinaryOperation power = (a, b) -> {
+            long result = 1;
+            for (long i = 0; i < b; i++) {
+                result *= a;
+            }
+            return result;
+        };
+        CalculatorMetrics metrics = new CalculatorMetrics();
+        Calculator calc = new Calculator(metrics);
+        CalculatorState state = CalculatorState.INITIAL;
+
+        calc.pressAll("17");
+        calc.pressOperation(modulo);
+        calc.pressDigit(5);
+        calc.pressOperation(Operation.Add);
+        assertEquals("2", calc.getDisplayString());
+        state = state.pressAll("17").pressOperation(modulo).pressDigit(5)
+                .pressOperation(Operation.Add);
+        assertEquals(calc.getState(), state);
+
+        // Repeated "equals" repeats a custom operation too.
+        calc.pressDigit(1);
+        calc.pressOperation(power);
+        calc.pressDigit(2);
+        calc.pressEquals();
+        assertEquals("9", calc.getDisplayString());
+        calc.pressEquals();
+        assertEquals("81", calc.getDisplayString());
+        state = state.pressDigit(1).pressOperation(power).pressDigit(2)
+                .pressEquals().pressEquals();
+        assertEquals(calc.getState(), state);
+        assertSame(power, state.getStoredBinaryOperation());
+        try {
+            state.getStoredOperation();
+            fail("Expected IllegalStateException");
+        } catch (IllegalStateException e) {
+            // expected
+        }
+
+        // Key sequences apply a pending custom operation, and repeat it.
+        calc.pressDigit(2);
+        calc.pressOperation(power);
+        calc.pressAll("3==+1=");
+        assertEquals("513", calc.getDisplayString());
+        calc.pressDigit(2);
+        calc.pressOperation(power);
+        calc.pressAll("3==".getBytes(StandardCharsets.US_ASCII));
+        assertEquals("512", calc.getDisplayString());
+
+        // ArithmeticException is displayed as an error.
+        calc.pressAll("7");
+        calc.pressOperation(modulo);
+        calc.pressAll("0=");
+        assertTrue(calc.isError());
+        assertTrue(state.pressDigit(7).pressOperation(modulo).pressAll("0=")
+                .isError());
+
+        // Only the built-in operations are counted.
+        assertEquals(2, metrics.getAddCount());
+        assertEquals(0, metrics.getSubtractCount()
+                + metrics.getMultiplyCount() + metrics.getDivideCount());
+    }
+
+    /**
+     * Test that undo restores custom operations.
+     */
+    @Test
+    public void testUndoCustomOperation() {
+
+        BinaryOperation max = Math::max;
+        Calculator calc = new Calculator();
+        calc.setHistoryDepth(10);
+
+        calc.pressDigit(3);
+        calc.pressOperation(max);
+        calc.pressDigit(8);
+        calc.pressEquals();
+        calc.pressOperation(Operation.Subtract);
+        calc.pressAll("9=");
+        assertEquals("-1", calc.getDisplayString());
+
+        assertTrue(calc.undo());
+        assertTrue(calc.undo());
+        assertTrue(calc.undo());
+        assertEquals("8", calc.getDisplayString());
+        assertSame(max, calc.getState().getStoredBinaryOperation());
+        calc.pressEquals();
+        assertEquals("8", calc.getDisplayString());
+        assertTrue(calc.undo());
+        assertTrue(calc.undo());
+        assertSame(max, calc.getState().getCurrentBinaryOperation());
+    }
 }
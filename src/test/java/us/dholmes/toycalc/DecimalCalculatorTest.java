@@ -0,0 +1,361 @@
+/**
+ * Copyright (C) 2026 David A Holmes Jr
+ * 
+ * This file is part of JToyCalc.
+ * 
+ * JToyCalc is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * JToyCalc is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with JToyCalc.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package us.dholmes.toycalc;
+
+import static org.junit.Assert.*;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import org.junit.Test;
+
+/**
+ * DecimalCalculator JUnit tests.
+ */
+public class DecimalCalculatorTest {
+
+    /**
+     * Test that with no fraction digits and truncation, results match
+     * {@link Calculator} when nothing overflows.
+     */
+    @Test
+    public void testMatchesCalculator() {
+
+        String[] tapes = { "00153892745", "5+6-3=*3/2===", "12+34*5==",
+                "7/0=", "7/0=+1", "7/0=3", "9-=", "9*==", "1+2=3", "8/3==",
+                "1-99999999=", "0-7/2=" };
+        for (String tape : tapes) {
+            Calculator calc = new Calculator();
+            DecimalCalculator decimalCalc =
+                    new DecimalCalculator(0, RoundingMode.DOWN);
+            for (int i = 0; i < tape.length(); i++) {
+                calc.pressKey(tape.charAt(i));
+                decimalCalc.pressKey(tape.charAt(i));
+                assertEquals(tape + " at " + i, calc.getDisplayString(),
+                        decimalCalc.getDisplayString());
+            }
+        }
+    }
+
+    /**
+     * Test entering numbers with a decimal point.
+     */
+    @Test
+    public void testInput() {
+
+        DecimalCalculator calc = new DecimalCalculator(2, RoundingMode.HALF_UP);
+        assertEquals("0", calc.getDisplayString());
+        calc.pressPoint();
+        assertEquals("0.", calc.getDisplayString());
+        calc.pressDigit(0);
+        assertEquals("0.0", calc.getDisplayString());
+        calc.pressDigit(5);
+        assertEquals("0.05", calc.getDisplayString());
+        assertEquals(5, calc.getScaledDisplayValue());
+
+        // Extra fraction digits and points are ignored.
+        calc.pressAll("7.");
+        assertEquals("0.05", calc.getDisplayString());
+
+        calc.pressAll("+12.50");
+        assertEquals("12.50", calc.getDisplayString());
+        calc.pressEquals();
+        assertEquals("12.55", calc.getDisplayString());
+
+        // A point after "equals" starts a new number.
+        calc.pressAll(".5");
+        assertEquals("0.5", calc.getDisplayString());
+
+        calc.pressAll("=123456.789");
+        assertEquals("123456.78", calc.getDisplayString());
+    }
+
+    /**
+     * Test fixed-point arithmetic and trailing zero removal.
+     */
+    @Test
+    public void testArithmetic() {
+
+        assertEquals("3.375", evaluate("1.5*2.25="));
+        assertEquals("0.3333", evaluate("1/3="));
+        assertEquals("0.6667", evaluate("2/3="));
+        assertEquals("-0.6667", evaluate("0-2/3="));
+        assertEquals("0.3", evaluate(".1+.2="));
+        assertEquals("2", evaluate("1.5+.5="));
+        assertEquals("-1.25", evaluate("1-2.25="));
+        assertEquals("1.21", evaluate("1.1*1.1="));
+        assertEquals("error", evaluate("1.5/0="));
+    }
+
+    /**
+     * Test each rounding mode against {@link BigDecimal}.
+     */
+    @Test
+    public void testRoundingModes() {
+
+        String[] tapes = { "5/8=", "0-5/8=", "1/8=", "0-1/8=", "3/8=",
+                "0-3/8=", "1/3=", "0-2/3=", "1.25*.5=", ".15*.5=" };
+        for (RoundingMode mode : RoundingMode.values()) {
+            if (mode == RoundingMode.UNNECESSARY) {
+                continue;
+            }
+            for (String tape : tapes) {
+                DecimalCalculator calc = new DecimalCalculator(2, mode);
+                calc.pressAll(tape);
+                assertEquals(tape + " " + mode,
+                        reference(tape, 2, mode).stripTrailingZeros()
+                                .toPlainString(),
+                        calc.getDisplayString());
+            }
+        }
+
+        DecimalCalculator calc =
+                new DecimalCalculator(2, RoundingMode.UNNECESSARY);
+        calc.pressAll("1/4=");
+        assertEquals("0.25", calc.getDisplayString());
+        calc.pressAll("1/8=");
+        assertTrue(calc.isError());
+    }
+
+    /**
+     * Test that results which don't fit in a scaled long are errors, and that
+     * wide intermediate products are still computed exactly.
+     */
+    @Test
+    public void testRange() {
+
+        // With two fraction digits 99999999^2 fits; 99999999^3 doesn't.
+        DecimalCalculator calc = new DecimalCalculator(2, RoundingMode.UP);
+        calc.pressAll("99999999*99999999=");
+        assertEquals("9999999800000001", calc.getDisplayString());
+        calc.pressAll("*99999999=");
+        assertTrue(calc.isError());
+
+        // Nine fraction digits leave room for about 9.2e9.  The numerators of
+        // these divisions are wider than 64 bits.
+        calc = new DecimalCalculator(9, RoundingMode.HALF_EVEN);
+        calc.pressAll("96000*96000=");
+        assertEquals("9216000000", calc.getDisplayString());
+        calc.pressAll("96000*96000/96000=");
+        assertEquals("96000", calc.getDisplayString());
+        calc.pressAll("96000*96000/7=");
+        assertEquals(reference("96000*96000/7=", 9, RoundingMode.HALF_EVEN)
+                .stripTrailingZeros().toPlainString(),
+                calc.getDisplayString());
+
+        // Additions that overflow are errors rather than wrapping.
+        calc.pressAll("96000*96000+99999999=");
+        assertTrue(calc.isError());
+    }
+
+    /**
+     * Test random tapes against {@link BigDecimal}.
+     */
+    @Test
+    public void testRandomTapes() {
+
+        SplittableRandom random = new SplittableRandom(22);
+        String keys = "0123456789.+-*/=";
+        RoundingMode[] modes = { RoundingMode.HALF_UP, RoundingMode.HALF_EVEN,
+                RoundingMode.FLOOR, RoundingMode.UP };
+        for (int n = 0; n < 2000; n++) {
+            StringBuilder tape = new StringBuilder();
+            int length = random.nextInt(4, 24);
+            for (int i = 0; i < length; i++) {
+                tape.append(keys.charAt(random.nextInt(keys.length())));
+            }
+            tape.append('=');
+            int fractionDigits = random.nextInt(0, 7);
+            RoundingMode mode = modes[random.nextInt(modes.length)];
+            DecimalCalculator calc =
+                    new DecimalCalculator(fractionDigits, mode);
+            calc.pressAll(tape);
+            BigDecimal expected = reference(tape, fractionDigits, mode);
+            String message = tape + " " + fractionDigits + " " + mode;
+            if (expected == null) {
+                assertTrue(message, calc.isError());
+            } else {
+                assertEquals(message,
+                        expected.stripTrailingZeros().toPlainString(),
+                        calc.getDisplayString());
+            }
+        }
+    }
+
+    /**
+     * Test display listeners.
+     */
+    @Test
+    public void testListeners() {
+
+        DecimalCalculator calc = new DecimalCalculator();
+        List<String> displays = new ArrayList<>();
+        calc.addDisplayListener(displays::add);
+        calc.pressKey('1');
+        calc.pressKey('.');
+        calc.pressAll("5*2=");
+        assertEquals("[1, 1., 3]", displays.toString());
+        assertEquals("DecimalCalculator [current display: 3]",
+                calc.toString());
+    }
+
+    /**
+     * Test invalid arguments.
+     */
+    @Test
+    public void testInvalidArguments() {
+
+        try {
+            new DecimalCalculator(10, RoundingMode.HALF_UP);
+            fail();
+        } catch (IllegalArgumentException e) {
+            // Expected
+        }
+        DecimalCalculator calc = new DecimalCalculator();
+        try {
+            calc.pressAll("1.5x");
+            fail();
+        } catch (IllegalArgumentException e) {
+            // Expected
+        }
+        assertEquals("0", calc.getDisplayString());
+    }
+
+    private static String evaluate(String tape) {
+
+        DecimalCalculator calc = new DecimalCalculator();
+        calc.pressAll(tape);
+        return calc.getDisplayString();
+    }
+
+    /**
+     * Evaluates the final result of a tape ending in "=" with
+     * {@link BigDecimal}, or returns null for an error.  As in
+     * {@link Calculator}, a digit after an error starts over.
+     */
+    private static BigDecimal reference(CharSequence tape,
+            int fractionDigits, RoundingMode mode) {
+
+        BigDecimal limit = BigDecimal.valueOf(Long.MAX_VALUE)
+                .movePointLeft(fractionDigits);
+        BigDecimal accumulator = BigDecimal.ZERO;
+        BigDecimal storedOperand = BigDecimal.ZERO;
+        char operation = 0;
+        char storedOperation = 0;
+        StringBuilder input = new StringBuilder();
+        boolean equalsPressed = false;
+        boolean error = false;
+        for (int i = 0; i < tape.length(); i++) {
+            char key = tape.charAt(i);
+            if (Character.isDigit(key) || key == '.') {
+                if (equalsPressed || error) {
+                    accumulator = BigDecimal.ZERO;
+                    storedOperand = BigDecimal.ZERO;
+                    operation = 0;
+                    storedOperation = 0;
+                    equalsPressed = false;
+                    error = false;
+                    input.setLength(0);
+                }
+                input.append(key);
+                continue;
+            }
+            BigDecimal operand = parseInput(input, fractionDigits);
+            if (key == '=' && equalsPressed) {
+                operand = storedOperand;
+                operation = storedOperation;
+            }
+            if (key == '=' || !equalsPressed) {
+                BigDecimal result = apply(accumulator, operand, operation,
+                        fractionDigits, mode);
+                if (result == null || result.abs().compareTo(limit) > 0) {
+                    error = true;
+                } else {
+                    accumulator = result;
+                }
+                input.setLength(0);
+            }
+            if (key == '=') {
+                storedOperation = operation;
+                storedOperand = operand;
+                operation = 0;
+                equalsPressed = true;
+            } else {
+                operation = key;
+                equalsPressed = false;
+            }
+        }
+        return error ? null : accumulator;
+    }
+
+    /**
+     * Parses typed input the way {@link DecimalCalculator} does: at most
+     * eight digits not counting leading zeros, at most one point, and
+     * fraction digits beyond the scale ignored.
+     */
+    private static BigDecimal parseInput(CharSequence input,
+            int fractionDigits) {
+
+        StringBuilder digits = new StringBuilder("0");
+        int significant = 0;
+        int fraction = -1;
+        for (int i = 0; i < input.length(); i++) {
+            char key = input.charAt(i);
+            if (key == '.') {
+                if (fraction < 0) {
+                    fraction = 0;
+                    digits.append('.');
+                }
+            } else if (significant < 8 && fraction < 0) {
+                digits.append(key);
+                if (new BigDecimal(digits.toString()).signum() != 0) {
+                    significant++;
+                }
+            } else if (significant < 8 && fraction < fractionDigits) {
+                digits.append(key);
+                fraction++;
+                significant++;
+            }
+        }
+        return new BigDecimal(digits.toString());
+    }
+
+    private static BigDecimal apply(BigDecimal a, BigDecimal b,
+            char operation, int fractionDigits, RoundingMode mode) {
+
+        switch (operation) {
+        case '+':
+            return a.add(b);
+        case '-':
+            return a.subtract(b);
+        case '*':
+            return a.multiply(b).setScale(fractionDigits, mode);
+        case '/':
+            if (b.signum() == 0) {
+                return null;
+            }
+            return a.divide(b, fractionDigits, mode);
+        default:
+            return b;
+        }
+    }
+}
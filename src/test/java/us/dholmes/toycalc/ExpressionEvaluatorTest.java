@@ -0,0 +1,147 @@
+/**
+ * Copyright (C) 2026 David A Holmes Jr
+ * 
+ * This file is part of JToyCalc.
+ * 
+ * JToyCalc is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * JToyCalc is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with JToyCalc.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package us.dholmes.toycalc;
+
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+
+/**
+ * ExpressionEvaluator JUnit tests.
+ */
+public class ExpressionEvaluatorTest {
+
+    /**
+     * Test method for
+     * {@link us.dholmes.toycalc.ExpressionEvaluator#evaluate(String)}.
+     */
+    @Test
+    public void testEvaluate() {
+
+        ExpressionEvaluator evaluator = new ExpressionEvaluator();
+
+        assertEquals(52, evaluator.evaluate("(12+3)*7/2"));
+        assertEquals(14, evaluator.evaluate("2 + 3 * 4"));
+        assertEquals(-7, evaluator.evaluate("-(3 + 4)"));
+        assertEquals(-3, evaluator.evaluate("-7 / 2"));
+        assertEquals(3, evaluator.evaluate("10 - 4 - 3"));
+        assertEquals(5, evaluator.evaluate("100 / 10 / 2"));
+        assertEquals(6, evaluator.evaluate("2\u00d712\u00f74"));
+        assertEquals(Long.MIN_VALUE,
+                evaluator.evaluate("9223372036854775807 + 1"));
+    }
+
+    /**
+     * Test that expressions give the same results as pressing the
+     * equivalent keys on a {@link Calculator}.
+     */
+    @Test
+    public void testMatchesCalculator() {
+
+        ExpressionEvaluator evaluator = new ExpressionEvaluator();
+        Calculator calc = new Calculator();
+
+        calc.pressAll("5+6=");
+        assertEquals(calc.getDisplayValue(), evaluator.evaluate("5+6"));
+        calc.pressAll("1234*5678*9=");
+        assertEquals(calc.getDisplayValue(), evaluator.evaluate("1234*5678*9"));
+        calc.pressAll("9-30/4=");
+        assertEquals(calc.getDisplayValue(), evaluator.evaluate("(9-30)/4"));
+    }
+
+    /**
+     * Test that division by zero is an error, as in {@link Calculator}.
+     */
+    @Test(expected = ArithmeticException.class)
+    public void testDivideByZero() {
+
+        new ExpressionEvaluator().evaluate("1 + 2 / (3 - 3)");
+    }
+
+    /**
+     * Test that malformed expressions are rejected.
+     */
+    @Test
+    public void testMalformed() {
+
+        ExpressionEvaluator evaluator = new ExpressionEvaluator();
+        for (String text : new String[] { "", "1 +", "(1", "1)", "2 3",
+                "1 % 2", "99999999999999999999", "()", "1 + * 2", "-" }) {
+            try {
+                evaluator.evaluate(text);
+                fail("Expected IllegalArgumentException for " + text);
+            } catch (IllegalArgumentException e) {
+                // expected
+            }
+        }
+    }
+
+    /**
+     * Test that long sums and deep nesting are parsed and evaluated without
+     * recursion.
+     */
+    @Test
+    public void testDeepExpressions() {
+
+        ExpressionEvaluator evaluator = new ExpressionEvaluator(0);
+        StringBuilder sum = new StringBuilder("1");
+        for (int i = 1; i < 20000; i++) {
+            sum.append("+1");
+        }
+        assertEquals(20000, evaluator.evaluate(sum.toString()));
+
+        StringBuilder nested = new StringBuilder();
+        for (int i = 0; i < 50000; i++) {
+            nested.append("(-");
+        }
+        nested.append('7');
+        for (int i = 0; i < 50000; i++) {
+            nested.append(')');
+        }
+        assertEquals(7, evaluator.evaluate(nested.toString()));
+
+        nested.setLength(nested.length() - 1);
+        try {
+            evaluator.evaluate(nested.toString());
+            fail("Expected IllegalArgumentException");
+        } catch (IllegalArgumentException e) {
+            // expected
+        }
+    }
+
+    /**
+     * Test method for
+     * {@link us.dholmes.toycalc.ExpressionEvaluator#parse(String)}.
+     */
+    @Test
+    public void testCache() {
+
+        ExpressionEvaluator evaluator = new ExpressionEvaluator(2);
+
+        Expression first = evaluator.parse("1+1");
+        assertSame(first, evaluator.parse("1+1"));
+        evaluator.parse("2+2");
+        evaluator.parse("1+1");
+        evaluator.parse("3+3");
+        assertEquals(2, evaluator.getCacheSize());
+
+        assertSame(first, evaluator.parse("1+1"));
+        assertNotSame(evaluator.parse("2+2"), evaluator.parse("4+4"));
+    }
+}
@@ -0,0 +1,190 @@
+/**
+ * Copyright (C) 2026 David A Holmes Jr
+ * 
+ * This file is part of JToyCalc.
+ * 
+ * JToyCalc is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * JToyCalc is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with JToyCalc.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package us.dholmes.toycalc;
+
+import static org.junit.Assert.*;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * HttpCalculator JUnit tests.
+ */
+public class HttpCalculatorTest {
+
+    private HttpCalculator server;
+
+    /**
+     * Starts a server on an ephemeral port.
+     * 
+     * @throws IOException if the server socket can't be opened.
+     */
+    @Before
+    public void setUp() throws IOException {
+
+        server = new HttpCalculator(0, 1, TimeUnit.MINUTES);
+    }
+
+    /**
+     * Stops the server.
+     */
+    @After
+    public void tearDown() {
+
+        server.stop();
+    }
+
+    /**
+     * Test a session's life cycle: create, press keys, read, delete.
+     * 
+     * @throws IOException if a request fails.
+     */
+    @Test
+    public void testSession() throws IOException {
+
+        Response created = request("POST", "/sessions", null);
+        assertEquals(201, created.status);
+        String session = "/sessions/" + created.body;
+
+        assertEquals(new Response(200, "0"), request("GET", session, null));
+        assertEquals(new Response(200, "46"),
+                request("POST", session, "12+34="));
+        assertEquals(new Response(200, "46"), request("GET", session, null));
+
+        Response other = request("POST", "/sessions/", null);
+        assertEquals(201, other.status);
+        assertNotEquals(created.body, other.body);
+        assertEquals(new Response(200, "0"),
+                request("GET", "/sessions/" + other.body, null));
+
+        assertEquals(204, request("DELETE", session, null).status);
+        assertEquals(404, request("GET", session, null).status);
+        assertEquals(404, request("DELETE", session, null).status);
+    }
+
+    /**
+     * Test requests for sessions that don't exist or paths that don't name
+     * one.
+     * 
+     * @throws IOException if a request fails.
+     */
+    @Test
+    public void testNotFound() throws IOException {
+
+        String id = request("POST", "/sessions", null).body;
+        assertEquals(404, request("GET", "/sessions/999", null).status);
+        assertEquals(404, request("POST", "/sessions/999", "1").status);
+        assertEquals(404, request("GET", "/sessions/abc", null).status);
+        assertEquals(404, request("GET", "/sessions/-1", null).status);
+        assertEquals(404, request("GET", "/sessionsX" + id, null).status);
+        assertEquals(405, request("GET", "/sessions", null).status);
+        assertEquals(405, request("PUT", "/sessions/" + id, "1").status);
+    }
+
+    /**
+     * Test that unrecognized keys are rejected without pressing any keys.
+     * 
+     * @throws IOException if a request fails.
+     */
+    @Test
+    public void testBadKey() throws IOException {
+
+        String session = "/sessions/"
+                + request("POST", "/sessions", null).body;
+        request("POST", session, "12");
+        assertEquals(400, request("POST", session, "3?4").status);
+        assertEquals(new Response(200, "12"), request("GET", session, null));
+    }
+
+    private Response request(String method, String path, String body)
+            throws IOException {
+
+        URL url = new URL("http", "localhost", server.getPort(), path);
+        HttpURLConnection connection =
+                (HttpURLConnection) url.openConnection();
+        try {
+            connection.setRequestMethod(method);
+            if (body != null) {
+                connection.setDoOutput(true);
+                try (OutputStream out = connection.getOutputStream()) {
+                    out.write(body.getBytes(StandardCharsets.US_ASCII));
+                }
+            }
+            int status = connection.getResponseCode();
+            InputStream in = (status < 400) ? connection.getInputStream()
+                    : connection.getErrorStream();
+            String text = "";
+            if (in != null) {
+                try (InputStream stream = in) {
+                    text = new String(stream.readAllBytes(),
+                            StandardCharsets.US_ASCII);
+                }
+            }
+            return new Response(status, text);
+        } finally {
+            connection.disconnect();
+        }
+    }
+
+    /**
+     * A response's status and body.
+     */
+    private static final class Response {
+
+        private final int status;
+        private final String body;
+
+        Response(int status, String body) {
+
+            this.status = status;
+            this.body = body;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+
+            if (!(obj instanceof Response)) {
+                return false;
+            }
+            Response other = (Response) obj;
+            return status == other.status && body.equals(other.body);
+        }
+
+        @Override
+        public int hashCode() {
+
+            return 31 * status + body.hashCode();
+        }
+
+        @Override
+        public String toString() {
+
+            return status + " " + body;
+        }
+    }
+}
@@ -0,0 +1,125 @@
+/**
+ * Copyright (C) 2026 David A Holmes Jr
+ * 
+ * This file is part of JToyCalc.
+ * 
+ * JToyCalc is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * JToyCalc is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with JToyCalc.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package us.dholmes.toycalc;
+
+import static org.junit.Assert.*;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javafx.animation.AnimationTimer;
+import javafx.application.Platform;
+import javafx.scene.control.Label;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+/**
+ * JavaFxDisplayAdapter JUnit tests.  These run the JavaFX toolkit on the
+ * headless Monocle platform, so they don't need a display.
+ */
+public class JavaFxDisplayAdapterTest {
+
+    /**
+     * Starts the JavaFX toolkit on the headless platform.
+     */
+    @BeforeClass
+    public static void startToolkit() throws InterruptedException {
+
+        System.setProperty("glass.platform", "Monocle");
+        System.setProperty("monocle.platform", "Headless");
+        System.setProperty("prism.order", "sw");
+        System.setProperty("prism.text", "t2k");
+        CountDownLatch started = new CountDownLatch(1);
+        try {
+            Platform.startup(started::countDown);
+        } catch (IllegalStateException e) {
+            // Already started by another test.
+            started.countDown();
+        }
+        assertTrue(started.await(10, TimeUnit.SECONDS));
+    }
+
+    /**
+     * Test that key presses from a background thread update the label at
+     * most once per pulse, and that the label ends up showing the last
+     * display.
+     */
+    @Test
+    public void testOneUpdatePerPulse() throws Exception {
+
+        Label label = new Label();
+        JavaFxDisplayAdapter adapter = new JavaFxDisplayAdapter(label);
+        AtomicInteger changes = new AtomicInteger();
+        AtomicInteger pulses = new AtomicInteger();
+        AnimationTimer pulseCounter = new AnimationTimer() {
+            @Override
+            public void handle(long now) {
+
+                pulses.incrementAndGet();
+            }
+        };
+        runAndWait(() -> {
+            label.textProperty().addListener(
+                    (observable, oldText, newText) -> changes.incrementAndGet());
+            adapter.start();
+            pulseCounter.start();
+        });
+
+        Calculator calc = new Calculator();
+        calc.addNumericDisplayListener(adapter);
+        int presses = 200000;
+        for (int i = 0; i < presses; i++) {
+            calc.pressAll("1+");
+        }
+        calc.pressEquals();
+
+        // Wait for two pulses after the last press.
+        int seen = pulses.get();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (pulses.get() < seen + 2 && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        runAndWait(() -> {
+            adapter.stop();
+            pulseCounter.stop();
+        });
+
+        assertEquals(calc.getDisplayString(), label.getText());
+        assertTrue(changes.get() > 0);
+        assertTrue("changes " + changes + ", pulses " + pulses,
+                changes.get() <= pulses.get() + 1);
+        assertTrue(changes.get() < presses);
+    }
+
+    private static void runAndWait(Runnable action)
+            throws InterruptedException {
+
+        CountDownLatch done = new CountDownLatch(1);
+        Platform.runLater(() -> {
+            try {
+                action.run();
+            } finally {
+                done.countDown();
+            }
+        });
+        assertTrue(done.await(10, TimeUnit.SECONDS));
+    }
+}
@@ -0,0 +1,149 @@
+/**
+ * Copyright (C) 2026 David A Holmes Jr
+ * 
+ * This file is part of JToyCalc.
+ * 
+ * JToyCalc is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * JToyCalc is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with JToyCalc.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package us.dholmes.toycalc;
+
+import static org.junit.Assert.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * JournaledCalculator JUnit tests.
+ */
+public class JournaledCalculatorTest {
+
+    /** A directory for each test's journal files. */
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    /**
+     * Test that the state, including the stored operation used by repeated
+     * "equals", is recovered from the journal.
+     * 
+     * @throws IOException if the journal can't be read or written.
+     */
+    @Test
+    public void testRecoverFromJournal() throws IOException {
+
+        Path directory = folder.getRoot().toPath();
+        try (JournaledCalculator calc = JournaledCalculator.open(directory)) {
+            calc.pressAll("12+3");
+            calc.pressKey('=');
+        }
+
+        try (JournaledCalculator calc = JournaledCalculator.open(directory)) {
+            assertEquals("15", calc.getDisplayString());
+            calc.pressKey('=');
+            assertEquals("18", calc.getDisplayString());
+        }
+    }
+
+    /**
+     * Test recovery from a snapshot plus the journal written after it.
+     * 
+     * @throws IOException if the journal can't be read or written.
+     */
+    @Test
+    public void testRecoverFromSnapshot() throws IOException {
+
+        Path directory = folder.getRoot().toPath();
+        Calculator expected = new Calculator();
+        try (JournaledCalculator calc = JournaledCalculator.open(directory, 10,
+                4, 1, TimeUnit.SECONDS)) {
+            for (int i = 0; i < 25; i++) {
+                calc.pressAll("1+2*");
+                expected.pressAll("1+2*");
+            }
+            calc.pressAll("3=");
+            expected.pressAll("3=");
+        }
+
+        // Only the snapshot and the journal since it should remain.
+        assertTrue(Files.exists(directory.resolve("snapshot")));
+        try (Stream<Path> files = Files.list(directory)) {
+            assertEquals(2, files.count());
+        }
+
+        try (JournaledCalculator calc = JournaledCalculator.open(directory)) {
+            assertEquals(expected.getState(), calc.getState());
+            calc.pressKey('=');
+            expected.pressKey('=');
+            assertEquals(expected.getDisplayString(), calc.getDisplayString());
+        }
+    }
+
+    /**
+     * Test that keys are in the journal as soon as they are pressed, so a
+     * calculator that is never closed, as after a crash, loses nothing.
+     * 
+     * @throws IOException if the journal can't be read or written.
+     */
+    @Test
+    public void testRecoverWithoutClose() throws IOException {
+
+        Path directory = folder.getRoot().toPath();
+        JournaledCalculator crashed = JournaledCalculator.open(directory, 10,
+                4096, 1, TimeUnit.HOURS);
+        crashed.pressAll("6*7");
+        crashed.pressKey('=');
+        crashed.pressAll("+1+2+3+4+5");
+        crashed.pressAll("*2");
+
+        try (JournaledCalculator calc = JournaledCalculator.open(directory)) {
+            assertEquals(crashed.getState(), calc.getState());
+            calc.pressKey('=');
+            assertEquals("114", calc.getDisplayString());
+        } finally {
+            crashed.close();
+        }
+    }
+
+    /**
+     * Test that garbage at the end of the journal, as left by a torn write,
+     * is discarded.
+     * 
+     * @throws IOException if the journal can't be read or written.
+     */
+    @Test
+    public void testTornJournal() throws IOException {
+
+        Path directory = folder.getRoot().toPath();
+        try (JournaledCalculator calc = JournaledCalculator.open(directory)) {
+            calc.pressAll("42");
+        }
+        Files.write(directory.resolve("journal-0.log"), new byte[] { 0, 0 },
+                StandardOpenOption.APPEND);
+
+        try (JournaledCalculator calc = JournaledCalculator.open(directory)) {
+            assertEquals("42", calc.getDisplayString());
+            calc.pressKey('7');
+        }
+        try (JournaledCalculator calc = JournaledCalculator.open(directory)) {
+            assertEquals("427", calc.getDisplayString());
+        }
+    }
+}
@@ -0,0 +1,88 @@
+/**
+ * Copyright (C) 2026 David A Holmes Jr
+ * 
+ * This file is part of JToyCalc.
+ * 
+ * JToyCalc is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * JToyCalc is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with JToyCalc.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package us.dholmes.toycalc;
+
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+
+/**
+ * KeyDispatcher JUnit tests.
+ */
+public class KeyDispatcherTest {
+
+    /**
+     * Test the mapping between characters and key indexes.
+     */
+    @Test
+    public void testKeyIndex() {
+
+        for (int i = 0; i < KeyDispatcher.KEY_COUNT; i++) {
+            char key = KeyDispatcher.keyChar(i);
+            assertTrue(Calculator.isKey(key));
+            assertEquals(i, KeyDispatcher.keyIndex(key));
+        }
+        assertEquals(KeyDispatcher.MULTIPLY, KeyDispatcher.keyIndex('\u00d7'));
+        assertEquals(KeyDispatcher.DIVIDE, KeyDispatcher.keyIndex('\u00f7'));
+        assertEquals(KeyDispatcher.NO_KEY, KeyDispatcher.keyIndex(' '));
+        assertEquals(KeyDispatcher.NO_KEY, KeyDispatcher.keyIndex('x'));
+        assertEquals(KeyDispatcher.NO_KEY, KeyDispatcher.keyIndex('\u2212'));
+    }
+
+    /**
+     * Test that dispatching keys presses the same buttons as
+     * {@link Calculator#pressKey(char)}.
+     */
+    @Test
+    public void testDispatch() {
+
+        Calculator calc = new Calculator();
+        KeyDispatcher dispatcher = new KeyDispatcher(calc);
+        for (char key : "12+34\u00d75=".toCharArray()) {
+            assertNotEquals(KeyDispatcher.NO_KEY, dispatcher.dispatch(key));
+        }
+        assertEquals(KeyDispatcher.NO_KEY, dispatcher.dispatch('a'));
+        assertEquals("230", calc.getDisplayString());
+
+        dispatcher.dispatch(KeyDispatcher.DIVIDE);
+        dispatcher.getAction(2).run();
+        dispatcher.dispatch(KeyDispatcher.EQUALS);
+        assertEquals("115", calc.getDisplayString());
+    }
+
+    /**
+     * Test dispatching a tape, skipping characters that aren't keys.
+     */
+    @Test
+    public void testDispatchAll() {
+
+        Calculator calc = new Calculator();
+        int[] updates = new int[1];
+        calc.addDisplayListener(s -> updates[0]++);
+        KeyDispatcher dispatcher = new KeyDispatcher(calc);
+
+        assertEquals(KeyDispatcher.EQUALS,
+                dispatcher.dispatchAll("12 + 34 \u00f7 2 =\n"));
+        assertEquals("23", calc.getDisplayString());
+        assertEquals(1, updates[0]);
+
+        assertEquals(KeyDispatcher.NO_KEY, dispatcher.dispatchAll(" \n"));
+        assertEquals("23", calc.getDisplayString());
+    }
+}
@@ -0,0 +1,137 @@
+/**
+ * Copyright (C) 2026 David A Holmes Jr
+ * 
+ * This file is part of JToyCalc.
+ * 
+ * JToyCalc is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * JToyCalc is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with JToyCalc.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package us.dholmes.toycalc;
+
+import us.dholmes.toycalc.Calculator.Operation;
+
+/**
+ * An independent model of the calculator's documented behavior, used to
+ * check {@link Calculator} and {@link CalculatorState}.  It is written for
+ * clarity rather than speed:
+ * <ul>
+ * <li>Digits build up an entry of at most {@link Calculator#MAX_DIGITS}
+ * digits.  After "equals" or an error, a digit first clears everything.</li>
+ * <li>An operation applies the pending operation to the total and the
+ * entry, unless the previous key was "equals", then becomes the pending
+ * operation.  Applying no operation copies the entry to the total.</li>
+ * <li>"Equals" applies the pending operation the same way and remembers it
+ * with its operand; pressing "equals" again repeats it.</li>
+ * <li>The entry is shown after a digit, the total after any other key.
+ * Dividing by zero shows an error until the next digit.</li>
+ * </ul>
+ */
+final class ReferenceCalculator {
+
+    private enum LastKey {
+        None, Digit, Operation, Equals;
+    }
+
+    private long total;
+    private long entry;
+    private Operation pending = Operation.None;
+    private Operation repeatOperation = Operation.None;
+    private long repeatOperand;
+    private LastKey lastKey = LastKey.None;
+    private boolean error;
+
+    void pressDigit(int digit) {
+
+        if (error || lastKey == LastKey.Equals) {
+            total = 0;
+            entry = 0;
+            pending = Operation.None;
+            repeatOperation = Operation.None;
+            repeatOperand = 0;
+            error = false;
+        }
+        if (countDigits(entry) < Calculator.MAX_DIGITS) {
+            entry = entry * 10 + digit;
+        }
+        lastKey = LastKey.Digit;
+    }
+
+    void pressOperation(Operation operation) {
+
+        if (error) {
+            return;
+        }
+        if (lastKey != LastKey.Equals) {
+            apply(pending, entry);
+            entry = 0;
+        }
+        pending = operation;
+        lastKey = LastKey.Operation;
+    }
+
+    void pressEquals() {
+
+        if (error) {
+            return;
+        }
+        Operation operation = pending;
+        long operand = entry;
+        if (lastKey == LastKey.Equals) {
+            operation = repeatOperation;
+            operand = repeatOperand;
+        }
+        apply(operation, operand);
+        repeatOperation = operation;
+        repeatOperand = operand;
+        pending = Operation.None;
+        entry = 0;
+        lastKey = LastKey.Equals;
+    }
+
+    String getDisplayString() {
+
+        if (error) {
+            return "error";
+        }
+        boolean showEntry = lastKey == LastKey.None
+                || lastKey == LastKey.Digit;
+        return String.valueOf(showEntry ? entry : total);
+    }
+
+    boolean isError() {
+
+        return error;
+    }
+
+    private void apply(Operation operation, long operand) {
+
+        if (operation == Operation.None) {
+            total = operand;
+        } else if (operation == Operation.Add) {
+            total = total + operand;
+        } else if (operation == Operation.Subtract) {
+            total = total - operand;
+        } else if (operation == Operation.Multiply) {
+            total = total * operand;
+        } else if (operand == 0) {
+            error = true;
+        } else {
+            total = total / operand;
+        }
+    }
+
+    private static int countDigits(long value) {
+
+        return (value == 0) ? 0 : String.valueOf(value).length();
+    }
+}
@@ -0,0 +1,146 @@
+/**
+ * Copyright (C) 2026 David A Holmes Jr
+ * 
+ * This file is part of JToyCalc.
+ * 
+ * JToyCalc is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * JToyCalc is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with JToyCalc.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package us.dholmes.toycalc;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.Test;
+
+/**
+ * SessionEngine JUnit tests.
+ */
+public class SessionEngineTest {
+
+    /**
+     * Test method for
+     * {@link us.dholmes.toycalc.SessionEngine#submit(long, CharSequence)}.
+     * 
+     * @throws Exception if a session operation fails.
+     */
+    @Test
+    public void testSubmit() throws Exception {
+
+        try (SessionEngine engine = new SessionEngine(4)) {
+            engine.open(1).get();
+            engine.open(2).get();
+
+            assertEquals("12", engine.submit(1, "12").get());
+            assertEquals("7", engine.submit(2, "7").get());
+            assertEquals("19", engine.submit(1, "+7=").get());
+
+            assertTrue(engine.close(1).get());
+            assertFalse(engine.close(1).get());
+        }
+    }
+
+    /**
+     * Test that operations on a session are applied in submission order
+     * when submitted from many threads to many sessions.
+     * 
+     * @throws Exception if a session operation fails.
+     */
+    @Test
+    public void testManySessions() throws Exception {
+
+        int sessions = 1000;
+        try (SessionEngine engine = new SessionEngine(4)) {
+            List<CompletableFuture<String>> results = new ArrayList<>();
+            for (int id = 0; id < sessions; id++) {
+                engine.open(id);
+                for (int i = 0; i < 10; i++) {
+                    engine.submit(id, "+1");
+                }
+                results.add(engine.submit(id, "="));
+            }
+            for (CompletableFuture<String> result : results) {
+                assertEquals("10", result.get());
+            }
+        }
+    }
+
+    /**
+     * Test method for
+     * {@link us.dholmes.toycalc.SessionEngine#evictIdle(long, TimeUnit)}.
+     * 
+     * @throws Exception if a session operation fails.
+     */
+    @Test
+    public void testEvictIdle() throws Exception {
+
+        AtomicLong clock = new AtomicLong();
+        try (SessionEngine engine = new SessionEngine(2, clock::get)) {
+            for (int id = 0; id < 10; id++) {
+                engine.open(id);
+            }
+            assertEquals(Integer.valueOf(10), engine.sessionCount().get());
+            clock.addAndGet(TimeUnit.MINUTES.toNanos(59));
+            assertEquals(Integer.valueOf(0),
+                    engine.evictIdle(1, TimeUnit.HOURS).get());
+
+            clock.addAndGet(TimeUnit.MINUTES.toNanos(1));
+            engine.submit(3, "3").get();
+            assertEquals(Integer.valueOf(9),
+                    engine.evictIdle(1, TimeUnit.HOURS).get());
+            assertEquals("3", engine.submit(3, "").get());
+        }
+    }
+
+    /**
+     * Test that submitting to a session that isn't open fails.
+     * 
+     * @throws Exception if the engine fails unexpectedly.
+     */
+    @Test
+    public void testUnknownSession() throws Exception {
+
+        try (SessionEngine engine = new SessionEngine(2)) {
+            engine.submit(42, "1").get();
+            fail("Expected ExecutionException");
+        } catch (ExecutionException e) {
+            assertTrue(e.getCause() instanceof NoSuchElementException);
+        }
+    }
+
+    /**
+     * Test that submitting to a closed engine fails.
+     * 
+     * @throws Exception if the engine fails unexpectedly.
+     */
+    @Test
+    public void testClosedEngine() throws Exception {
+
+        SessionEngine engine = new SessionEngine(1);
+        engine.close();
+        try {
+            engine.open(1).get();
+            fail("Expected ExecutionException");
+        } catch (ExecutionException e) {
+            assertTrue(e.getCause() instanceof RejectedExecutionException);
+        }
+    }
+}
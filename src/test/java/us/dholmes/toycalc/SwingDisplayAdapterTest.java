@@ -0,0 +1,62 @@
+/**
+ * Copyright (C) 2026 David A Holmes Jr
+ * 
+ * This file is part of JToyCalc.
+ * 
+ * JToyCalc is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * JToyCalc is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with JToyCalc.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package us.dholmes.toycalc;
+
+import static org.junit.Assert.*;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.swing.JLabel;
+import javax.swing.SwingUtilities;
+
+import org.junit.Test;
+
+/**
+ * SwingDisplayAdapter JUnit tests.
+ */
+public class SwingDisplayAdapterTest {
+
+    /**
+     * Test that updates from another thread are coalesced and the label ends
+     * up showing the last display.
+     */
+    @Test
+    public void testCoalescedUpdates() throws Exception {
+
+        JLabel label = new JLabel();
+        AtomicInteger changes = new AtomicInteger();
+        label.addPropertyChangeListener("text", e -> changes.incrementAndGet());
+        Calculator calc = new Calculator();
+        calc.addNumericDisplayListener(new SwingDisplayAdapter(label));
+
+        int keys = 10000;
+        for (int i = 0; i < keys; i++) {
+            calc.pressAll("1+");
+        }
+        calc.pressEquals();
+        SwingUtilities.invokeAndWait(() -> { });
+
+        assertEquals(calc.getDisplayString(), label.getText());
+        assertTrue(changes.get() <= keys + 1);
+
+        calc.pressAll("5/0=");
+        SwingUtilities.invokeAndWait(() -> { });
+        assertEquals("error", label.getText());
+    }
+}
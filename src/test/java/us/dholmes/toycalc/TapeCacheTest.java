@@ -0,0 +1,118 @@
+/**
+ * Copyright (C) 2026 David A Holmes Jr
+ * 
+ * This file is part of JToyCalc.
+ * 
+ * JToyCalc is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * JToyCalc is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with JToyCalc.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package us.dholmes.toycalc;
+
+import static org.junit.Assert.*;
+
+import java.util.Random;
+
+import org.junit.Test;
+
+/**
+ * TapeCache JUnit tests.
+ */
+public class TapeCacheTest {
+
+    /**
+     * Test that tapes sharing a prefix resume from the cached state.
+     */
+    @Test
+    public void testSharedPrefix() {
+
+        TapeCache cache = new TapeCache();
+        assertEquals(CalculatorState.INITIAL.pressAll("12+34*5="),
+                cache.evaluate("12+34*5="));
+        assertEquals(8, cache.getPressedKeys());
+        assertEquals(1, cache.getNodeCount());
+
+        // Splits "12+34*5=" after "12+34", then presses "-6=".
+        assertEquals(CalculatorState.INITIAL.pressAll("12+34-6="),
+                cache.evaluate("12+34-6="));
+        assertEquals(5, cache.getCachedKeys());
+        assertEquals(16, cache.getPressedKeys());
+        assertEquals(3, cache.getNodeCount());
+
+        // Resumes from "12+34" without pressing anything.
+        assertEquals(CalculatorState.INITIAL.pressAll("12+34-6=="),
+                cache.evaluate("12+34-6=="));
+        assertEquals(13, cache.getCachedKeys());
+        assertEquals(17, cache.getPressedKeys());
+
+        assertEquals(CalculatorState.INITIAL.pressAll("12+34"),
+                cache.evaluate("12+34"));
+        assertEquals(17, cache.getPressedKeys());
+        assertEquals(CalculatorState.INITIAL, cache.evaluate(""));
+    }
+
+    /**
+     * Test that the cache stays within its bound, evicts the least recently
+     * used branch, and still evaluates correctly.
+     */
+    @Test
+    public void testEviction() {
+
+        TapeCache cache = new TapeCache(2);
+        cache.evaluate("1+2=");
+        cache.evaluate("3*4=");
+        cache.evaluate("1+2=");
+        cache.evaluate("5-6=");
+        assertEquals(2, cache.getNodeCount());
+
+        // "3*4=" was least recently used, so its branch went.
+        long pressed = cache.getPressedKeys();
+        cache.evaluate("1+2=");
+        cache.evaluate("5-6=");
+        assertEquals(pressed, cache.getPressedKeys());
+        cache.evaluate("3*4=");
+        assertEquals(pressed + 4, cache.getPressedKeys());
+
+        cache = new TapeCache(50);
+        Random random = new Random(42);
+        for (int i = 0; i < 1000; i++) {
+            StringBuilder tape = new StringBuilder("99*");
+            for (int j = random.nextInt(12); j > 0; j--) {
+                tape.append("0123456789+-*/=".charAt(random.nextInt(15)));
+            }
+            assertEquals(CalculatorState.INITIAL.pressAll(tape),
+                    cache.evaluate(tape));
+            assertTrue(cache.getNodeCount() <= 50);
+        }
+    }
+
+    /**
+     * Test applying a tape to a calculator, and rejecting unrecognized keys.
+     */
+    @Test
+    public void testApply() {
+
+        TapeCache cache = new TapeCache();
+        Calculator calc = new Calculator();
+        calc.pressAll("77");
+        cache.apply(calc, "12+34=");
+        assertEquals("46", calc.getDisplayString());
+
+        try {
+            cache.apply(calc, "1+x");
+            fail("Expected IllegalArgumentException");
+        } catch (IllegalArgumentException e) {
+            assertEquals("46", calc.getDisplayString());
+        }
+        assertEquals(1, cache.getNodeCount());
+    }
+}